@@ -0,0 +1,17 @@
+package com.example.propertylisting.alert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingSavedSearchNotifier implements SavedSearchNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSavedSearchNotifier.class);
+
+    @Override
+    public void notify(SavedSearchAlert alert) {
+        logger.info("Listing {} matches saved search {} ('{}') of {}", alert.property().id(),
+                alert.savedSearchId(), alert.savedSearchName(), alert.ownerEmail());
+    }
+}
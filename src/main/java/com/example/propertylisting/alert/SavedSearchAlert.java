@@ -0,0 +1,11 @@
+package com.example.propertylisting.alert;
+
+import com.example.propertylisting.dto.PropertyResponse;
+
+import java.util.UUID;
+
+/**
+ * A listing that started matching a user's saved search.
+ */
+public record SavedSearchAlert(UUID savedSearchId, String ownerEmail, String savedSearchName, PropertyResponse property) {
+}
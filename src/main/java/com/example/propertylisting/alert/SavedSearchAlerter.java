@@ -0,0 +1,74 @@
+package com.example.propertylisting.alert;
+
+import com.example.propertylisting.event.PropertyChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Matches every committed listing write against the saved searches and hands the alerts to the
+ * notifiers on a small delivery pool. Only the node that made the change alerts; replicated
+ * changes are ignored. When the delivery queue is full the writing thread delivers itself.
+ */
+@Component
+public class SavedSearchAlerter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchAlerter.class);
+
+    private final SavedSearchIndex index;
+    private final List<SavedSearchNotifier> notifiers;
+    private final ExecutorService deliveries;
+
+    public SavedSearchAlerter(SavedSearchIndex index,
+                              List<SavedSearchNotifier> notifiers,
+                              @Value("${app.alerts.delivery-threads:2}") int threads,
+                              @Value("${app.alerts.delivery-queue-capacity:10000}") int queueCapacity) {
+        this.index = index;
+        this.notifiers = notifiers;
+        AtomicInteger counter = new AtomicInteger();
+        this.deliveries = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "saved-search-alerts-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!index.isEnabled() || event.isReplicated() || event.after() == null || !event.after().active()) {
+            return;
+        }
+        List<SavedSearchAlert> alerts = index.newMatches(event.before(), event.after());
+        if (!alerts.isEmpty()) {
+            deliveries.execute(() -> alerts.forEach(this::deliver));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        deliveries.shutdown();
+        deliveries.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void deliver(SavedSearchAlert alert) {
+        for (SavedSearchNotifier notifier : notifiers) {
+            try {
+                notifier.notify(alert);
+            } catch (RuntimeException e) {
+                logger.warn("{} failed to deliver alert for saved search {}", notifier.getClass().getSimpleName(),
+                        alert.savedSearchId(), e);
+            }
+        }
+    }
+}
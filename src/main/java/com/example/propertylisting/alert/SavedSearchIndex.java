@@ -0,0 +1,220 @@
+package com.example.propertylisting.alert;
+
+import com.example.propertylisting.alert.SavedSearchPercolator.Entry;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.SavedSearchChangedEvent;
+import com.example.propertylisting.mapper.SavedSearchMapper;
+import com.example.propertylisting.model.SavedSearch;
+import com.example.propertylisting.repository.SavedSearchRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link SavedSearchPercolator} over all saved searches: a full load once the application
+ * is ready, then this node's committed changes. The load is repeated periodically so searches saved
+ * through other nodes are picked up; changes committed while a load runs are replayed on top of it.
+ * A change is matched as soon as it is applied, and the percolator's trees are rebuilt for all the
+ * changes of the last {@code app.alerts.rebuild-delay} at once, on the reload thread.
+ */
+@Component
+public class SavedSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchIndex.class);
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMapper savedSearchMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean enabled;
+    private final Duration reloadInterval;
+    private final Duration rebuildDelay;
+    private final ScheduledExecutorService reloader;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object pendingLock = new Object();
+    private SavedSearchPercolator percolator = new SavedSearchPercolator();
+    private List<SavedSearchChangedEvent> pending;
+
+    public SavedSearchIndex(SavedSearchRepository savedSearchRepository,
+                            SavedSearchMapper savedSearchMapper,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.alerts.enabled:true}") boolean enabled,
+                            @Value("${app.alerts.reload-interval:PT5M}") Duration reloadInterval,
+                            @Value("${app.alerts.rebuild-delay:PT1S}") Duration rebuildDelay) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.savedSearchMapper = savedSearchMapper;
+        this.entityManager = entityManager;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+        this.reloadInterval = reloadInterval;
+        this.rebuildDelay = rebuildDelay;
+        this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saved-search-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        long interval = reloadInterval.toMillis();
+        reloader.scheduleWithFixedDelay(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                logger.warn("Reloading saved searches failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reloader.shutdownNow();
+    }
+
+    public void reload() {
+        synchronized (pendingLock) {
+            pending = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        SavedSearchPercolator loaded = new SavedSearchPercolator();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<SavedSearch> searches = savedSearchRepository.streamAll()) {
+                    for (SavedSearch search : (Iterable<SavedSearch>) searches::iterator) {
+                        loaded.put(Entry.of(search.getOwnerEmail(), savedSearchMapper.toResponse(search)));
+                        entityManager.detach(search);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (pendingLock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            synchronized (pendingLock) {
+                pending.forEach(event -> apply(loaded, event));
+                pending = null;
+            }
+            loaded.build();
+            percolator = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Loaded {} saved searches in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSavedSearchChanged(SavedSearchChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            synchronized (pendingLock) {
+                if (pending != null) {
+                    pending.add(event);
+                }
+            }
+            apply(percolator, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            try {
+                reloader.schedule(this::rebuild, rebuildDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: nothing is matched any more.
+            }
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        lock.writeLock().lock();
+        try {
+            percolator.build();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Alerts for the searches {@code after} matches and {@code before} (if known) did not, so
+     * editing a listing does not re-alert searches it already matched.
+     */
+    public List<SavedSearchAlert> newMatches(PropertyResponse before, PropertyResponse after) {
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = match(after);
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            Set<UUID> alreadyMatched = new HashSet<>();
+            if (before != null) {
+                match(before).forEach(entry -> alreadyMatched.add(entry.id()));
+            }
+            List<SavedSearchAlert> alerts = new ArrayList<>(matches.size());
+            for (Entry entry : matches) {
+                if (!alreadyMatched.contains(entry.id())) {
+                    alerts.add(new SavedSearchAlert(entry.id(), entry.ownerEmail(), entry.name(), after));
+                }
+            }
+            return alerts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entry> match(PropertyResponse property) {
+        double price = property.price() != null ? property.price().doubleValue() : Double.NaN;
+        return percolator.match(property.city(), price, property.type());
+    }
+
+    private static void apply(SavedSearchPercolator percolator, SavedSearchChangedEvent event) {
+        if (event.after() != null) {
+            percolator.put(Entry.of(event.ownerEmail(), event.after()));
+        } else {
+            percolator.remove(event.id());
+        }
+    }
+}
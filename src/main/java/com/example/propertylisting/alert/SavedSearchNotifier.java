@@ -0,0 +1,10 @@
+package com.example.propertylisting.alert;
+
+/**
+ * Delivers saved-search alerts, e.g. by e-mail or push. Every notifier bean receives every alert,
+ * on a delivery thread rather than the writing request's.
+ */
+public interface SavedSearchNotifier {
+
+    void notify(SavedSearchAlert alert);
+}
@@ -0,0 +1,210 @@
+package com.example.propertylisting.alert;
+
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index over the saved searches themselves, answering "which searches match this listing?"
+ * without evaluating them one by one. Searches are grouped by city needle (the lower-cased city
+ * substring, or "" for any city) and then by type, and each group keeps its price ranges in an
+ * interval tree. A listing probes only the needles that occur in its city name and, per needle,
+ * the group for its type and the any-type group.
+ * <p>
+ * Not thread-safe. A write costs O(1): the touched group keeps matching its built tree minus the
+ * searches removed since, plus a linear scan of those added since, until {@link #build()} rebuilds
+ * the changed groups in one batch.
+ */
+class SavedSearchPercolator {
+
+    private static final int ANY_TYPE = PropertyType.values().length;
+
+    private final Map<UUID, Entry> entriesById = new HashMap<>();
+    private final Map<String, Group[]> groupsByNeedle = new HashMap<>();
+    private final List<Group> unbuilt = new ArrayList<>();
+    private int longestNeedle;
+
+    record Entry(UUID id, String ownerEmail, String name, String needle, PropertyType type,
+                 double minPrice, double maxPrice) {
+
+        static Entry of(String ownerEmail, SavedSearchResponse search) {
+            String needle = search.city() == null || search.city().isBlank() ? "" : search.city().toLowerCase(Locale.ROOT);
+            return new Entry(search.id(), ownerEmail, search.name(), needle, search.type(),
+                    search.minPrice() != null ? search.minPrice() : Double.NEGATIVE_INFINITY,
+                    search.maxPrice() != null ? search.maxPrice() : Double.POSITIVE_INFINITY);
+        }
+    }
+
+    int size() {
+        return entriesById.size();
+    }
+
+    void put(Entry entry) {
+        remove(entry.id());
+        entriesById.put(entry.id(), entry);
+        Group[] groups = groupsByNeedle.computeIfAbsent(entry.needle(), n -> new Group[ANY_TYPE + 1]);
+        int slot = entry.type() != null ? entry.type().ordinal() : ANY_TYPE;
+        if (groups[slot] == null) {
+            groups[slot] = new Group();
+        }
+        groups[slot].add(entry);
+        markUnbuilt(groups[slot]);
+        longestNeedle = Math.max(longestNeedle, entry.needle().length());
+    }
+
+    void remove(UUID id) {
+        Entry entry = entriesById.remove(id);
+        if (entry == null) {
+            return;
+        }
+        Group[] groups = groupsByNeedle.get(entry.needle());
+        int slot = entry.type() != null ? entry.type().ordinal() : ANY_TYPE;
+        groups[slot].remove(entry);
+        markUnbuilt(groups[slot]);
+    }
+
+    /**
+     * Rebuilds the interval trees of the groups changed since the last call.
+     */
+    void build() {
+        unbuilt.forEach(Group::build);
+        unbuilt.clear();
+    }
+
+    /**
+     * The searches whose filter {@code (city, price, type)} satisfies, with the list endpoint's
+     * semantics: the city needle is a case-insensitive substring and price bounds are inclusive.
+     */
+    List<Entry> match(String city, double price, PropertyType type) {
+        List<Entry> matches = new ArrayList<>();
+        probe("", price, type, matches);
+        if (city == null || longestNeedle == 0) {
+            return matches;
+        }
+        String lower = city.toLowerCase(Locale.ROOT);
+        Set<String> probed = new HashSet<>();
+        for (int start = 0; start < lower.length(); start++) {
+            int maxEnd = Math.min(lower.length(), start + longestNeedle);
+            for (int end = start + 1; end <= maxEnd; end++) {
+                String needle = lower.substring(start, end);
+                if (probed.add(needle)) {
+                    probe(needle, price, type, matches);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void probe(String needle, double price, PropertyType type, List<Entry> matches) {
+        Group[] groups = groupsByNeedle.get(needle);
+        if (groups == null) {
+            return;
+        }
+        if (type != null && groups[type.ordinal()] != null) {
+            groups[type.ordinal()].stab(price, matches);
+        }
+        if (groups[ANY_TYPE] != null) {
+            groups[ANY_TYPE].stab(price, matches);
+        }
+    }
+
+    private void markUnbuilt(Group group) {
+        if (!group.unbuilt) {
+            group.unbuilt = true;
+            unbuilt.add(group);
+        }
+    }
+
+    /**
+     * Price ranges of one (needle, type) group as an implicit interval tree: entries sorted by
+     * lower bound, the middle of each range is the subtree root, and {@code maxHigh} holds the
+     * largest upper bound below each root. Entries added since the tree was built are in
+     * {@code added}, and those removed since are in {@code removed}.
+     */
+    private static final class Group {
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final Map<UUID, Entry> added = new HashMap<>();
+        private final Set<UUID> removed = new HashSet<>();
+        private boolean unbuilt;
+        private Entry[] sorted = new Entry[0];
+        private double[] maxHigh = new double[0];
+
+        void add(Entry entry) {
+            entries.put(entry.id(), entry);
+            added.put(entry.id(), entry);
+        }
+
+        void remove(Entry entry) {
+            entries.remove(entry.id());
+            if (added.remove(entry.id()) == null) {
+                removed.add(entry.id());
+            }
+        }
+
+        void build() {
+            sorted = entries.values().toArray(new Entry[0]);
+            Arrays.sort(sorted, Comparator.comparingDouble(Entry::minPrice));
+            maxHigh = new double[sorted.length];
+            fillMaxHigh(0, sorted.length);
+            added.clear();
+            removed.clear();
+            unbuilt = false;
+        }
+
+        private double fillMaxHigh(int from, int to) {
+            if (from >= to) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            int mid = (from + to) >>> 1;
+            double max = Math.max(sorted[mid].maxPrice(), Math.max(fillMaxHigh(from, mid), fillMaxHigh(mid + 1, to)));
+            maxHigh[mid] = max;
+            return max;
+        }
+
+        void stab(double price, List<Entry> matches) {
+            if (Double.isNaN(price)) {
+                // Without a price only unbounded searches can match.
+                for (Entry entry : entries.values()) {
+                    if (entry.minPrice() == Double.NEGATIVE_INFINITY && entry.maxPrice() == Double.POSITIVE_INFINITY) {
+                        matches.add(entry);
+                    }
+                }
+                return;
+            }
+            stab(0, sorted.length, price, matches);
+            for (Entry entry : added.values()) {
+                if (entry.minPrice() <= price && entry.maxPrice() >= price) {
+                    matches.add(entry);
+                }
+            }
+        }
+
+        private void stab(int from, int to, double price, List<Entry> matches) {
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                if (maxHigh[mid] < price) {
+                    return;
+                }
+                stab(from, mid, price, matches);
+                Entry entry = sorted[mid];
+                if (entry.minPrice() > price) {
+                    return;
+                }
+                if (entry.maxPrice() >= price && (removed.isEmpty() || !removed.contains(entry.id()))) {
+                    matches.add(entry);
+                }
+                from = mid + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.repository.PropertyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Shares committed listing changes with the other nodes. Local changes go out on the
+ * {@link InvalidationBus}; changes from other nodes are republished here as replicated
+ * {@link PropertyChangedEvent}s, so the same listeners evict caches and update indexes, and are
+ * never sent on again.
+ * <p>
+ * Each node remembers the newest version it has seen per listing (its {@code version}), and
+ * whether the listing has been deleted since. A message older than that is dropped, so a late
+ * update cannot put a stale snapshot back into an index or bring a deleted listing back. Only a
+ * restore, a creation newer than the deletion, takes a listing out of the deleted state. Versions
+ * come from the database, so unlike {@code updatedAt} they do not depend on the nodes' clocks
+ * agreeing.
+ * <p>
+ * Changes too large for the bus arrive without the listing; those are read from the database.
+ * Datagrams can be lost, so {@link OutboxReconciler} also replays the recorded changes here.
+ */
+@Component
+public class ClusterCacheCoordinator {
+
+    private final InvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<UUID, Watermark> watermarks;
+
+    public ClusterCacheCoordinator(InvalidationBus bus,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PropertyRepository propertyRepository,
+                                   PropertyMapper propertyMapper,
+                                   @Value("${app.cache-bus.watermarks.max-size:100000}") long maxWatermarks,
+                                   @Value("${app.cache-bus.watermarks.ttl:PT1H}") Duration watermarkTtl) {
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.propertyRepository = propertyRepository;
+        this.propertyMapper = propertyMapper;
+        this.watermarks = Caffeine.newBuilder()
+                .maximumSize(maxWatermarks)
+                .expireAfterAccess(watermarkTtl)
+                .build();
+        bus.subscribe(this::onRemoteChange);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isReplicated()) {
+            return;
+        }
+        advance(event, true);
+        bus.publish(event.withOrigin(nodeId));
+    }
+
+    void onRemoteChange(PropertyChangedEvent event) {
+        if (nodeId.equals(event.origin())) {
+            return;
+        }
+        PropertyChangedEvent change = event.type() != ChangeType.DELETED && event.after() == null
+                ? reload(event)
+                : event;
+        if (advance(change, true)) {
+            eventPublisher.publishEvent(change);
+        }
+    }
+
+    /**
+     * Replays a change read back from the outbox by {@link OutboxReconciler}, if this node has not
+     * seen it. Unlike a bus message, a change at the version already seen is dropped: it is most
+     * likely the one that version came from.
+     */
+    void reconcile(PropertyChangedEvent event) {
+        PropertyChangedEvent change = event.type() != ChangeType.DELETED && event.after() == null
+                ? reload(event)
+                : event;
+        if (advance(change, false)) {
+            eventPublisher.publishEvent(change);
+        }
+    }
+
+    /**
+     * A change sent without the listing (too large for the bus) with the listing as it is now in
+     * the database; a deletion if it is gone.
+     */
+    private PropertyChangedEvent reload(PropertyChangedEvent event) {
+        return propertyRepository.findById(event.id())
+                .map(property -> new PropertyChangedEvent(event.type(), event.id(), null,
+                        propertyMapper.toResponse(property), event.origin()))
+                .orElseGet(() -> PropertyChangedEvent.deleted(event.id(), null).withOrigin(event.origin()));
+    }
+
+    /**
+     * Raises the listing's watermark to the event; false when the event is older, or as old and
+     * {@code sameVersion} is false.
+     */
+    private boolean advance(PropertyChangedEvent event, boolean sameVersion) {
+        Watermark[] previous = new Watermark[1];
+        Watermark next = watermarks.asMap().compute(event.id(), (id, current) -> {
+            previous[0] = current;
+            return current == null ? Watermark.of(event) : current.advance(event, sameVersion);
+        });
+        return next != previous[0];
+    }
+
+    /**
+     * The newest version seen of a listing, and whether it has been deleted since. Deletions are
+     * not read back, so their version is inferred from the previous state: a soft delete bumps the
+     * version by one. Only a creation newer than that, which is a restore, gets past a deletion.
+     */
+    private record Watermark(long version, boolean deleted) {
+
+        static Watermark of(PropertyChangedEvent event) {
+            return event.type() == ChangeType.DELETED
+                    ? new Watermark(deletedVersion(event), true)
+                    : new Watermark(versionOf(event), false);
+        }
+
+        Watermark advance(PropertyChangedEvent event, boolean sameVersion) {
+            if (event.type() == ChangeType.DELETED) {
+                // A deletion of an older version than the one seen came before a restore
+                boolean stale = deleted || event.before() != null && event.before().version() != null
+                        && event.before().version() < version;
+                if (stale && deletedVersion(event) <= version) {
+                    return this;
+                }
+                return new Watermark(Math.max(version + (deleted ? 0 : 1), deletedVersion(event)), true);
+            }
+            long next = versionOf(event);
+            boolean newer = deleted
+                    ? event.type() == ChangeType.CREATED && next > version
+                    : next > version || sameVersion && next == version;
+            return newer ? new Watermark(next, false) : this;
+        }
+
+        private static long deletedVersion(PropertyChangedEvent event) {
+            Long before = event.before() != null ? event.before().version() : null;
+            return (before != null ? before : 0) + 1;
+        }
+
+        private static long versionOf(PropertyChangedEvent event) {
+            Long version = event.after() != null ? event.after().version() : null;
+            return version != null ? version : 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.event.PropertyChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries committed {@link PropertyChangedEvent}s between the nodes of a deployment so each node
+ * can evict what its local caches and indexes hold about the listing. Delivery is best effort and
+ * unordered; {@link ClusterCacheCoordinator} discards messages that arrive after a newer change.
+ */
+public interface InvalidationBus {
+
+    void publish(PropertyChangedEvent event);
+
+    /**
+     * Registers the receiver for events published by any node, possibly including this one.
+     */
+    void subscribe(Consumer<PropertyChangedEvent> receiver);
+}
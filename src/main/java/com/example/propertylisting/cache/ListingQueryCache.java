@@ -0,0 +1,64 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of results computed from a {@link PropertySearchCriteria}. A committed
+ * change evicts exactly the entries whose filter matches the listing before or after the change.
+ * A result computed while a change was being applied is returned but not stored, so a query that
+ * raced a write cannot leave a stale entry behind.
+ */
+public final class ListingQueryCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final Function<K, PropertySearchCriteria> criteriaOf;
+    private final AtomicLong version = new AtomicLong();
+
+    public ListingQueryCache(String name, long maxSize, Duration ttl, Function<K, PropertySearchCriteria> criteriaOf,
+                             MeterRegistry meterRegistry) {
+        this.criteriaOf = criteriaOf;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = version.get();
+        V value = loader.get();
+        if (version.get() == seen) {
+            cache.put(key, value);
+            // invalidate() bumps the version before evicting, so either its sweep sees this entry
+            // or this check sees the bump.
+            if (version.get() != seen) {
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(PropertyChangedEvent event) {
+        version.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> event.mayAffect(criteriaOf.apply(key)));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.event.PropertyChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM bus that hands every event to every subscriber on the publishing thread. It is the
+ * single-node default and lets tests wire several coordinators together without a network.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache-bus.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<PropertyChangedEvent>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(PropertyChangedEvent event) {
+        receivers.forEach(receiver -> receiver.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<PropertyChangedEvent> receiver) {
+        receivers.add(receiver);
+    }
+}
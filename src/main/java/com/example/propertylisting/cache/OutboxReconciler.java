@@ -0,0 +1,113 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyChangeFeed;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.model.PropertyOutboxCursor;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.repository.PropertyOutboxCursorRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repairs what the {@link UdpInvalidationBus} loses. The in-memory indexes follow the bus and have
+ * no expiry, so one lost datagram would leave them wrong until a restart. Every
+ * {@code app.cache-bus.reconcile-interval} this reads the outbox changes published since the last
+ * pass and hands them to {@link ClusterCacheCoordinator#reconcile}, which replays the ones this
+ * node has not seen. Needs the outbox ({@code app.outbox.enabled}), which is what records them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache-bus.type", havingValue = "udp")
+public class OutboxReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxReconciler.class);
+
+    // Origin of replayed changes, so they are neither recorded nor sent on again
+    static final String ORIGIN = "outbox";
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration interval;
+    private final PropertyOutbox outbox;
+    private final PropertyOutboxCursorRepository cursorRepository;
+    private final ClusterCacheCoordinator coordinator;
+    private final Thread reconciler;
+    private volatile boolean running = true;
+    private long after;
+
+    public OutboxReconciler(@Value("${app.outbox.enabled:true}") boolean outboxEnabled,
+                            @Value("${app.outbox.batch-size:500}") int batchSize,
+                            @Value("${app.cache-bus.reconcile-interval:PT30S}") Duration interval,
+                            PropertyOutbox outbox,
+                            PropertyOutboxCursorRepository cursorRepository,
+                            ClusterCacheCoordinator coordinator) {
+        if (!outboxEnabled) {
+            logger.warn("Reconciling the cache bus needs app.outbox.enabled=true; lost datagrams stay lost");
+        }
+        this.enabled = outboxEnabled;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.outbox = outbox;
+        this.cursorRepository = cursorRepository;
+        this.coordinator = coordinator;
+        this.reconciler = new Thread(this::run, "cache-bus-reconciler");
+        this.reconciler.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            after = cursorRepository.findById(PropertyOutboxCursor.ID)
+                    .map(PropertyOutboxCursor::getLastSequence)
+                    .orElse(0L);
+            reconciler.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        reconciler.interrupt();
+        reconciler.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Replays the changes published since the last pass; returns how many were read.
+     */
+    public int reconcile() {
+        int read = 0;
+        PropertyChangeFeed feed;
+        do {
+            feed = outbox.read(after, batchSize);
+            for (PropertyChange change : feed.changes()) {
+                coordinator.reconcile(new PropertyChangedEvent(change.type(), change.propertyId(), null,
+                        change.property(), ORIGIN));
+            }
+            after = feed.next();
+            read += feed.changes().size();
+        } while (feed.changes().size() == batchSize);
+        return read;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(interval.toMillis());
+                reconcile();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                logger.warn("Reconciling the cache bus failed, retrying in {}: {}", interval, e.getMessage());
+            }
+        }
+    }
+}
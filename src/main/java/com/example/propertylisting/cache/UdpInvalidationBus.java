@@ -0,0 +1,183 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends each event as one gzipped JSON datagram to a fixed list of peers, so replicas can share
+ * invalidations without a broker. A lost datagram leaves the peer stale until
+ * {@link OutboxReconciler} replays the change from the outbox; the in-memory indexes have no TTL
+ * to fall back on. Events that do not fit a datagram are sent as the listing id alone, and
+ * receivers read the listing from the database (see {@link ClusterCacheCoordinator}).
+ *
+ * <p>Every datagram starts with an HMAC-SHA256 of its payload under the shared
+ * {@code app.cache-bus.udp.secret}. A receiver drops datagrams that do not come from one of its
+ * configured peers or whose MAC does not verify, before decoding them, since what it accepts is
+ * served as listing data. A replayed datagram is harmless: it is older than, or the same as, what
+ * the receiver already has, and the coordinator drops older versions.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache-bus.type", havingValue = "udp")
+public class UdpInvalidationBus implements InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UdpInvalidationBus.class);
+    private static final int MAX_DATAGRAM = 65_507;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private final ObjectMapper objectMapper;
+    private final List<InetSocketAddress> peers;
+    private final Set<InetSocketAddress> trusted;
+    private final SecretKeySpec key;
+    private final DatagramSocket socket;
+    private final List<Consumer<PropertyChangedEvent>> receivers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+
+    public UdpInvalidationBus(ObjectMapper objectMapper,
+                              @Value("${app.cache-bus.udp.port:7600}") int port,
+                              @Value("${app.cache-bus.udp.peers:}") List<String> peers,
+                              @Value("${app.cache-bus.udp.secret:}") String secret) throws SocketException {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("app.cache-bus.udp.secret must be set to use the udp cache bus");
+        }
+        this.objectMapper = objectMapper;
+        this.peers = peers.stream().filter(peer -> !peer.isBlank()).map(UdpInvalidationBus::address).toList();
+        this.trusted = Set.copyOf(this.peers);
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        this.socket = new DatagramSocket(port);
+        this.listener = new Thread(this::receive, "invalidation-bus");
+        this.listener.setDaemon(true);
+        this.listener.start();
+    }
+
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void publish(PropertyChangedEvent event) {
+        byte[] payload = encode(event);
+        if (MAC_LENGTH + payload.length > MAX_DATAGRAM) {
+            payload = encode(new PropertyChangedEvent(event.type(), event.id(), null, null, event.origin()));
+        }
+        byte[] datagram = ByteBuffer.allocate(MAC_LENGTH + payload.length).put(mac(payload)).put(payload).array();
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(datagram, datagram.length, peer));
+            } catch (IOException e) {
+                logger.warn("Could not send invalidation for {} to {}: {}", event.id(), peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<PropertyChangedEvent> receiver) {
+        receivers.add(receiver);
+    }
+
+    @PreDestroy
+    public void close() {
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (!trusted.contains((InetSocketAddress) packet.getSocketAddress())) {
+                    logger.warn("Dropping invalidation datagram from {}, which is not a peer",
+                            packet.getSocketAddress());
+                    continue;
+                }
+                byte[] payload = verified(packet);
+                if (payload == null) {
+                    logger.warn("Dropping invalidation datagram from {} with a bad MAC", packet.getSocketAddress());
+                    continue;
+                }
+                PropertyChangedEvent event = decode(payload);
+                receivers.forEach(receiver -> receiver.accept(event));
+            } catch (SocketException e) {
+                if (!socket.isClosed()) {
+                    logger.warn("Invalidation bus socket failed", e);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Dropping invalidation datagram from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    private byte[] encode(PropertyChangedEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private PropertyChangedEvent decode(byte[] payload) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, PropertyChangedEvent.class);
+        }
+    }
+
+    // The payload of a datagram whose MAC checks out, or null
+    private byte[] verified(DatagramPacket packet) {
+        if (packet.getLength() < MAC_LENGTH) {
+            return null;
+        }
+        byte[] tag = Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + MAC_LENGTH);
+        byte[] payload = Arrays.copyOfRange(packet.getData(), packet.getOffset() + MAC_LENGTH,
+                packet.getOffset() + packet.getLength());
+        return MessageDigest.isEqual(tag, mac(payload)) ? payload : null;
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static InetSocketAddress address(String peer) {
+        int colon = peer.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Invalidation bus peer must be host:port, got " + peer);
+        }
+        return new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim()));
+    }
+}
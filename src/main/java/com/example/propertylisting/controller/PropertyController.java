@@ -1,21 +1,54 @@
 package com.example.propertylisting.controller;
 
+import com.example.propertylisting.dto.BulkPropertyResponse;
+import com.example.propertylisting.dto.CursorPage;
+import com.example.propertylisting.dto.ExportFormat;
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyBulkDeleteRequest;
+import com.example.propertylisting.dto.PropertyBulkDeleteResponse;
+import com.example.propertylisting.dto.PropertyChangeFeed;
+import com.example.propertylisting.dto.PropertyCluster;
+import com.example.propertylisting.dto.PropertyFacetsResponse;
+import com.example.propertylisting.dto.PropertyFilterParams;
+import com.example.propertylisting.dto.PropertyPatchRequest;
 import com.example.propertylisting.dto.PropertyRequest;
 import com.example.propertylisting.dto.PropertyResponse;
-import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.dto.PropertyWriteStatus;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.example.propertylisting.service.EncodedProperty;
+import com.example.propertylisting.service.PropertyClusterService;
+import com.example.propertylisting.service.PropertyExportWriter;
+import com.example.propertylisting.service.PropertyFacetService;
 import com.example.propertylisting.service.PropertyService;
+import com.example.propertylisting.service.PropertyWriteQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,50 +57,225 @@ import java.util.UUID;
 @Tag(name = "Property Management", description = "APIs for managing property listings")
 public class PropertyController {
 
+    private static final int MAX_CLUSTER_COLUMNS = 64;
+    private static final int MAX_SIMILAR = 50;
+    private static final int MAX_CHANGES = 1000;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private final PropertyService propertyService;
+    private final PropertyFacetService propertyFacetService;
+    private final PropertyClusterService propertyClusterService;
+    private final PropertyBulkService propertyBulkService;
+    private final PropertyWriteQueue propertyWriteQueue;
+    private final PropertyOutbox propertyOutbox;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "Get all properties with filtering and pagination")
     public Page<PropertyResponse> getAllProperties(
             @ParameterObject @PageableDefault(size = 20) Pageable pageable,
-            @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
-            @Parameter(description = "Minimum price") @RequestParam(required = false) Double minPrice,
-            @Parameter(description = "Maximum price") @RequestParam(required = false) Double maxPrice,
-            @Parameter(description = "Filter by property type") @RequestParam(required = false) String type) {
-        PropertyType propertyType = null;
-        if (type != null && !type.isBlank()) {
-            try {
-                propertyType = PropertyType.valueOf(type.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Ignoring invalid property type
-            }
+            @Parameter(description = "Keywords to match in title and description; results are ranked by relevance")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "'full' to return complete descriptions; by default list rows carry an excerpt")
+            @RequestParam(required = false) String view,
+            @ParameterObject @ModelAttribute PropertyFilterParams filter) {
+        PropertySearchCriteria criteria = filter.toCriteria();
+        if (q != null && !q.isBlank()) {
+            return propertyService.searchProperties(q, criteria, pageable, ListingView.parse(view));
+        }
+        return propertyService.getAllProperties(pageable, criteria, ListingView.parse(view));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Walk properties with cursor (keyset) pagination",
+            description = "Pass an empty cursor to start and the returned 'next' token to continue. "
+                    + "Only the page size and a single sort property are taken from the pageable.")
+    public CursorPage<PropertyResponse> getPropertiesByCursor(
+            @Parameter(description = "Opaque cursor from the previous slice; empty for the first slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "'full' to return complete descriptions; by default list rows carry an excerpt")
+            @RequestParam(required = false) String view,
+            @ParameterObject @PageableDefault(size = 20) Pageable pageable,
+            @ParameterObject @ModelAttribute PropertyFilterParams filter) {
+        PropertySearchCriteria criteria = filter.toCriteria();
+        return propertyService.getPropertiesAfter(criteria, cursor, pageable.getPageSize(), pageable.getSort(),
+                ListingView.parse(view));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export every matching property as CSV or NDJSON",
+            description = "Streams the complete listings in one pass, in no particular order, with full "
+                    + "descriptions. Takes the list filters; memory use does not depend on the number of rows.")
+    public void exportProperties(
+            @Parameter(description = "'ndjson' (default) or 'csv'")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @ParameterObject @ModelAttribute PropertyFilterParams filter,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        PropertySearchCriteria criteria = filter.toCriteria();
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"properties." + exportFormat.extension() + "\"");
+        try (PropertyExportWriter writer = PropertyExportWriter.create(exportFormat, objectMapper,
+                response.getOutputStream())) {
+            propertyService.exportProperties(criteria, writer::write);
         }
-        return propertyService.getAllProperties(pageable, city, minPrice, maxPrice, propertyType);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Get facet counts by type, price range and bedrooms for a search filter",
+            description = "Takes the list filters.")
+    public PropertyFacetsResponse getFacets(@ParameterObject @ModelAttribute PropertyFilterParams filter) {
+        return propertyFacetService.getFacets(filter.toCriteria());
+    }
+
+    @GetMapping("/clusters")
+    @Operation(summary = "Cluster the properties inside a map viewport",
+            description = "Splits the viewport into 'columns' roughly square cells and returns the centroid "
+                    + "and count of each non-empty cell. The viewport is the bounding box (south, west, north "
+                    + "and east), which is required; a west greater than east crosses the antimeridian. Takes the "
+                    + "other list filters too.")
+    public List<PropertyCluster> getClusters(
+            @Parameter(description = "Number of cluster columns across the viewport (1-64)")
+            @RequestParam(defaultValue = "16") int columns,
+            @ParameterObject @ModelAttribute PropertyFilterParams filter) {
+        if (columns < 1 || columns > MAX_CLUSTER_COLUMNS) {
+            throw new BadRequestException("columns must be between 1 and " + MAX_CLUSTER_COLUMNS);
+        }
+        PropertySearchCriteria criteria = filter.toCriteria();
+        if (!(criteria.area() instanceof GeoArea.BoundingBox)) {
+            throw new BadRequestException("Clusters require a viewport: south, west, north and east");
+        }
+        return propertyClusterService.getClusters(criteria, columns);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a property by ID")
-    public PropertyResponse getPropertyById(
+    @Operation(summary = "Get a property by ID",
+            description = "JSON is served from bytes encoded once per version of the listing, gzipped when "
+                    + "the client accepts it.")
+    public ResponseEntity<?> getPropertyById(
             @Parameter(description = "ID of the property to be obtained", required = true)
-            @PathVariable UUID id) {
-        return propertyService.getPropertyById(id);
+            @PathVariable UUID id,
+            WebRequest request) {
+        if (prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return encoded(propertyService.getEncodedPropertyById(id), request);
+        }
+        PropertyResponse property = propertyService.getPropertyById(id);
+        String etag = etagOf(property);
+        if (etag == null) {
+            return ResponseEntity.ok(property);
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        // The same version is served as JSON, CBOR or Smile; shared caches must keep them apart.
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(property);
+    }
+
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Get the active properties most similar to a property",
+            description = "Nearest first, by price, area, bedrooms, bathrooms, type and city. "
+                    + "Rows carry a description excerpt.")
+    public List<PropertyResponse> getSimilarProperties(
+            @Parameter(description = "ID of the property to compare with", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Number of properties to return (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SIMILAR) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SIMILAR);
+        }
+        return propertyService.getSimilarProperties(id, limit);
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    @Operation(summary = "Create a new property")
-    public PropertyResponse createProperty(
+    @Operation(summary = "Create a new property",
+            description = "With an Idempotency-Key header the property is written in the background: the "
+                    + "response is 202 with the status of the write, and repeating the key returns that status.")
+    public ResponseEntity<?> createProperty(
+            @Parameter(description = "Client-chosen key that makes the create asynchronous and idempotent")
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody PropertyRequest request) {
-        return propertyService.createProperty(request);
+        if (idempotencyKey != null && propertyWriteQueue.isEnabled()) {
+            return accepted(propertyWriteQueue.submit(idempotencyKey, null, request));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(propertyService.createProperty(request));
+    }
+
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create or update many properties",
+            description = "Accepts a JSON array or newline-delimited JSON of properties. An item with an id "
+                    + "updates that property; one without creates a property. Items are validated one by one "
+                    + "and written in chunked transactions. The response counts every item and lists those "
+                    + "that were rejected or failed.")
+    public BulkPropertyResponse bulkUpsertProperties(InputStream body) {
+        return propertyBulkService.upsert(body);
+    }
+
+    @PostMapping("/bulk-delete")
+    @Operation(summary = "Delete many properties by ID or by filter",
+            description = "Deletes in chunked transactions, one statement per chunk. A filter must set at "
+                    + "least one attribute.")
+    public PropertyBulkDeleteResponse bulkDeleteProperties(@Valid @RequestBody PropertyBulkDeleteRequest request) {
+        return propertyBulkService.delete(request);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing property")
-    public PropertyResponse updateProperty(
+    @Operation(summary = "Update an existing property",
+            description = "With If-Match the update only applies to the version in the ETag, otherwise the "
+                    + "response is 412. Without If-Match, an Idempotency-Key header writes the update in the "
+                    + "background, as for create.")
+    public ResponseEntity<?> updateProperty(
             @Parameter(description = "ID of the property to be updated", required = true)
             @PathVariable UUID id,
+            @Parameter(description = "ETag of the version to update")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Client-chosen key that makes the update asynchronous and idempotent")
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody PropertyRequest request) {
-        return propertyService.updateProperty(id, request);
+        if (ifMatch == null && idempotencyKey != null && propertyWriteQueue.isEnabled()) {
+            return accepted(propertyWriteQueue.submit(idempotencyKey, id, request));
+        }
+        return withETag(propertyService.updateProperty(id, request, expectedVersion(ifMatch)));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Change some fields of a property",
+            description = "Absent or null fields are left unchanged. Written as one UPDATE of the changed "
+                    + "columns; with If-Match it only applies to the version in the ETag, otherwise the "
+                    + "response is 412. A concurrent update also gives 412.")
+    public ResponseEntity<PropertyResponse> patchProperty(
+            @Parameter(description = "ID of the property to be changed", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of the version to change")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PropertyPatchRequest patch) {
+        return withETag(propertyService.patchProperty(id, patch, expectedVersion(ifMatch)));
+    }
+
+    @GetMapping("/writes/{idempotencyKey}")
+    @Operation(summary = "Get the status of a write submitted with an Idempotency-Key")
+    public PropertyWriteStatus getWriteStatus(
+            @Parameter(description = "Idempotency-Key the write was submitted with", required = true)
+            @PathVariable String idempotencyKey) {
+        return propertyWriteQueue.getStatus(idempotencyKey);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Read the property change stream",
+            description = "Committed creates, updates and deletes in sequence order. Pass the returned 'next' "
+                    + "as 'after' to continue; changes are kept for app.outbox.retention.")
+    public PropertyChangeFeed getChanges(
+            @Parameter(description = "Return changes with a sequence number above this one")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of changes to return (1-1000)")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CHANGES);
+        }
+        return propertyOutbox.read(after, limit);
     }
 
     @DeleteMapping("/{id}")
@@ -78,4 +286,116 @@ public class PropertyController {
             @PathVariable UUID id) {
         propertyService.deleteProperty(id);
     }
+
+    @GetMapping("/deleted")
+    @Operation(summary = "List soft-deleted properties",
+            description = "With app.delete.soft, deleted listings stay as inactive rows that every other "
+                    + "endpoint leaves out. Most recently deleted first.")
+    public Page<PropertyResponse> getDeletedProperties(@ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+        return propertyService.getDeletedProperties(pageable);
+    }
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore a soft-deleted property")
+    public PropertyResponse restoreProperty(
+            @Parameter(description = "ID of the deleted property", required = true)
+            @PathVariable UUID id) {
+        return propertyService.restoreProperty(id);
+    }
+
+    private static ResponseEntity<PropertyWriteStatus> accepted(PropertyWriteStatus status) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/properties/writes/{key}")
+                .buildAndExpand(status.idempotencyKey())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    /**
+     * Strong validator for a listing: its {@code @Version} column, which every write increments.
+     */
+    private static String etagOf(PropertyResponse property) {
+        return etagOf(property.version());
+    }
+
+    private static String etagOf(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    // Writes the cached bytes as they are: no response object is built or serialized.
+    private static ResponseEntity<byte[]> encoded(EncodedProperty property, WebRequest request) {
+        String etag = etagOf(property.version());
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        boolean gzip = property.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? property.gzip() : property.json());
+    }
+
+    /**
+     * Whether the response should be JSON: the client accepts it and does not ask for a binary
+     * encoding. A malformed Accept header is left to content negotiation.
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        boolean binary = accepted.stream().anyMatch(type -> !type.isWildcardType() && !type.isWildcardSubtype()
+                && (type.isCompatibleWith(CBOR) || type.isCompatibleWith(SMILE)));
+        return !binary && accepted.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if ((name.equalsIgnoreCase("gzip") || name.equals("*"))
+                    && (parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<PropertyResponse> withETag(PropertyResponse property) {
+        String etag = etagOf(property);
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(property) : ResponseEntity.ok(property);
+    }
+
+    /**
+     * The version an If-Match header asks for: null for none or {@code *}, and -1, which no
+     * listing has, for a weak or unparsable tag, since If-Match only matches strong tags.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our tags
+            }
+        }
+        return -1L;
+    }
 }
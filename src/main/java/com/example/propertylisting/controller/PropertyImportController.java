@@ -0,0 +1,47 @@
+package com.example.propertylisting.controller;
+
+import com.example.propertylisting.dto.PropertyImportRequest;
+import com.example.propertylisting.dto.PropertyImportStatus;
+import com.example.propertylisting.ingest.PropertyImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+@Tag(name = "Property Imports", description = "Background imports of listing files from the import directory")
+public class PropertyImportController {
+
+    private final PropertyImportService propertyImportService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start importing a CSV or NDJSON listing file",
+            description = "Runs in the background; poll the returned import for progress. Starting a file that "
+                    + "was partly imported resumes from its last checkpoint.")
+    public PropertyImportStatus startImport(@Valid @RequestBody PropertyImportRequest request) {
+        return propertyImportService.startImport(request);
+    }
+
+    @GetMapping
+    @Operation(summary = "List recent imports, most recent first")
+    public List<PropertyImportStatus> getImports() {
+        return propertyImportService.getImports();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the progress of an import")
+    public PropertyImportStatus getImport(
+            @Parameter(description = "ID of the import", required = true)
+            @PathVariable UUID id) {
+        return propertyImportService.getImport(id);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.propertylisting.controller;
+
+import com.example.propertylisting.dto.SavedSearchRequest;
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.service.SavedSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/saved-searches")
+@RequiredArgsConstructor
+@Tag(name = "Saved Searches", description = "Stored searches that alert their owner about new matching listings")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Save a search for the current user")
+    public SavedSearchResponse createSavedSearch(
+            @AuthenticationPrincipal UserDetails user,
+            @Valid @RequestBody SavedSearchRequest request) {
+        return savedSearchService.createSavedSearch(user.getUsername(), request);
+    }
+
+    @GetMapping
+    @Operation(summary = "List the current user's saved searches, newest first")
+    public List<SavedSearchResponse> getSavedSearches(@AuthenticationPrincipal UserDetails user) {
+        return savedSearchService.getSavedSearches(user.getUsername());
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete one of the current user's saved searches")
+    public void deleteSavedSearch(
+            @AuthenticationPrincipal UserDetails user,
+            @Parameter(description = "ID of the saved search to be deleted", required = true)
+            @PathVariable UUID id) {
+        savedSearchService.deleteSavedSearch(user.getUsername(), id);
+    }
+}
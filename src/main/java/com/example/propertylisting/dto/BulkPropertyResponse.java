@@ -0,0 +1,58 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Outcome of a bulk create/update: counts of every item, and the items that were not written")
+public record BulkPropertyResponse(
+    @Schema(description = "Number of properties created", example = "980")
+    int created,
+
+    @Schema(description = "Number of properties updated", example = "15")
+    int updated,
+
+    @Schema(description = "Number of items rejected without being written", example = "5")
+    int rejected,
+
+    @Schema(description = "Number of valid items the database refused", example = "0")
+    int failed,
+
+    @Schema(description = "The rejected and failed items, in submission order, up to app.bulk.max-reported-items; "
+            + "written items are only counted")
+    List<Item> items
+) {
+
+    public enum Status {
+        CREATED, UPDATED, REJECTED, FAILED
+    }
+
+    @Schema(description = "Result of one item")
+    public record Item(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "What happened to the item", example = "CREATED")
+        Status status,
+
+        @Schema(description = "ID of the created or updated property; the submitted ID otherwise, if any")
+        UUID id,
+
+        @Schema(description = "Why the item was rejected or failed; empty otherwise")
+        List<String> errors
+    ) {
+
+        public static Item written(int index, Status status, UUID id) {
+            return new Item(index, status, id, List.of());
+        }
+
+        public static Item rejected(int index, UUID id, List<String> errors) {
+            return new Item(index, Status.REJECTED, id, errors);
+        }
+
+        public static Item failed(int index, UUID id, String error) {
+            return new Item(index, Status.FAILED, id, List.of(error));
+        }
+    }
+}
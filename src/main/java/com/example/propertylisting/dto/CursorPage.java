@@ -0,0 +1,14 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A slice of results in cursor (keyset) pagination mode")
+public record CursorPage<T>(
+    @Schema(description = "Items of this slice")
+    List<T> content,
+
+    @Schema(description = "Opaque token for the next slice; null when there are no more results")
+    String next
+) {}
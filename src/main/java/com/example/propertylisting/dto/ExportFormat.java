@@ -0,0 +1,38 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Layout of a catalogue export. {@link #CSV} has a header row naming the property fields, like an
+ * import file; {@link #NDJSON} has one JSON object per line.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("format must be csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.exception.BadRequestException;
+
+/**
+ * Geographic filter of the list endpoints: a bounding box or a radius around a point. Distances
+ * use the equirectangular approximation, which is what the database predicate can evaluate with
+ * plain arithmetic; it is accurate to well under 1% for radii up to a few hundred kilometres.
+ */
+public sealed interface GeoArea permits GeoArea.BoundingBox, GeoArea.Radius {
+
+    double KM_PER_DEGREE = 111.32;
+    double MAX_RADIUS_KM = 500;
+
+    /**
+     * The smallest box enclosing the area; used to pick grid cells and as an indexable pre-filter.
+     */
+    BoundingBox bounds();
+
+    boolean contains(double latitude, double longitude);
+
+    /**
+     * Builds the area from request parameters: either all of south/west/north/east, or
+     * latitude/longitude/radiusKm. Returns {@code null} when no geographic parameter is present.
+     */
+    static GeoArea of(Double latitude, Double longitude, Double radiusKm,
+                      Double south, Double west, Double north, Double east) {
+        boolean anyRadius = latitude != null || longitude != null || radiusKm != null;
+        boolean anyBox = south != null || west != null || north != null || east != null;
+        if (anyRadius && anyBox) {
+            throw new BadRequestException("Use either a bounding box or a radius, not both");
+        }
+        if (anyRadius) {
+            if (latitude == null || longitude == null || radiusKm == null) {
+                throw new BadRequestException("Radius search requires lat, lng and radiusKm");
+            }
+            checkLatitude(latitude);
+            checkLongitude(longitude);
+            if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+                throw new BadRequestException("radiusKm must be greater than 0 and at most " + (int) MAX_RADIUS_KM);
+            }
+            return new Radius(latitude, longitude, radiusKm);
+        }
+        if (anyBox) {
+            if (south == null || west == null || north == null || east == null) {
+                throw new BadRequestException("Bounding box search requires south, west, north and east");
+            }
+            checkLatitude(south);
+            checkLatitude(north);
+            checkLongitude(west);
+            checkLongitude(east);
+            if (south > north) {
+                throw new BadRequestException("south must not be greater than north");
+            }
+            return new BoundingBox(south, west, north, east);
+        }
+        return null;
+    }
+
+    private static void checkLatitude(double latitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new BadRequestException("Latitude must be between -90 and 90");
+        }
+    }
+
+    private static void checkLongitude(double longitude) {
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new BadRequestException("Longitude must be between -180 and 180");
+        }
+    }
+
+    /**
+     * A box whose {@code west} is greater than its {@code east} crosses the antimeridian.
+     */
+    record BoundingBox(double south, double west, double north, double east) implements GeoArea {
+
+        public boolean crossesAntimeridian() {
+            return west > east;
+        }
+
+        public double longitudeSpan() {
+            return crossesAntimeridian() ? east - west + 360 : east - west;
+        }
+
+        @Override
+        public BoundingBox bounds() {
+            return this;
+        }
+
+        @Override
+        public boolean contains(double latitude, double longitude) {
+            if (latitude < south || latitude > north) {
+                return false;
+            }
+            return crossesAntimeridian()
+                    ? longitude >= west || longitude <= east
+                    : longitude >= west && longitude <= east;
+        }
+    }
+
+    /**
+     * Circle around a point. Its bounds are clipped at the poles and the antimeridian.
+     */
+    record Radius(double latitude, double longitude, double radiusKm) implements GeoArea {
+
+        /**
+         * Kilometres per degree of longitude at the centre's latitude.
+         */
+        public double kmPerLongitudeDegree() {
+            return KM_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        }
+
+        @Override
+        public BoundingBox bounds() {
+            double latitudeDelta = radiusKm / KM_PER_DEGREE;
+            double longitudeDelta = radiusKm / Math.max(kmPerLongitudeDegree(), 1e-6);
+            return new BoundingBox(
+                    Math.max(-90, latitude - latitudeDelta),
+                    Math.max(-180, longitude - longitudeDelta),
+                    Math.min(90, latitude + latitudeDelta),
+                    Math.min(180, longitude + longitudeDelta));
+        }
+
+        @Override
+        public boolean contains(double pointLatitude, double pointLongitude) {
+            double dy = (pointLatitude - latitude) * KM_PER_DEGREE;
+            double dx = (pointLongitude - longitude) * kmPerLongitudeDegree();
+            return dx * dx + dy * dy <= radiusKm * radiusKm;
+        }
+    }
+}
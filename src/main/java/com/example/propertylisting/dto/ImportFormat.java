@@ -0,0 +1,25 @@
+package com.example.propertylisting.dto;
+
+import java.util.Locale;
+
+/**
+ * Layout of a listing import file. {@link #CSV} has a header row naming the property fields;
+ * {@link #NDJSON} has one JSON object per line.
+ */
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    /**
+     * The format implied by the file extension, or {@code null} when it is not recognised.
+     */
+    public static ImportFormat ofFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
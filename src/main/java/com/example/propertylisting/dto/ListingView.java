@@ -0,0 +1,13 @@
+package com.example.propertylisting.dto;
+
+/**
+ * How much of each listing the list endpoints return. {@link #SUMMARY} replaces the description
+ * with a short excerpt and never reads the full column; {@link #FULL} returns it unabridged.
+ */
+public enum ListingView {
+    SUMMARY, FULL;
+
+    public static ListingView parse(String view) {
+        return "full".equalsIgnoreCase(view) ? FULL : SUMMARY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Schema(description = "Properties to delete: either a list of IDs or a filter")
+public record PropertyBulkDeleteRequest(
+    @Schema(description = "IDs of the properties to delete")
+    @Size(max = 100_000, message = "At most 100000 IDs can be deleted at once")
+    List<UUID> ids,
+
+    @Schema(description = "Delete every property matching this filter")
+    Filter filter
+) {
+
+    @Schema(description = "Filter on property attributes; at least one must be set")
+    public record Filter(
+        @Schema(description = "Substring of the city, ignoring case", example = "spring")
+        String city,
+
+        @Schema(description = "Minimum price", example = "100000")
+        Double minPrice,
+
+        @Schema(description = "Maximum price", example = "500000")
+        Double maxPrice,
+
+        @Schema(description = "Property types", example = "[\"HOUSE\", \"VILLA\"]")
+        Set<PropertyType> types,
+
+        @Schema(description = "Countries, ignoring case", example = "[\"USA\"]")
+        Set<String> countries,
+
+        @Schema(description = "Minimum bedrooms", example = "2")
+        Integer minBedrooms,
+
+        @Schema(description = "Maximum bedrooms", example = "4")
+        Integer maxBedrooms,
+
+        @Schema(description = "Minimum bathrooms", example = "1")
+        Integer minBathrooms,
+
+        @Schema(description = "Maximum bathrooms", example = "3")
+        Integer maxBathrooms,
+
+        @Schema(description = "Minimum area in square meters", example = "50")
+        Double minArea,
+
+        @Schema(description = "Maximum area in square meters", example = "200")
+        Double maxArea
+    ) {
+
+        public PropertySearchCriteria toCriteria() {
+            return new PropertySearchCriteria(city, minPrice, maxPrice, types, null, countries, minBedrooms,
+                    maxBedrooms, minBathrooms, maxBathrooms, minArea, maxArea);
+        }
+    }
+}
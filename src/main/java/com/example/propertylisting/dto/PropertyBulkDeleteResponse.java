@@ -0,0 +1,16 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Outcome of a bulk delete")
+public record PropertyBulkDeleteResponse(
+    @Schema(description = "Number of properties deleted", example = "1250")
+    long deleted,
+
+    @Schema(description = "Requested IDs that did not exist; always empty for a filter")
+    List<UUID> notFound
+) {
+}
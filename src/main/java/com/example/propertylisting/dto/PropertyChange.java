@@ -0,0 +1,28 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "One committed change to a property, as published by the outbox relay")
+public record PropertyChange(
+    @Schema(description = "Position in the change stream; consecutive from 1, in publication order", example = "42")
+    long sequence,
+
+    @Schema(description = "What happened to the property", example = "UPDATED")
+    ChangeType type,
+
+    @Schema(description = "ID of the property")
+    UUID propertyId,
+
+    @Schema(description = "Version of the property after the change; null for deletes", example = "3")
+    Long version,
+
+    @Schema(description = "When the change was committed")
+    LocalDateTime occurredAt,
+
+    @Schema(description = "The property after the change; null for deletes")
+    PropertyResponse property
+) {}
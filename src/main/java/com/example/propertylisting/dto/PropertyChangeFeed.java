@@ -0,0 +1,14 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A slice of the property change stream")
+public record PropertyChangeFeed(
+    @Schema(description = "Changes in sequence order")
+    List<PropertyChange> changes,
+
+    @Schema(description = "Sequence number to pass as 'after' for the following changes", example = "42")
+    long next
+) {}
@@ -0,0 +1,15 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Group of nearby properties for a zoomed-out map view")
+public record PropertyCluster(
+    @Schema(description = "Latitude of the cluster's centroid", example = "40.7128")
+    double latitude,
+
+    @Schema(description = "Longitude of the cluster's centroid", example = "-74.0060")
+    double longitude,
+
+    @Schema(description = "Number of properties in the cluster", example = "12")
+    long count
+) {}
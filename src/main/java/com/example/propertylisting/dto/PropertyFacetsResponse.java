@@ -0,0 +1,35 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Facet counts for the properties matching a search filter")
+public record PropertyFacetsResponse(
+    @Schema(description = "Number of matching properties", example = "42")
+    long total,
+
+    @Schema(description = "Matching properties per type")
+    Map<PropertyType, Long> types,
+
+    @Schema(description = "Matching properties per price range")
+    List<PriceBucket> priceBuckets,
+
+    @Schema(description = "Matching properties per number of bedrooms")
+    Map<Integer, Long> bedrooms
+) {
+
+    @Schema(description = "Price range [from, to); a null bound is open")
+    public record PriceBucket(
+        @Schema(description = "Inclusive lower bound", example = "100000")
+        Double from,
+
+        @Schema(description = "Exclusive upper bound", example = "250000")
+        Double to,
+
+        @Schema(description = "Matching properties in this range", example = "12")
+        long count
+    ) {}
+}
@@ -0,0 +1,52 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The filter query parameters shared by the list, cursor, export, facet and cluster endpoints,
+ * bound as one {@code @ModelAttribute}. {@link #toCriteria()} validates and normalizes them.
+ */
+public record PropertyFilterParams(
+        @Parameter(description = "Filter by city") String city,
+        @Parameter(description = "Minimum price") Double minPrice,
+        @Parameter(description = "Maximum price") Double maxPrice,
+        @Parameter(description = "Filter by property type; repeat or comma-separate for several") List<String> type,
+        @Parameter(description = "Filter by country; repeat or comma-separate for several") List<String> country,
+        @Parameter(description = "Minimum bedrooms") Integer minBedrooms,
+        @Parameter(description = "Maximum bedrooms") Integer maxBedrooms,
+        @Parameter(description = "Minimum bathrooms") Integer minBathrooms,
+        @Parameter(description = "Maximum bathrooms") Integer maxBathrooms,
+        @Parameter(description = "Minimum area in square meters") Double minArea,
+        @Parameter(description = "Maximum area in square meters") Double maxArea,
+        @Parameter(description = "Radius search: centre latitude") Double lat,
+        @Parameter(description = "Radius search: centre longitude") Double lng,
+        @Parameter(description = "Radius search: radius in kilometres") Double radiusKm,
+        @Parameter(description = "Bounding box: southern latitude") Double south,
+        @Parameter(description = "Bounding box: western longitude") Double west,
+        @Parameter(description = "Bounding box: northern latitude") Double north,
+        @Parameter(description = "Bounding box: eastern longitude") Double east
+) {
+
+    /**
+     * @throws com.example.propertylisting.exception.BadRequestException if the geographic
+     *         parameters do not make up one bounding box or one radius
+     */
+    public PropertySearchCriteria toCriteria() {
+        return new PropertySearchCriteria(city, minPrice, maxPrice, PropertySearchCriteria.parseTypes(type),
+                GeoArea.of(lat, lng, radiusKm, south, west, north, east),
+                split(country), minBedrooms, maxBedrooms, minBathrooms, maxBathrooms,
+                minArea, maxArea);
+    }
+
+    // Spring splits a lone parameter on commas but leaves repeated ones as they are.
+    private static Set<String> split(List<String> values) {
+        return values == null ? null : values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .collect(Collectors.toSet());
+    }
+}
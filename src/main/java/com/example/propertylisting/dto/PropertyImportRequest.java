@@ -0,0 +1,18 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record PropertyImportRequest(
+    @Schema(description = "Path of the file, relative to the import directory", example = "partner-a/2024-06-01.csv")
+    @NotBlank(message = "File is required")
+    String file,
+
+    @Schema(description = "Layout of the file; taken from the extension (.csv, .ndjson, .jsonl) when omitted",
+            example = "CSV")
+    ImportFormat format,
+
+    @Schema(description = "Start from the beginning instead of resuming from the last checkpoint", example = "false")
+    boolean restart
+) {
+}
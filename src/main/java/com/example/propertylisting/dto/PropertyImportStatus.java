@@ -0,0 +1,70 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Progress of a listing file import")
+public record PropertyImportStatus(
+    @Schema(description = "ID of the import job")
+    UUID id,
+
+    @Schema(description = "Path of the file, relative to the import directory", example = "partner-a/2024-06-01.csv")
+    String file,
+
+    @Schema(description = "Layout of the file", example = "CSV")
+    ImportFormat format,
+
+    @Schema(description = "Where the job is", example = "RUNNING")
+    State state,
+
+    @Schema(description = "Size of the file in bytes", example = "2147483648")
+    long fileSize,
+
+    @Schema(description = "Bytes read so far, including any skipped on resume", example = "1073741824")
+    long bytesRead,
+
+    @Schema(description = "Byte offset the job resumed from; 0 for a fresh import", example = "0")
+    long resumedFrom,
+
+    @Schema(description = "Records processed so far, including those of earlier runs", example = "2000000")
+    long records,
+
+    @Schema(description = "Properties created", example = "1990000")
+    long created,
+
+    @Schema(description = "Properties updated", example = "0")
+    long updated,
+
+    @Schema(description = "Records rejected without being written", example = "10000")
+    long rejected,
+
+    @Schema(description = "Valid records the database refused", example = "0")
+    long failed,
+
+    @Schema(description = "Records processed per second by this run", example = "21500.0")
+    double recordsPerSecond,
+
+    @Schema(description = "When this run started")
+    LocalDateTime startedAt,
+
+    @Schema(description = "When this run finished; null while queued or running")
+    LocalDateTime finishedAt,
+
+    @Schema(description = "The first rejected or failed records, with their position and reasons")
+    List<String> errors,
+
+    @Schema(description = "Why the job failed; null otherwise. A failed job resumes from its checkpoint when started again")
+    String failure
+) {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        public boolean isActive() {
+            return this == QUEUED || this == RUNNING;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+/**
+ * A partial update: fields that are absent or null keep their current value.
+ */
+@Builder
+@Schema(description = "Partial property update; absent or null fields are left unchanged")
+public record PropertyPatchRequest(
+    @Schema(description = "Property title", example = "Modern Apartment in Downtown")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 200, message = "Title must be less than 200 characters")
+    String title,
+
+    @Schema(description = "Detailed property description", example = "A beautiful apartment with great view")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
+    String description,
+
+    @Schema(description = "Price of the property", example = "250000.00")
+    @Positive(message = "Price must be positive")
+    BigDecimal price,
+
+    @Schema(description = "Full address of the property", example = "123 Main St")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Address must not be blank")
+    String address,
+
+    @Schema(description = "City where the property is located", example = "New York")
+    @Pattern(regexp = "(?s).*\\S.*", message = "City must not be blank")
+    String city,
+
+    @Schema(description = "Country where the property is located", example = "USA")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Country must not be blank")
+    String country,
+
+    @Schema(description = "Latitude in decimal degrees", example = "40.7128")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double latitude,
+
+    @Schema(description = "Longitude in decimal degrees", example = "-74.0060")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double longitude,
+
+    @Schema(description = "Number of bedrooms", example = "2")
+    @Positive(message = "Bedrooms must be positive")
+    Integer bedrooms,
+
+    @Schema(description = "Number of bathrooms", example = "2")
+    @Positive(message = "Bathrooms must be positive")
+    Integer bathrooms,
+
+    @Schema(description = "Area in square meters", example = "85.5")
+    @PositiveOrZero(message = "Area must be positive or zero")
+    Double area,
+
+    @Schema(description = "Type of the property", example = "APARTMENT")
+    PropertyType type
+) {
+
+    public boolean isEmpty() {
+        return Stream.of(title, description, price, address, city, country, latitude, longitude, bedrooms,
+                bathrooms, area, type).allMatch(value -> value == null);
+    }
+}
@@ -35,6 +35,16 @@ public record PropertyRequest(
     @NotBlank(message = "Country is required")
     String country,
 
+    @Schema(description = "Latitude in decimal degrees", example = "40.7128")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double latitude,
+
+    @Schema(description = "Longitude in decimal degrees", example = "-74.0060")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double longitude,
+
     @Schema(description = "Number of bedrooms", example = "2")
     @Positive(message = "Bedrooms must be positive")
     Integer bedrooms,
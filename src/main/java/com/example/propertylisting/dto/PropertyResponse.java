@@ -15,7 +15,8 @@ public record PropertyResponse(
     @Schema(description = "Property title", example = "Modern Apartment in Downtown")
     String title,
     
-    @Schema(description = "Detailed property description", example = "A beautiful apartment with great view")
+    @Schema(description = "Detailed property description; list endpoints return an excerpt unless view=full",
+            example = "A beautiful apartment with great view")
     String description,
     
     @Schema(description = "Price of the property", example = "250000.00")
@@ -30,6 +31,12 @@ public record PropertyResponse(
     @Schema(description = "Country where the property is located", example = "USA")
     String country,
     
+    @Schema(description = "Latitude in decimal degrees", example = "40.7128")
+    Double latitude,
+    
+    @Schema(description = "Longitude in decimal degrees", example = "-74.0060")
+    Double longitude,
+    
     @Schema(description = "Number of bedrooms", example = "2")
     Integer bedrooms,
     
@@ -49,5 +56,33 @@ public record PropertyResponse(
     LocalDateTime updatedAt,
     
     @Schema(description = "Indicates if the property is active", example = "true")
-    boolean active
-) {}
+    boolean active,
+
+    @Schema(description = "Version of the property, incremented by every update; sent back as the ETag",
+            example = "3")
+    Long version
+) {
+
+    /**
+     * Copy for list views with the description cut to an excerpt (see {@link #excerpt}).
+     */
+    public PropertyResponse withDescriptionExcerpt(int maxLength) {
+        return new PropertyResponse(id, title, excerpt(description, maxLength), price, address, city, country,
+                latitude, longitude, bedrooms, bathrooms, area, type, createdAt, updatedAt, active, version);
+    }
+
+    /**
+     * The first {@code maxLength} characters followed by an ellipsis, or the text itself when it is
+     * short enough; {@code null} when {@code maxLength} is 0.
+     */
+    public static String excerpt(String text, int maxLength) {
+        if (text == null || maxLength <= 0) {
+            return null;
+        }
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int end = Character.isHighSurrogate(text.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return text.substring(0, end).stripTrailing() + "\u2026";
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Normalized filter of the property list endpoint. Blank strings are treated as absent, countries
+ * are lower-cased, and a type set naming every type is the same as no type filter. {@code area} is
+ * the geographic filter; {@code minArea} and {@code maxArea} bound the floor area.
+ */
+public record PropertySearchCriteria(
+        String city,
+        Double minPrice,
+        Double maxPrice,
+        Set<PropertyType> types,
+        GeoArea area,
+        Set<String> countries,
+        Integer minBedrooms,
+        Integer maxBedrooms,
+        Integer minBathrooms,
+        Integer maxBathrooms,
+        Double minArea,
+        Double maxArea
+) {
+
+    public PropertySearchCriteria {
+        city = city == null || city.isBlank() ? null : city;
+        types = types == null || types.isEmpty() || types.containsAll(EnumSet.allOf(PropertyType.class))
+                ? Set.of()
+                : Set.copyOf(types);
+        countries = countries == null ? Set.of() : countries.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(country -> !country.isEmpty())
+                .map(country -> country.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public PropertySearchCriteria(String city, Double minPrice, Double maxPrice, PropertyType type, GeoArea area) {
+        this(city, minPrice, maxPrice, type != null ? Set.of(type) : Set.of(), area,
+                Set.of(), null, null, null, null, null, null);
+    }
+
+    public PropertySearchCriteria(String city, Double minPrice, Double maxPrice, PropertyType type) {
+        this(city, minPrice, maxPrice, type, null);
+    }
+
+    public boolean hasCity() {
+        return city != null;
+    }
+
+    public boolean hasArea() {
+        return area != null;
+    }
+
+    /**
+     * True when at least one non-geographic filter is set.
+     */
+    public boolean hasAttributeFilters() {
+        return city != null || minPrice != null || maxPrice != null || !types.isEmpty() || !countries.isEmpty()
+                || minBedrooms != null || maxBedrooms != null || minBathrooms != null || maxBathrooms != null
+                || minArea != null || maxArea != null;
+    }
+
+    public PropertySearchCriteria withCity(String newCity) {
+        return new PropertySearchCriteria(newCity, minPrice, maxPrice, types, area, countries,
+                minBedrooms, maxBedrooms, minBathrooms, maxBathrooms, minArea, maxArea);
+    }
+
+    public PropertySearchCriteria withoutCity() {
+        return withCity(null);
+    }
+
+    /**
+     * In-memory evaluation with the same semantics as {@code PropertySpecifications.matching}.
+     */
+    public boolean matches(PropertyResponse property) {
+        return matches(Attributes.of(property));
+    }
+
+    /**
+     * Same as {@link #matches(PropertyResponse)} for indexes that keep only the filtered attributes.
+     */
+    public boolean matches(Attributes property) {
+        if (city != null && (property.city() == null
+                || !property.city().contains(city.toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        if (!types.isEmpty() && !types.contains(property.type())) {
+            return false;
+        }
+        if (!countries.isEmpty() && !countries.contains(property.country())) {
+            return false;
+        }
+        if (!inRange(property.price(), minPrice, maxPrice)
+                || !inRange(property.bedrooms(), minBedrooms, maxBedrooms)
+                || !inRange(property.bathrooms(), minBathrooms, maxBathrooms)
+                || !inRange(property.floorArea(), minArea, maxArea)) {
+            return false;
+        }
+        return area == null || !Double.isNaN(property.latitude()) && !Double.isNaN(property.longitude())
+                && area.contains(property.latitude(), property.longitude());
+    }
+
+    /**
+     * Types as a lookup table by ordinal, or {@code null} when types are not filtered.
+     */
+    public boolean[] typeMask() {
+        if (types.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[PropertyType.values().length];
+        types.forEach(type -> mask[type.ordinal()] = true);
+        return mask;
+    }
+
+    /**
+     * Every value of {@code values} that names a type, ignoring case; unknown names are skipped.
+     * Values may be comma-separated lists themselves, as Spring splits a lone parameter on commas
+     * but leaves repeated ones as they are.
+     */
+    public static Set<PropertyType> parseTypes(Collection<String> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        Set<PropertyType> types = EnumSet.noneOf(PropertyType.class);
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String name : value.split(",")) {
+                try {
+                    types.add(PropertyType.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    // Ignoring invalid property type
+                }
+            }
+        }
+        return types;
+    }
+
+    // NaN (a missing value) fails any bound.
+    private static boolean inRange(double value, Number min, Number max) {
+        return (min == null || value >= min.doubleValue()) && (max == null || value <= max.doubleValue());
+    }
+
+    private static double toDouble(Number value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * The filtered attributes of one listing: city and country lower-cased, missing numbers as
+     * {@code NaN}.
+     */
+    public record Attributes(String city, String country, double price, PropertyType type, double bedrooms,
+                             double bathrooms, double floorArea, double latitude, double longitude) {
+
+        public static Attributes of(PropertyResponse property) {
+            return new Attributes(
+                    property.city() != null ? property.city().toLowerCase(Locale.ROOT) : null,
+                    property.country() != null ? property.country().toLowerCase(Locale.ROOT) : null,
+                    toDouble(property.price()), property.type(), toDouble(property.bedrooms()),
+                    toDouble(property.bathrooms()), toDouble(property.area()),
+                    toDouble(property.latitude()), toDouble(property.longitude()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.propertylisting.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Outcome of a create or update accepted with an Idempotency-Key and written in the background")
+public record PropertyWriteStatus(
+    @Schema(description = "The Idempotency-Key the write was submitted with", example = "feed-a-7f3c2a")
+    String idempotencyKey,
+
+    @Schema(description = "Whether the write creates or updates a property", example = "CREATE")
+    Action action,
+
+    @Schema(description = "Where the write is", example = "QUEUED")
+    State state,
+
+    @Schema(description = "ID of the property; known for updates, and for creates once completed")
+    UUID propertyId,
+
+    @Schema(description = "Why the write failed; empty otherwise")
+    List<String> errors,
+
+    @Schema(description = "When the write was accepted")
+    LocalDateTime acceptedAt,
+
+    @Schema(description = "When the write completed or failed; null while queued")
+    LocalDateTime completedAt
+) {
+
+    public enum Action {
+        CREATE, UPDATE
+    }
+
+    public enum State {
+        QUEUED, COMPLETED, FAILED
+    }
+
+    public static PropertyWriteStatus queued(String idempotencyKey, UUID propertyId) {
+        return new PropertyWriteStatus(idempotencyKey, propertyId == null ? Action.CREATE : Action.UPDATE,
+                State.QUEUED, propertyId, List.of(), LocalDateTime.now(), null);
+    }
+
+    public PropertyWriteStatus completed(UUID propertyId) {
+        return new PropertyWriteStatus(idempotencyKey, action, State.COMPLETED, propertyId, List.of(), acceptedAt,
+                LocalDateTime.now());
+    }
+
+    public PropertyWriteStatus failed(List<String> errors) {
+        return new PropertyWriteStatus(idempotencyKey, action, State.FAILED, propertyId, errors, acceptedAt,
+                LocalDateTime.now());
+    }
+}
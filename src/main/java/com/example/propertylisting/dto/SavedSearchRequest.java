@@ -0,0 +1,32 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+@Builder
+public record SavedSearchRequest(
+    @Schema(description = "Name shown in alerts", example = "Family homes in Boston")
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be less than 100 characters")
+    String name,
+
+    @Schema(description = "Case-insensitive part of the city name", example = "boston")
+    @Size(max = 255, message = "City must be less than 255 characters")
+    String city,
+
+    @Schema(description = "Minimum price", example = "200000")
+    @PositiveOrZero(message = "Minimum price must be positive or zero")
+    Double minPrice,
+
+    @Schema(description = "Maximum price", example = "600000")
+    @PositiveOrZero(message = "Maximum price must be positive or zero")
+    Double maxPrice,
+
+    @Schema(description = "Type of property", example = "HOUSE")
+    PropertyType type
+) {
+}
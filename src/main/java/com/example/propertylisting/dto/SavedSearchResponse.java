@@ -0,0 +1,23 @@
+package com.example.propertylisting.dto;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "A stored search that raises alerts for new matching listings")
+public record SavedSearchResponse(
+    UUID id,
+    String name,
+    String city,
+    Double minPrice,
+    Double maxPrice,
+    PropertyType type,
+    LocalDateTime createdAt
+) {
+
+    public PropertySearchCriteria criteria() {
+        return new PropertySearchCriteria(city, minPrice, maxPrice, type);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.propertylisting.event;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+
+import java.util.UUID;
+
+/**
+ * Published by the write paths of {@code PropertyService} whenever a listing changes.
+ * {@code before} and {@code after} are snapshots of the listing; either may be null when
+ * the state is not known (e.g. {@code after} is always null for deletes). {@code origin} is
+ * null for local writes and names the writing node for changes replayed from another one.
+ */
+public record PropertyChangedEvent(
+        ChangeType type,
+        UUID id,
+        PropertyResponse before,
+        PropertyResponse after,
+        String origin
+) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static PropertyChangedEvent created(PropertyResponse after) {
+        return new PropertyChangedEvent(ChangeType.CREATED, after.id(), null, after, null);
+    }
+
+    public static PropertyChangedEvent updated(PropertyResponse before, PropertyResponse after) {
+        return new PropertyChangedEvent(ChangeType.UPDATED, after.id(), before, after, null);
+    }
+
+    public static PropertyChangedEvent deleted(UUID id, PropertyResponse before) {
+        return new PropertyChangedEvent(ChangeType.DELETED, id, before, null, null);
+    }
+
+    public PropertyChangedEvent withOrigin(String origin) {
+        return new PropertyChangedEvent(type, id, before, after, origin);
+    }
+
+    public boolean isReplicated() {
+        return origin != null;
+    }
+
+    /**
+     * Whether results filtered by {@code criteria} could include the listing before or after the
+     * change. Always true when the previous state of an existing listing is unknown.
+     */
+    public boolean mayAffect(PropertySearchCriteria criteria) {
+        if (before == null && type != ChangeType.CREATED) {
+            return true;
+        }
+        return (before != null && criteria.matches(before)) || (after != null && criteria.matches(after));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.propertylisting.event;
+
+import com.example.propertylisting.dto.SavedSearchResponse;
+
+import java.util.UUID;
+
+/**
+ * Published by {@code SavedSearchService} when a saved search is created or deleted;
+ * {@code after} is null for deletes.
+ */
+public record SavedSearchChangedEvent(UUID id, String ownerEmail, SavedSearchResponse after) {
+
+    public static SavedSearchChangedEvent saved(String ownerEmail, SavedSearchResponse after) {
+        return new SavedSearchChangedEvent(after.id(), ownerEmail, after);
+    }
+
+    public static SavedSearchChangedEvent deleted(UUID id, String ownerEmail) {
+        return new SavedSearchChangedEvent(id, ownerEmail, null);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over the distinct city values. Resolves the list endpoint's case-insensitive
+ * substring filter to the exact set of stored city values, so the database can use an equality
+ * index ({@code city IN (...)}) instead of scanning with {@code LIKE '%x%'}.
+ */
+@Component
+public class CityTrigramIndex implements PropertyIndex {
+
+    private static final int GRAM = 3;
+
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private final Map<UUID, String> cityById = new HashMap<>();
+    private final Map<String, Integer> listingsPerCity = new HashMap<>();
+    private final Map<String, Set<String>> citiesByTrigram = new HashMap<>();
+
+    public CityTrigramIndex(@Value("${app.city-index.enabled:true}") boolean enabled,
+                            @Value("${app.city-index.max-candidates:1000}") int maxCandidates) {
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void markReady() {
+        ready = enabled;
+    }
+
+    /**
+     * The stored city values containing {@code needle}, ignoring case. Empty when the index is not
+     * loaded or the match is too broad to be worth an IN list; the caller then falls back to LIKE.
+     */
+    public Optional<Set<String>> resolve(String needle) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = lowerNeedle.length() < GRAM
+                    ? listingsPerCity.keySet()
+                    : intersectTrigrams(lowerNeedle);
+
+            Set<String> matches = new HashSet<>();
+            for (String city : candidates) {
+                if (city.toLowerCase(Locale.ROOT).contains(lowerNeedle)) {
+                    matches.add(city);
+                    if (matches.size() > maxCandidates) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<String> intersectTrigrams(String lowerNeedle) {
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM <= lowerNeedle.length(); i++) {
+            Set<String> cities = citiesByTrigram.get(lowerNeedle.substring(i, i + GRAM));
+            if (cities == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || cities.size() < smallest.size()) {
+                smallest = cities;
+            }
+        }
+        // Every trigram must be present; verifying the substring on the smallest posting list
+        // is cheaper than materialising the full intersection.
+        return smallest;
+    }
+
+    @Override
+    public void put(PropertyResponse property) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String previous = cityById.put(property.id(), property.city());
+            if (previous != null && previous.equals(property.city())) {
+                return;
+            }
+            release(previous);
+            retain(property.city());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            release(cityById.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            cityById.clear();
+            listingsPerCity.clear();
+            citiesByTrigram.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retain(String city) {
+        if (city == null) {
+            return;
+        }
+        if (listingsPerCity.merge(city, 1, Integer::sum) == 1) {
+            for (String trigram : trigrams(city)) {
+                citiesByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(city);
+            }
+        }
+    }
+
+    private void release(String city) {
+        if (city == null) {
+            return;
+        }
+        Integer remaining = listingsPerCity.computeIfPresent(city, (c, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            for (String trigram : trigrams(city)) {
+                Set<String> cities = citiesByTrigram.get(trigram);
+                if (cities != null && cities.remove(city) && cities.isEmpty()) {
+                    citiesByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String city) {
+        String lower = city.toLowerCase(Locale.ROOT);
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            trigrams.add(lower.substring(i, i + GRAM));
+        }
+        return trigrams;
+    }
+}
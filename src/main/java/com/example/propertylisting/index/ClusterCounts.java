@@ -0,0 +1,83 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.PropertyCluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates map clusters over a viewport split into {@code columns} roughly square cells.
+ * Longitudes are tracked as offsets east of the viewport's west edge, so clusters that straddle
+ * the antimeridian still get a sensible centroid.
+ */
+public final class ClusterCounts {
+
+    private static final int MAX_ROWS = 256;
+
+    private final BoundingBox viewport;
+    private final int columns;
+    private final int rows;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final long[] counts;
+    private final double[] latitudeSums;
+    private final double[] offsetSums;
+
+    public ClusterCounts(BoundingBox viewport, int columns) {
+        this.viewport = viewport;
+        this.columns = columns;
+        this.cellWidth = Math.max(viewport.longitudeSpan(), 1e-9) / columns;
+        double latitudeSpan = Math.max(viewport.north() - viewport.south(), 1e-9);
+        this.rows = (int) Math.max(1, Math.min(MAX_ROWS, Math.round(latitudeSpan / cellWidth)));
+        this.cellHeight = latitudeSpan / rows;
+        this.counts = new long[rows * columns];
+        this.latitudeSums = new double[rows * columns];
+        this.offsetSums = new double[rows * columns];
+    }
+
+    public double cellWidth() {
+        return cellWidth;
+    }
+
+    public double cellHeight() {
+        return cellHeight;
+    }
+
+    public double offsetOf(double longitude) {
+        double offset = longitude - viewport.west();
+        return offset < 0 ? offset + 360 : offset;
+    }
+
+    public int bucket(int x, int y) {
+        return Math.min(rows - 1, Math.max(0, y)) * columns + Math.min(columns - 1, Math.max(0, x));
+    }
+
+    public int bucketOf(double latitude, double longitude) {
+        return bucket((int) (offsetOf(longitude) / cellWidth), (int) ((latitude - viewport.south()) / cellHeight));
+    }
+
+    public void add(double latitude, double longitude) {
+        add(bucketOf(latitude, longitude), 1, latitude, offsetOf(longitude));
+    }
+
+    public void add(int bucket, long count, double latitudeSum, double offsetSum) {
+        counts[bucket] += count;
+        latitudeSums[bucket] += latitudeSum;
+        offsetSums[bucket] += offsetSum;
+    }
+
+    public List<PropertyCluster> clusters() {
+        List<PropertyCluster> clusters = new ArrayList<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            long count = counts[bucket];
+            if (count == 0) {
+                continue;
+            }
+            double longitude = viewport.west() + offsetSums[bucket] / count;
+            clusters.add(new PropertyCluster(latitudeSums[bucket] / count,
+                    longitude > 180 ? longitude - 360 : longitude, count));
+        }
+        return clusters;
+    }
+}
@@ -0,0 +1,540 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented, in-memory copy of the catalogue that answers the list endpoint's filters and
+ * sorts without a database round trip. Filters are evaluated with a tight loop over primitive
+ * columns; city and country are dictionary encoded so the substring match runs once per distinct
+ * value. Rows are kept dense (deletes swap the last row into the hole).
+ */
+@Component
+public class ColumnarListingIndex implements PropertyIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private static final int KEY_ID = 0;
+    private static final int KEY_PRICE = 1;
+    private static final int KEY_TYPE = 2;
+    private static final int KEY_BEDROOMS = 3;
+    private static final int KEY_AREA = 4;
+    private static final int KEY_CREATED_AT = 5;
+    private static final int KEY_UPDATED_AT = 6;
+
+    private static final Map<String, Integer> SORT_KEYS = Map.of(
+            "id", KEY_ID,
+            "price", KEY_PRICE,
+            "type", KEY_TYPE,
+            "bedrooms", KEY_BEDROOMS,
+            "area", KEY_AREA,
+            "createdAt", KEY_CREATED_AT,
+            "updatedAt", KEY_UPDATED_AT);
+
+    // The type column is stored as a string in the database, so it sorts by name, not by ordinal.
+    private static final int[] TYPE_NAME_RANK = typeNameRanks();
+    private static final PropertyType[] TYPES = PropertyType.values();
+    private static final int DENSE_BEDROOMS = 32;
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[0]);
+    private volatile boolean ready;
+
+    private final StringDictionary cities = new StringDictionary();
+    private final StringDictionary countries = new StringDictionary();
+    private final Map<UUID, Integer> rowsById = new HashMap<>();
+
+    private int size;
+    private PropertyResponse[] rows;
+    private double[] prices;
+    private byte[] types;
+    private int[] bedrooms;
+    private int[] bathrooms;
+    private double[] areas;
+    private int[] cityCodes;
+    private int[] countryCodes;
+    private long[] createdAt;
+    private long[] updatedAt;
+
+    public ColumnarListingIndex(@Value("${app.listing-index.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void markReady() {
+        ready = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index is loaded and can order results the way the {@code Pageable} asks for.
+     */
+    public boolean canServe(PropertySearchCriteria criteria, Pageable pageable) {
+        // Geographic filters are left to the grid index and the database.
+        if (!ready || criteria.hasArea()) {
+            return false;
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Page<PropertyResponse> search(PropertySearchCriteria criteria, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            int[] matches = scratchBuffer(size);
+            int total = filter(criteria, matches);
+
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            if (offset >= total) {
+                return new PageImpl<>(Collections.emptyList(), pageable, total);
+            }
+            int limit = pageable.isPaged() ? (int) Math.min(total, offset + pageable.getPageSize()) : total;
+
+            int[] ordered = pageable.getSort().isSorted()
+                    ? topK(matches, total, limit, comparator(pageable.getSort()))
+                    : Arrays.copyOf(matches, limit);
+
+            List<PropertyResponse> content = new ArrayList<>(limit - (int) offset);
+            for (int i = (int) offset; i < limit; i++) {
+                content.add(rows[ordered[i]]);
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Type, price bucket and bedroom counts over the rows matching {@code criteria}, in one scan.
+     */
+    public FacetCounts facets(PropertySearchCriteria criteria, double[] priceBounds) {
+        lock.readLock().lock();
+        try {
+            int[] matches = scratchBuffer(size);
+            int total = filter(criteria, matches);
+
+            FacetCounts counts = new FacetCounts(priceBounds);
+            long[] typeCounts = new long[TYPES.length];
+            long[] bucketCounts = new long[priceBounds.length + 1];
+            long[] bedroomCounts = new long[DENSE_BEDROOMS];
+            for (int i = 0; i < total; i++) {
+                int row = matches[i];
+                if (types[row] >= 0) {
+                    typeCounts[types[row]]++;
+                }
+                bucketCounts[counts.bucketOf(prices[row])]++;
+                int rooms = bedrooms[row];
+                if (rooms >= 0 && rooms < DENSE_BEDROOMS) {
+                    bedroomCounts[rooms]++;
+                } else if (rooms != NULL_INT) {
+                    counts.addBedrooms(rooms, 1);
+                }
+            }
+
+            counts.addTotal(total);
+            for (int type = 0; type < typeCounts.length; type++) {
+                counts.addType(TYPES[type], typeCounts[type]);
+            }
+            for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+                counts.addPriceBucket(bucket, bucketCounts[bucket]);
+            }
+            for (int rooms = 0; rooms < DENSE_BEDROOMS; rooms++) {
+                counts.addBedrooms(rooms, bedroomCounts[rooms]);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int filter(PropertySearchCriteria criteria, int[] out) {
+        boolean[] cityMatches = criteria.hasCity() ? cities.matchContaining(criteria.city()) : null;
+        if (cityMatches != null && !anyTrue(cityMatches)) {
+            return 0;
+        }
+        boolean[] countryMatches = criteria.countries().isEmpty() ? null : countries.matchAnyOf(criteria.countries());
+        if (countryMatches != null && !anyTrue(countryMatches)) {
+            return 0;
+        }
+        double min = criteria.minPrice() != null ? criteria.minPrice() : Double.NEGATIVE_INFINITY;
+        double max = criteria.maxPrice() != null ? criteria.maxPrice() : Double.POSITIVE_INFINITY;
+        boolean[] typeMatches = criteria.typeMask();
+        boolean bedroomFilter = criteria.minBedrooms() != null || criteria.maxBedrooms() != null;
+        boolean bathroomFilter = criteria.minBathrooms() != null || criteria.maxBathrooms() != null;
+        int minBedrooms = criteria.minBedrooms() != null ? criteria.minBedrooms() : Integer.MIN_VALUE;
+        int maxBedrooms = criteria.maxBedrooms() != null ? criteria.maxBedrooms() : Integer.MAX_VALUE;
+        int minBathrooms = criteria.minBathrooms() != null ? criteria.minBathrooms() : Integer.MIN_VALUE;
+        int maxBathrooms = criteria.maxBathrooms() != null ? criteria.maxBathrooms() : Integer.MAX_VALUE;
+        boolean areaFilter = criteria.minArea() != null || criteria.maxArea() != null;
+        double minArea = criteria.minArea() != null ? criteria.minArea() : Double.NEGATIVE_INFINITY;
+        double maxArea = criteria.maxArea() != null ? criteria.maxArea() : Double.POSITIVE_INFINITY;
+
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            double price = prices[row];
+            if (price < min || price > max) {
+                continue;
+            }
+            if (typeMatches != null && (types[row] < 0 || !typeMatches[types[row]])) {
+                continue;
+            }
+            // Missing values (NULL_INT, NaN) fail every bound, like NULL in SQL.
+            if (bedroomFilter && (bedrooms[row] == NULL_INT
+                    || bedrooms[row] < minBedrooms || bedrooms[row] > maxBedrooms)) {
+                continue;
+            }
+            if (bathroomFilter && (bathrooms[row] == NULL_INT
+                    || bathrooms[row] < minBathrooms || bathrooms[row] > maxBathrooms)) {
+                continue;
+            }
+            if (areaFilter && !(areas[row] >= minArea && areas[row] <= maxArea)) {
+                continue;
+            }
+            if (cityMatches != null) {
+                int code = cityCodes[row];
+                if (code == StringDictionary.NULL_CODE || !cityMatches[code]) {
+                    continue;
+                }
+            }
+            if (countryMatches != null) {
+                int code = countryCodes[row];
+                if (code == StringDictionary.NULL_CODE || !countryMatches[code]) {
+                    continue;
+                }
+            }
+            out[count++] = row;
+        }
+        return count;
+    }
+
+    /**
+     * Selects the first {@code k} of {@code count} rows in comparator order with a bounded max-heap,
+     * so a first page over a large match set costs O(n log k) rather than a full sort.
+     */
+    private static int[] topK(int[] rows, int count, int k, RowComparator cmp) {
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            if (heapSize < k) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++, cmp);
+            } else if (cmp.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, heapSize, cmp);
+            }
+        }
+        for (int end = heapSize - 1; end > 0; end--) {
+            int top = heap[0];
+            heap[0] = heap[end];
+            heap[end] = top;
+            siftDown(heap, end, cmp);
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int index, RowComparator cmp) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (cmp.compare(row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, RowComparator cmp) {
+        int index = 0;
+        int row = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && cmp.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (cmp.compare(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private RowComparator comparator(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        int[] keys = new int[orders.size()];
+        boolean[] descending = new boolean[orders.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = SORT_KEYS.get(orders.get(i).getProperty());
+            descending[i] = orders.get(i).isDescending();
+        }
+        return (a, b) -> {
+            for (int i = 0; i < keys.length; i++) {
+                int result = compareColumn(keys[i], descending[i], a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return rows[a].id().compareTo(rows[b].id());
+        };
+    }
+
+    // Nulls sort last regardless of direction.
+    private int compareColumn(int key, boolean descending, int a, int b) {
+        boolean nullA;
+        boolean nullB;
+        int result;
+        switch (key) {
+            case KEY_PRICE -> {
+                nullA = false;
+                nullB = false;
+                result = Double.compare(prices[a], prices[b]);
+            }
+            case KEY_TYPE -> {
+                nullA = types[a] < 0;
+                nullB = types[b] < 0;
+                result = nullA || nullB ? 0 : Integer.compare(TYPE_NAME_RANK[types[a]], TYPE_NAME_RANK[types[b]]);
+            }
+            case KEY_BEDROOMS -> {
+                nullA = bedrooms[a] == NULL_INT;
+                nullB = bedrooms[b] == NULL_INT;
+                result = Integer.compare(bedrooms[a], bedrooms[b]);
+            }
+            case KEY_AREA -> {
+                nullA = Double.isNaN(areas[a]);
+                nullB = Double.isNaN(areas[b]);
+                result = Double.compare(areas[a], areas[b]);
+            }
+            case KEY_CREATED_AT -> {
+                nullA = createdAt[a] == NULL_LONG;
+                nullB = createdAt[b] == NULL_LONG;
+                result = Long.compare(createdAt[a], createdAt[b]);
+            }
+            case KEY_UPDATED_AT -> {
+                nullA = updatedAt[a] == NULL_LONG;
+                nullB = updatedAt[b] == NULL_LONG;
+                result = Long.compare(updatedAt[a], updatedAt[b]);
+            }
+            default -> {
+                nullA = false;
+                nullB = false;
+                result = rows[a].id().compareTo(rows[b].id());
+            }
+        }
+        if (nullA || nullB) {
+            return nullA == nullB ? 0 : (nullA ? 1 : -1);
+        }
+        return descending ? -result : result;
+    }
+
+    @Override
+    public void put(PropertyResponse property) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(property.id());
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowsById.put(property.id(), row);
+            } else if (isOlder(property, row)) {
+                // A late after-commit callback must not overwrite a newer version.
+                return;
+            }
+            write(row, property);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(id);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                copyRow(last, row);
+                rowsById.put(rows[row].id(), row);
+            }
+            rows[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rowsById.clear();
+            cities.clear();
+            countries.clear();
+            size = 0;
+            allocate(INITIAL_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // By version rather than updatedAt, which comes from the clock of whichever node wrote it
+    private boolean isOlder(PropertyResponse property, int row) {
+        Long current = rows[row].version();
+        return property.version() != null && current != null && property.version() < current;
+    }
+
+    private void write(int row, PropertyResponse property) {
+        rows[row] = property;
+        prices[row] = property.price() != null ? property.price().doubleValue() : Double.NaN;
+        types[row] = property.type() != null ? (byte) property.type().ordinal() : -1;
+        bedrooms[row] = property.bedrooms() != null ? property.bedrooms() : NULL_INT;
+        bathrooms[row] = property.bathrooms() != null ? property.bathrooms() : NULL_INT;
+        areas[row] = property.area() != null ? property.area() : Double.NaN;
+        cityCodes[row] = cities.encode(property.city());
+        countryCodes[row] = countries.encode(property.country());
+        createdAt[row] = toEpochMicros(property.createdAt());
+        updatedAt[row] = toEpochMicros(property.updatedAt());
+    }
+
+    private void copyRow(int from, int to) {
+        rows[to] = rows[from];
+        prices[to] = prices[from];
+        types[to] = types[from];
+        bedrooms[to] = bedrooms[from];
+        bathrooms[to] = bathrooms[from];
+        areas[to] = areas[from];
+        cityCodes[to] = cityCodes[from];
+        countryCodes[to] = countryCodes[from];
+        createdAt[to] = createdAt[from];
+        updatedAt[to] = updatedAt[from];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= rows.length) {
+            return;
+        }
+        int capacity = Math.max(required, rows.length * 2);
+        rows = Arrays.copyOf(rows, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        types = Arrays.copyOf(types, capacity);
+        bedrooms = Arrays.copyOf(bedrooms, capacity);
+        bathrooms = Arrays.copyOf(bathrooms, capacity);
+        areas = Arrays.copyOf(areas, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        countryCodes = Arrays.copyOf(countryCodes, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+    }
+
+    private void allocate(int capacity) {
+        rows = new PropertyResponse[capacity];
+        prices = new double[capacity];
+        types = new byte[capacity];
+        bedrooms = new int[capacity];
+        bathrooms = new int[capacity];
+        areas = new double[capacity];
+        cityCodes = new int[capacity];
+        countryCodes = new int[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+    }
+
+    private int[] scratchBuffer(int required) {
+        int[] buffer = scratch.get();
+        if (buffer.length < required) {
+            buffer = new int[Math.max(required, buffer.length * 2)];
+            scratch.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static boolean anyTrue(boolean[] values) {
+        for (boolean value : values) {
+            if (value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_LONG;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static int[] typeNameRanks() {
+        PropertyType[] byName = PropertyType.values().clone();
+        Arrays.sort(byName, Comparator.comparing(PropertyType::name));
+        int[] ranks = new int[byName.length];
+        for (int rank = 0; rank < byName.length; rank++) {
+            ranks[byName[rank].ordinal()] = rank;
+        }
+        return ranks;
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int rowA, int rowB);
+    }
+}
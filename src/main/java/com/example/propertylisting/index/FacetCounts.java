@@ -0,0 +1,78 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.model.Property.PropertyType;
+
+import java.util.TreeMap;
+
+/**
+ * Accumulates facet counts (type, price bucket, bedrooms) in a single pass over matching rows.
+ * Bucket {@code i} covers {@code [bounds[i-1], bounds[i])}; the first and last buckets are open.
+ */
+public final class FacetCounts {
+
+    private final double[] priceBounds;
+    private final long[] byType = new long[PropertyType.values().length];
+    private final long[] byPriceBucket;
+    private final TreeMap<Integer, Long> byBedrooms = new TreeMap<>();
+    private long total;
+
+    public FacetCounts(double[] priceBounds) {
+        this.priceBounds = priceBounds;
+        this.byPriceBucket = new long[priceBounds.length + 1];
+    }
+
+    public int bucketOf(double price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && price >= priceBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public void add(PropertyType type, int priceBucket, Integer bedrooms, long count) {
+        total += count;
+        addType(type, count);
+        addPriceBucket(priceBucket, count);
+        addBedrooms(bedrooms, count);
+    }
+
+    public void addTotal(long count) {
+        total += count;
+    }
+
+    public void addType(PropertyType type, long count) {
+        if (type != null) {
+            byType[type.ordinal()] += count;
+        }
+    }
+
+    public void addPriceBucket(int priceBucket, long count) {
+        byPriceBucket[priceBucket] += count;
+    }
+
+    public void addBedrooms(Integer bedrooms, long count) {
+        if (bedrooms != null && count > 0) {
+            byBedrooms.merge(bedrooms, count, Long::sum);
+        }
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public double[] priceBounds() {
+        return priceBounds;
+    }
+
+    public long typeCount(PropertyType type) {
+        return byType[type.ordinal()];
+    }
+
+    public long priceBucketCount(int bucket) {
+        return byPriceBucket[bucket];
+    }
+
+    public TreeMap<Integer, Long> bedroomCounts() {
+        return byBedrooms;
+    }
+}
@@ -0,0 +1,442 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over title and description for keyword search, ranked with BM25 (title terms
+ * count twice). A listing matches when it contains every query term: candidates come from the
+ * rarest term's postings and the other terms are looked up in the candidate's own sorted term
+ * list. Replaced and deleted documents are tombstoned, and a put older than the indexed version
+ * is ignored. Once tombstones outnumber live documents, a background thread rebuilds the postings
+ * and the term dictionary from the live documents only, which drops terms no document uses any
+ * more. It reads under the read lock and builds without a lock; the write lock is taken only to
+ * swap in the result and replay the writes made in the meantime.
+ */
+@Component
+public class FullTextIndex implements PropertyIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final Comparator<ScoredDoc> WORST_FIRST = Comparator.comparingDouble(ScoredDoc::score)
+            .thenComparing(ScoredDoc::id, Comparator.reverseOrder());
+
+    private final boolean enabled;
+    private final Executor compactor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private Map<String, Integer> termIds = new HashMap<>();
+    private List<Postings> postings = new ArrayList<>();
+    private Map<UUID, Integer> slotsById = new HashMap<>();
+    private List<Doc> docs = new ArrayList<>();
+    private long totalLength;
+    private int tombstones;
+    // Writes made while a compaction runs, replayed onto its result; null when none runs
+    private List<Change> changesWhileCompacting;
+    private int generation;
+
+    @Autowired
+    public FullTextIndex(@Value("${app.text-index.enabled:true}") boolean enabled) {
+        this(enabled, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "text-index-compaction");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    FullTextIndex(boolean enabled, Executor compactor) {
+        this.enabled = enabled;
+        this.compactor = compactor;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (compactor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lower-cased letter/digit runs of at least two characters, in order and with repeats.
+     */
+    public static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void markReady() {
+        ready = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the term dictionary, including terms of replaced documents until the next compaction.
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the listings containing every term of {@code query} and matching {@code criteria},
+     * best BM25 score first. The pageable's sort is ignored.
+     */
+    public Page<UUID> search(String query, PropertySearchCriteria criteria, Pageable pageable) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty() || slotsById.isEmpty()) {
+                return new PageImpl<>(Collections.emptyList(), pageable, 0);
+            }
+            int[] ids = new int[queryTerms.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Integer termId = termIds.get(queryTerms.get(i));
+                if (termId == null || postings.get(termId).live == 0) {
+                    return new PageImpl<>(Collections.emptyList(), pageable, 0);
+                }
+                ids[i] = termId;
+            }
+
+            int documents = slotsById.size();
+            double averageLength = (double) totalLength / documents;
+            double[] idf = new double[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                int df = postings.get(ids[i]).live;
+                idf[i] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            }
+            Postings rarest = postings.get(ids[0]);
+            for (int id : ids) {
+                if (postings.get(id).live < rarest.live) {
+                    rarest = postings.get(id);
+                }
+            }
+
+            int limit = pageable.isPaged()
+                    ? (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize())
+                    : Integer.MAX_VALUE;
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(WORST_FIRST);
+            long total = 0;
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                Doc doc = docs.get(rarest.slots[i]);
+                if (doc == null || !criteria.matches(doc.attributes())) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * doc.length() / averageLength);
+                double score = 0;
+                for (int t = 0; t < ids.length; t++) {
+                    int at = Arrays.binarySearch(doc.terms(), ids[t]);
+                    if (at < 0) {
+                        continue candidates;
+                    }
+                    int tf = doc.frequencies()[at];
+                    score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                }
+                total++;
+                ScoredDoc scored = new ScoredDoc(score, doc.id());
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(WORST_FIRST.reversed());
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+            List<UUID> content = ranked.subList(from, ranked.size()).stream().map(ScoredDoc::id).toList();
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(PropertyResponse property) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        terms(property.title()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        terms(property.description()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        Change change = new Change(property.id(), property.version(), frequencies,
+                PropertySearchCriteria.Attributes.of(property));
+
+        lock.writeLock().lock();
+        try {
+            apply(change);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(new Change(id, null, null, null));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            termIds = new HashMap<>();
+            postings = new ArrayList<>();
+            slotsById = new HashMap<>();
+            docs = new ArrayList<>();
+            totalLength = 0;
+            tombstones = 0;
+            changesWhileCompacting = null;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        if (changesWhileCompacting != null) {
+            changesWhileCompacting.add(change);
+        }
+        Integer previous = slotsById.get(change.id());
+        if (change.frequencies() == null) {
+            if (previous != null) {
+                slotsById.remove(change.id());
+                tombstone(previous);
+            }
+            return;
+        }
+        if (previous != null) {
+            Long current = docs.get(previous).version();
+            if (change.version() != null && current != null && change.version() < current) {
+                return;
+            }
+            tombstone(previous);
+        }
+
+        int[][] termsAndCounts = new int[change.frequencies().size()][];
+        int next = 0;
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : change.frequencies().entrySet()) {
+            termsAndCounts[next++] = new int[]{termId(termIds, postings, entry.getKey()), entry.getValue()};
+            length += entry.getValue();
+        }
+        Arrays.sort(termsAndCounts, Comparator.comparingInt(pair -> pair[0]));
+        int[] terms = new int[termsAndCounts.length];
+        int[] counts = new int[termsAndCounts.length];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = termsAndCounts[i][0];
+            counts[i] = termsAndCounts[i][1];
+        }
+        add(new Doc(change.id(), change.version(), terms, counts, length, change.attributes()));
+    }
+
+    private void add(Doc doc) {
+        int slot = docs.size();
+        docs.add(doc);
+        slotsById.put(doc.id(), slot);
+        for (int termId : doc.terms()) {
+            postings.get(termId).add(slot);
+        }
+        totalLength += doc.length();
+    }
+
+    private void tombstone(int slot) {
+        Doc doc = docs.set(slot, null);
+        for (int termId : doc.terms()) {
+            postings.get(termId).live--;
+        }
+        totalLength -= doc.length();
+        tombstones++;
+    }
+
+    private void compactIfNeeded() {
+        if (changesWhileCompacting != null || tombstones < COMPACTION_THRESHOLD || tombstones < slotsById.size()) {
+            return;
+        }
+        changesWhileCompacting = new ArrayList<>();
+        int compacted = generation;
+        try {
+            compactor.execute(() -> compact(compacted));
+        } catch (RejectedExecutionException e) {
+            changesWhileCompacting = null;
+        }
+    }
+
+    /**
+     * Renumbers the live documents and their terms into new postings, then swaps them in.
+     * Documents already in the copy may be replayed again; replaying a write twice is harmless.
+     */
+    private void compact(int compacted) {
+        List<Doc> live = new ArrayList<>();
+        String[] names;
+        lock.readLock().lock();
+        try {
+            if (generation != compacted) {
+                return;
+            }
+            for (Doc doc : docs) {
+                if (doc != null) {
+                    live.add(doc);
+                }
+            }
+            names = new String[postings.size()];
+            termIds.forEach((term, id) -> names[id] = term);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Integer> newTermIds = new HashMap<>();
+        List<Postings> newPostings = new ArrayList<>();
+        Map<UUID, Integer> newSlotsById = new HashMap<>(live.size());
+        List<Doc> newDocs = new ArrayList<>(live.size());
+        long newTotalLength = 0;
+        for (Doc doc : live) {
+            int[][] termsAndCounts = new int[doc.terms().length][];
+            for (int i = 0; i < termsAndCounts.length; i++) {
+                termsAndCounts[i] = new int[]{termId(newTermIds, newPostings, names[doc.terms()[i]]),
+                        doc.frequencies()[i]};
+            }
+            Arrays.sort(termsAndCounts, Comparator.comparingInt(pair -> pair[0]));
+            int[] terms = new int[termsAndCounts.length];
+            int[] counts = new int[termsAndCounts.length];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = termsAndCounts[i][0];
+                counts[i] = termsAndCounts[i][1];
+                newPostings.get(terms[i]).add(newDocs.size());
+            }
+            newSlotsById.put(doc.id(), newDocs.size());
+            newDocs.add(new Doc(doc.id(), doc.version(), terms, counts, doc.length(), doc.attributes()));
+            newTotalLength += doc.length();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (generation != compacted) {
+                return;
+            }
+            List<Change> replay = changesWhileCompacting;
+            changesWhileCompacting = null;
+            termIds = newTermIds;
+            postings = newPostings;
+            slotsById = newSlotsById;
+            docs = newDocs;
+            totalLength = newTotalLength;
+            tombstones = 0;
+            replay.forEach(this::apply);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int termId(Map<String, Integer> termIds, List<Postings> postings, String term) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = postings.size();
+            termIds.put(term, termId);
+            postings.add(new Postings());
+        }
+        return termId;
+    }
+
+    private record Doc(UUID id, Long version, int[] terms, int[] frequencies, int length,
+                       PropertySearchCriteria.Attributes attributes) {
+    }
+
+    /**
+     * A put, or a removal when {@code frequencies} is null.
+     */
+    private record Change(UUID id, Long version, Map<String, Integer> frequencies,
+                          PropertySearchCriteria.Attributes attributes) {
+    }
+
+    private record ScoredDoc(double score, UUID id) {
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[2];
+        private int size;
+        private int live;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+            live++;
+        }
+
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.PropertyCluster;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-size latitude/longitude grid over the listings that have coordinates. Area queries only
+ * visit the cells overlapping the area (or, for very large areas, only the populated cells), so
+ * panning a map never scans the whole catalogue. Each cell also keeps a running count and
+ * coordinate sum, which lets unfiltered clustering of zoomed-out views work per cell rather than
+ * per listing.
+ */
+@Component
+public class GeoGridIndex implements PropertyIndex {
+
+    private final boolean enabled;
+    private final double cellDegrees;
+    private final int maxCandidates;
+    private final int gridColumns;
+    private final int gridRows;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private final Map<UUID, Point> pointsById = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    public GeoGridIndex(@Value("${app.geo-index.enabled:true}") boolean enabled,
+                        @Value("${app.geo-index.cell-degrees:0.05}") double cellDegrees,
+                        @Value("${app.geo-index.max-candidates:1000}") int maxCandidates) {
+        this.enabled = enabled;
+        this.cellDegrees = cellDegrees;
+        this.maxCandidates = maxCandidates;
+        this.gridColumns = (int) Math.ceil(360 / cellDegrees);
+        this.gridRows = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void markReady() {
+        ready = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pointsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the listings inside {@code area}. Empty when the index is not loaded or the area holds
+     * more listings than are worth an IN list; the caller then relies on the database predicate.
+     */
+    public Optional<Set<UUID>> resolve(GeoArea area) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Set<UUID> matches = new HashSet<>();
+            for (Cell cell : cellsIn(area.bounds())) {
+                for (Point point : cell.points.values()) {
+                    if (area.contains(point.latitude(), point.longitude())) {
+                        matches.add(point.id());
+                        if (matches.size() > maxCandidates) {
+                            return Optional.empty();
+                        }
+                    }
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clusters the listings inside {@code viewport} that match {@code criteria}. Without attribute
+     * filters, cells lying wholly inside the viewport and no larger than a cluster are counted from
+     * their running totals and placed at their centroid.
+     */
+    public List<PropertyCluster> clusters(BoundingBox viewport, int columns, PropertySearchCriteria criteria) {
+        ClusterCounts clusters = new ClusterCounts(viewport, columns);
+        boolean useTotals = !criteria.hasAttributeFilters()
+                && cellDegrees <= clusters.cellWidth() && cellDegrees <= clusters.cellHeight();
+        lock.readLock().lock();
+        try {
+            for (Cell cell : cellsIn(viewport)) {
+                if (useTotals && isInside(cell, viewport)) {
+                    double latitude = cell.latitudeSum / cell.points.size();
+                    double longitude = cell.longitudeSum / cell.points.size();
+                    clusters.add(clusters.bucketOf(latitude, longitude), cell.points.size(),
+                            cell.latitudeSum, clusters.offsetOf(longitude) * cell.points.size());
+                    continue;
+                }
+                for (Point point : cell.points.values()) {
+                    if (viewport.contains(point.latitude(), point.longitude())
+                            && criteria.matches(point.attributes())) {
+                        clusters.add(point.latitude(), point.longitude());
+                    }
+                }
+            }
+            return clusters.clusters();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(PropertyResponse property) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            detach(pointsById.remove(property.id()));
+            if (property.latitude() == null || property.longitude() == null) {
+                return;
+            }
+            Point point = new Point(property.id(), property.latitude(), property.longitude(),
+                    PropertySearchCriteria.Attributes.of(property));
+            pointsById.put(point.id(), point);
+            int row = row(point.latitude());
+            int column = column(point.longitude());
+            Cell cell = cells.computeIfAbsent(key(row, column), k -> new Cell(row, column));
+            cell.points.put(point.id(), point);
+            cell.latitudeSum += point.latitude();
+            cell.longitudeSum += point.longitude();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            detach(pointsById.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            pointsById.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void detach(Point point) {
+        if (point == null) {
+            return;
+        }
+        long key = key(row(point.latitude()), column(point.longitude()));
+        Cell cell = cells.get(key);
+        cell.points.remove(point.id());
+        if (cell.points.isEmpty()) {
+            cells.remove(key);
+        } else {
+            cell.latitudeSum -= point.latitude();
+            cell.longitudeSum -= point.longitude();
+        }
+    }
+
+    private List<Cell> cellsIn(BoundingBox box) {
+        int firstRow = row(box.south());
+        int lastRow = row(box.north());
+        int westColumn = column(box.west());
+        int eastColumn = column(box.east());
+        boolean wraps = box.crossesAntimeridian();
+        long columnsCovered = wraps ? gridColumns - westColumn + eastColumn + 1 : eastColumn - westColumn + 1;
+
+        List<Cell> found = new ArrayList<>();
+        if ((long) (lastRow - firstRow + 1) * columnsCovered > cells.size()) {
+            for (Cell cell : cells.values()) {
+                boolean inColumns = wraps
+                        ? cell.column >= westColumn || cell.column <= eastColumn
+                        : cell.column >= westColumn && cell.column <= eastColumn;
+                if (inColumns && cell.row >= firstRow && cell.row <= lastRow) {
+                    found.add(cell);
+                }
+            }
+            return found;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (long i = 0; i < columnsCovered; i++) {
+                Cell cell = cells.get(key(row, (int) ((westColumn + i) % gridColumns)));
+                if (cell != null) {
+                    found.add(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean isInside(Cell cell, BoundingBox viewport) {
+        double south = cell.row * cellDegrees - 90;
+        double west = cell.column * cellDegrees - 180;
+        return viewport.contains(south, west)
+                && viewport.contains(Math.min(90, south + cellDegrees), Math.min(180, west + cellDegrees));
+    }
+
+    private int row(double latitude) {
+        return Math.min(gridRows - 1, (int) ((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.min(gridColumns - 1, (int) ((longitude + 180) / cellDegrees));
+    }
+
+    private long key(int row, int column) {
+        return (long) row * gridColumns + column;
+    }
+
+    private record Point(UUID id, double latitude, double longitude, PropertySearchCriteria.Attributes attributes) {
+    }
+
+    private static final class Cell {
+        private final int row;
+        private final int column;
+        private final Map<UUID, Point> points = new HashMap<>();
+        private double latitudeSum;
+        private double longitudeSum;
+
+        Cell(int row, int column) {
+            this.row = row;
+            this.column = column;
+        }
+    }
+}
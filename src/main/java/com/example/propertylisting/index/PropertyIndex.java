@@ -0,0 +1,25 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+
+import java.util.UUID;
+
+/**
+ * An in-process view over the property catalogue. The repository stays the source of truth;
+ * {@link PropertyIndexMaintainer} loads every index at startup and then applies committed changes.
+ */
+public interface PropertyIndex {
+
+    boolean isEnabled();
+
+    void put(PropertyResponse property);
+
+    void remove(UUID id);
+
+    void clear();
+
+    /**
+     * Called once the initial load has been applied; the index may start answering queries.
+     */
+    void markReady();
+}
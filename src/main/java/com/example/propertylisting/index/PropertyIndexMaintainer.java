@@ -0,0 +1,95 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.snapshot.CatalogueSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps every {@link PropertyIndex} in step with the repository: a full load once the application
+ * is ready, then committed {@link PropertyChangedEvent}s. Changes committed while the load is
+ * running are buffered and replayed afterwards so they are not overwritten by older rows.
+ *
+ * <p>The load comes from the catalogue snapshot when there is a usable one, and from the database
+ * otherwise (see {@link CatalogueSnapshotService}). It runs on the ready event on purpose: Spring
+ * Boot only reports the readiness state ACCEPTING_TRAFFIC after the ready event's listeners
+ * return, so a node joins the load balancer with its indexes loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyIndexMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyIndexMaintainer.class);
+
+    private final List<PropertyIndex> indexes;
+    private final CatalogueSnapshotService snapshots;
+
+    private final Object lock = new Object();
+    private List<PropertyChangedEvent> pending = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<PropertyIndex> enabled = indexes.stream().filter(PropertyIndex::isEnabled).toList();
+        if (enabled.isEmpty()) {
+            synchronized (lock) {
+                pending = null;
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        enabled.forEach(PropertyIndex::clear);
+        Consumer<PropertyResponse> load = response -> enabled.forEach(index -> index.put(response));
+        OptionalLong restored = snapshots.restore(load);
+        long loaded;
+        if (restored.isPresent()) {
+            loaded = restored.getAsLong();
+        } else {
+            enabled.forEach(PropertyIndex::clear);
+            loaded = snapshots.readAll(load);
+        }
+
+        synchronized (lock) {
+            pending.forEach(this::apply);
+            pending = null;
+            enabled.forEach(PropertyIndex::markReady);
+        }
+        logger.info("Loaded {} properties into {} index(es) in {} ms",
+                loaded, enabled.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    private void apply(PropertyChangedEvent event) {
+        for (PropertyIndex index : indexes) {
+            if (!index.isEnabled()) {
+                continue;
+            }
+            if (event.after() != null) {
+                index.put(event.after());
+            } else {
+                index.remove(event.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exact k-nearest-neighbour index over active listings for the "similar listings" view.
+ *
+ * <p>A listing is a point on log price, log area, bedrooms and bathrooms. Each dimension is
+ * z-normalised with running statistics, so the scale follows the catalogue without re-indexing.
+ * A different type or city adds a fixed penalty to the squared distance. A missing area, bedroom
+ * or bathroom count on either side costs one standard deviation.
+ *
+ * <p>Points are bucketed by city and type, and each bucket is kept sorted by log price. A query
+ * visits the buckets in order of penalty. Within a bucket it walks outwards from its own price,
+ * and stops once the price gap alone is further away than the current k-th neighbour.
+ *
+ * <p>Listings are kept as list rows, with only a description excerpt.
+ */
+@Component
+public class SimilarListingIndex implements PropertyIndex {
+
+    private static final int PRICE = 0;
+    private static final int AREA = 1;
+    private static final int BEDROOMS = 2;
+    private static final int BATHROOMS = 3;
+    private static final int DIMENSIONS = 4;
+    private static final double MISSING_PENALTY = 1;
+    private static final double MIN_VARIANCE = 1e-12;
+
+    private static final Comparator<Neighbour> FURTHEST_FIRST = Comparator.comparingDouble(Neighbour::distance)
+            .thenComparing(neighbour -> neighbour.point().id())
+            .reversed();
+
+    private final boolean enabled;
+    private final double typePenalty;
+    private final double cityPenalty;
+    private final int excerptLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private final Map<UUID, Point> pointsById = new HashMap<>();
+    private final Map<String, Map<PropertyType, Bucket>> bucketsByCity = new HashMap<>();
+    private final double[] sums = new double[DIMENSIONS];
+    private final double[] squareSums = new double[DIMENSIONS];
+    private final int[] counts = new int[DIMENSIONS];
+
+    public SimilarListingIndex(@Value("${app.similar-index.enabled:true}") boolean enabled,
+                               @Value("${app.similar-index.type-penalty:1.0}") double typePenalty,
+                               @Value("${app.similar-index.city-penalty:1.0}") double cityPenalty,
+                               @Value("${app.list.description-excerpt-length:160}") int excerptLength) {
+        this.enabled = enabled;
+        this.typePenalty = typePenalty;
+        this.cityPenalty = cityPenalty;
+        this.excerptLength = excerptLength;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void markReady() {
+        ready = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pointsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} active listings closest to {@code property} as list rows, nearest first, never
+     * including the property itself. Ties are broken by id.
+     */
+    public List<PropertyResponse> nearest(PropertyResponse property, int k) {
+        Point query = Point.of(property);
+        if (query == null || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            double[] weights = weights();
+            PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, FURTHEST_FIRST);
+            Map<PropertyType, Bucket> sameCity = bucketsByCity.getOrDefault(query.city(), Map.of());
+
+            scan(sameCity.get(query.type()), 0, query, weights, k, best);
+            for (Map.Entry<PropertyType, Bucket> entry : sameCity.entrySet()) {
+                if (entry.getKey() != query.type()) {
+                    scan(entry.getValue(), typePenalty, query, weights, k, best);
+                }
+            }
+            if (!isFull(best, k) || best.peek().distance() >= cityPenalty) {
+                for (Map.Entry<String, Map<PropertyType, Bucket>> city : bucketsByCity.entrySet()) {
+                    if (!city.getKey().equals(query.city())) {
+                        scan(city.getValue().get(query.type()), cityPenalty, query, weights, k, best);
+                    }
+                }
+            }
+            if (!isFull(best, k) || best.peek().distance() >= cityPenalty + typePenalty) {
+                for (Map.Entry<String, Map<PropertyType, Bucket>> city : bucketsByCity.entrySet()) {
+                    if (city.getKey().equals(query.city())) {
+                        continue;
+                    }
+                    for (Map.Entry<PropertyType, Bucket> entry : city.getValue().entrySet()) {
+                        if (entry.getKey() != query.type()) {
+                            scan(entry.getValue(), cityPenalty + typePenalty, query, weights, k, best);
+                        }
+                    }
+                }
+            }
+
+            List<Neighbour> ranked = new ArrayList<>(best);
+            ranked.sort(FURTHEST_FIRST.reversed());
+            return ranked.stream().map(neighbour -> neighbour.point().property()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(PropertyResponse property) {
+        if (!enabled) {
+            return;
+        }
+        Point point = property.active() ? Point.of(property.withDescriptionExcerpt(excerptLength)) : null;
+        lock.writeLock().lock();
+        try {
+            detach(pointsById.remove(property.id()));
+            if (point == null) {
+                return;
+            }
+            pointsById.put(point.id(), point);
+            bucketsByCity.computeIfAbsent(point.city(), c -> new EnumMap<>(PropertyType.class))
+                    .computeIfAbsent(point.type(), t -> new Bucket())
+                    .add(point);
+            count(point, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            detach(pointsById.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            pointsById.clear();
+            bucketsByCity.clear();
+            Arrays.fill(sums, 0);
+            Arrays.fill(squareSums, 0);
+            Arrays.fill(counts, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scan(Bucket bucket, double penalty, Point query, double[] weights, int k,
+                      PriorityQueue<Neighbour> best) {
+        if (bucket == null || (isFull(best, k) && penalty > best.peek().distance())) {
+            return;
+        }
+        double price = query.coordinates()[PRICE];
+        int right = bucket.insertionPoint(price);
+        int left = right - 1;
+        while (left >= 0 || right < bucket.size) {
+            boolean goLeft = left >= 0 && (right >= bucket.size
+                    || price - bucket.priceAt(left) <= bucket.priceAt(right) - price);
+            if (goLeft) {
+                left = visit(bucket, left, penalty, query, weights, k, best) ? left - 1 : -1;
+            } else {
+                right = visit(bucket, right, penalty, query, weights, k, best) ? right + 1 : bucket.size;
+            }
+        }
+    }
+
+    /**
+     * Offers the point at {@code slot}; false once the price gap rules out every point further along
+     * this side of the bucket.
+     */
+    private boolean visit(Bucket bucket, int slot, double penalty, Point query, double[] weights, int k,
+                          PriorityQueue<Neighbour> best) {
+        Point candidate = bucket.points[slot];
+        double priceGap = candidate.coordinates()[PRICE] - query.coordinates()[PRICE];
+        double bound = penalty + weights[PRICE] * priceGap * priceGap;
+        if (isFull(best, k) && bound > best.peek().distance()) {
+            return false;
+        }
+        if (candidate.id().equals(query.id())) {
+            return true;
+        }
+        double distance = bound;
+        for (int d = AREA; d < DIMENSIONS; d++) {
+            double a = candidate.coordinates()[d];
+            double b = query.coordinates()[d];
+            if (Double.isNaN(a) || Double.isNaN(b)) {
+                distance += MISSING_PENALTY;
+            } else {
+                distance += weights[d] * (a - b) * (a - b);
+            }
+        }
+        Neighbour neighbour = new Neighbour(distance, candidate);
+        if (!isFull(best, k)) {
+            best.add(neighbour);
+        } else if (FURTHEST_FIRST.compare(neighbour, best.peek()) > 0) {
+            best.poll();
+            best.add(neighbour);
+        }
+        return true;
+    }
+
+    private static boolean isFull(PriorityQueue<Neighbour> best, int k) {
+        return best.size() >= k;
+    }
+
+    /**
+     * Inverse variances of the indexed points, per dimension.
+     */
+    private double[] weights() {
+        double[] weights = new double[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double variance = 0;
+            if (counts[d] > 1) {
+                double mean = sums[d] / counts[d];
+                variance = squareSums[d] / counts[d] - mean * mean;
+            }
+            weights[d] = variance > MIN_VARIANCE ? 1 / variance : 1;
+        }
+        return weights;
+    }
+
+    private void detach(Point point) {
+        if (point == null) {
+            return;
+        }
+        Map<PropertyType, Bucket> types = bucketsByCity.get(point.city());
+        Bucket bucket = types.get(point.type());
+        bucket.remove(point);
+        if (bucket.size == 0) {
+            types.remove(point.type());
+            if (types.isEmpty()) {
+                bucketsByCity.remove(point.city());
+            }
+        }
+        count(point, -1);
+    }
+
+    private void count(Point point, int sign) {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double value = point.coordinates()[d];
+            if (!Double.isNaN(value)) {
+                sums[d] += sign * value;
+                squareSums[d] += sign * value * value;
+                counts[d] += sign;
+            }
+        }
+    }
+
+    private record Neighbour(double distance, Point point) {
+    }
+
+    private record Point(UUID id, String city, PropertyType type, double[] coordinates, PropertyResponse property) {
+
+        /**
+         * The listing as a point, or {@code null} when it has no usable price, type or city.
+         */
+        static Point of(PropertyResponse property) {
+            if (property.price() == null || property.price().signum() <= 0
+                    || property.type() == null || property.city() == null) {
+                return null;
+            }
+            double[] coordinates = new double[DIMENSIONS];
+            coordinates[PRICE] = Math.log(property.price().doubleValue());
+            coordinates[AREA] = property.area() != null ? Math.log1p(property.area()) : Double.NaN;
+            coordinates[BEDROOMS] = property.bedrooms() != null ? property.bedrooms() : Double.NaN;
+            coordinates[BATHROOMS] = property.bathrooms() != null ? property.bathrooms() : Double.NaN;
+            return new Point(property.id(), property.city().trim().toLowerCase(Locale.ROOT), property.type(),
+                    coordinates, property);
+        }
+    }
+
+    /**
+     * Points of one city and type, sorted by log price (then id).
+     */
+    private static final class Bucket {
+        private static final Comparator<Point> ORDER = Comparator
+                .comparingDouble((Point point) -> point.coordinates()[PRICE])
+                .thenComparing(Point::id);
+
+        private Point[] points = new Point[4];
+        private int size;
+
+        double priceAt(int slot) {
+            return points[slot].coordinates()[PRICE];
+        }
+
+        int insertionPoint(double price) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (priceAt(mid) < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void add(Point point) {
+            int at = Arrays.binarySearch(points, 0, size, point, ORDER);
+            at = at < 0 ? -at - 1 : at;
+            if (size == points.length) {
+                points = Arrays.copyOf(points, size * 2);
+            }
+            System.arraycopy(points, at, points, at + 1, size - at);
+            points[at] = point;
+            size++;
+        }
+
+        void remove(Point point) {
+            int at = Arrays.binarySearch(points, 0, size, point, ORDER);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(points, at + 1, points, at, size - at - 1);
+            points[--size] = null;
+        }
+    }
+}
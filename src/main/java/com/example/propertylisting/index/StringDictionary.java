@@ -0,0 +1,69 @@
+package com.example.propertylisting.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionary encoding for low-cardinality string columns. Codes are dense and never reused,
+ * so a filter can be evaluated once per distinct value instead of once per row.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowerValues = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return codes.computeIfAbsent(value, v -> {
+            values.add(v);
+            lowerValues.add(v.toLowerCase(Locale.ROOT));
+            return values.size() - 1;
+        });
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Case-insensitive substring match over the dictionary, indexed by code.
+     */
+    boolean[] matchContaining(String needle) {
+        String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+        boolean[] matches = new boolean[lowerValues.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = lowerValues.get(code).contains(lowerNeedle);
+        }
+        return matches;
+    }
+
+    /**
+     * Case-insensitive equality with any of {@code lowerNeedles} (already lower-cased), indexed by code.
+     */
+    boolean[] matchAnyOf(Set<String> lowerNeedles) {
+        boolean[] matches = new boolean[lowerValues.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = lowerNeedles.contains(lowerValues.get(code));
+        }
+        return matches;
+    }
+
+    void clear() {
+        codes.clear();
+        values.clear();
+        lowerValues.clear();
+    }
+}
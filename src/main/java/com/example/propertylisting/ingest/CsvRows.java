@@ -0,0 +1,72 @@
+package com.example.propertylisting.ingest;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV records as JSON objects keyed by the header row, so that they bind and validate like bulk
+ * items. Fields follow RFC 4180: comma separated, optionally double-quoted, with {@code ""} for a
+ * quote inside a quoted field. Empty fields are left out, which reads as null.
+ */
+final class CsvRows {
+
+    private final List<String> header;
+
+    CsvRows(String headerLine) {
+        this.header = split(stripByteOrderMark(headerLine)).stream().map(String::trim).toList();
+    }
+
+    /**
+     * The record as an object; {@link IllegalArgumentException} when it has the wrong number of
+     * fields.
+     */
+    ObjectNode toObject(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " fields, found " + fields.size());
+        }
+        ObjectNode object = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (!value.isEmpty()) {
+                object.put(header.get(i), value);
+            }
+        }
+        return object;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String stripByteOrderMark(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.propertylisting.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Where an import of one file got to. Every record before {@code offset} is written, and
+ * {@code records} counts them. Batches that start beyond it and already finished are listed in
+ * {@code completed} by start offset, so a resumed run skips them. The totals cover both. A
+ * checkpoint only applies to the same file (size and modification time), read in the same batch
+ * size.
+ */
+record ImportCheckpoint(
+        long fileSize,
+        long lastModified,
+        int batchSize,
+        long offset,
+        long records,
+        long created,
+        long updated,
+        long rejected,
+        long failed,
+        Set<Long> completed,
+        boolean complete
+) {
+
+    static ImportCheckpoint start(long fileSize, long lastModified, int batchSize) {
+        return new ImportCheckpoint(fileSize, lastModified, batchSize, 0, 0, 0, 0, 0, 0, Set.of(), false);
+    }
+
+    boolean isFor(long fileSize, long lastModified) {
+        return this.fileSize == fileSize && this.lastModified == lastModified;
+    }
+
+    long total() {
+        return created + updated + rejected + failed;
+    }
+
+    static ImportCheckpoint load(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            values.load(reader);
+        }
+        String completed = values.getProperty("completed", "");
+        try {
+            return new ImportCheckpoint(
+                    Long.parseLong(values.getProperty("fileSize")),
+                    Long.parseLong(values.getProperty("lastModified")),
+                    Integer.parseInt(values.getProperty("batchSize")),
+                    Long.parseLong(values.getProperty("offset")),
+                    Long.parseLong(values.getProperty("records")),
+                    Long.parseLong(values.getProperty("created")),
+                    Long.parseLong(values.getProperty("updated")),
+                    Long.parseLong(values.getProperty("rejected")),
+                    Long.parseLong(values.getProperty("failed")),
+                    completed.isEmpty() ? Set.of() : Arrays.stream(completed.split(","))
+                            .map(Long::valueOf)
+                            .collect(Collectors.toCollection(TreeSet::new)),
+                    Boolean.parseBoolean(values.getProperty("complete")));
+        } catch (RuntimeException e) {
+            throw new IOException("Unreadable import checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Replaces the checkpoint atomically, so a crash leaves either the old or the new one.
+     */
+    void save(Path path) throws IOException {
+        Properties values = new Properties();
+        values.setProperty("fileSize", Long.toString(fileSize));
+        values.setProperty("lastModified", Long.toString(lastModified));
+        values.setProperty("batchSize", Integer.toString(batchSize));
+        values.setProperty("offset", Long.toString(offset));
+        values.setProperty("records", Long.toString(records));
+        values.setProperty("created", Long.toString(created));
+        values.setProperty("updated", Long.toString(updated));
+        values.setProperty("rejected", Long.toString(rejected));
+        values.setProperty("failed", Long.toString(failed));
+        values.setProperty("completed", completed.stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+        values.setProperty("complete", Boolean.toString(complete));
+
+        Files.createDirectories(path.getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            values.store(writer, null);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
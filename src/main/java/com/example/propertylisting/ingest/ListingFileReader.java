@@ -0,0 +1,105 @@
+package com.example.propertylisting.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Splits a listing file into records without loading it. The file channel is read through one
+ * fixed buffer, starting at any byte offset, and each record comes with the offsets it spans so
+ * that an import can checkpoint and resume. Records end at a line break; with {@code quoted}, a
+ * line break inside a double-quoted CSV field does not end the record. Blank lines are skipped and
+ * a trailing carriage return is dropped.
+ */
+final class ListingFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    record Line(long start, long end, String text) {
+    }
+
+    private final FileChannel channel;
+    private final boolean quoted;
+    private final int maxRecordBytes;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] record = new byte[1024];
+    private long position;
+
+    ListingFileReader(Path path, long offset, boolean quoted, int maxRecordBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.quoted = quoted;
+        this.maxRecordBytes = maxRecordBytes;
+        channel.position(offset);
+        position = offset;
+        buffer.flip();
+    }
+
+    /**
+     * Offset of the first byte not yet returned in a record.
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the file.
+     */
+    Line next() throws IOException {
+        while (true) {
+            long start = position;
+            int length = 0;
+            boolean inQuotes = false;
+            boolean ended = false;
+            while (!ended && fill()) {
+                byte b = buffer.get();
+                position++;
+                if (b == '\n' && !inQuotes) {
+                    ended = true;
+                    continue;
+                }
+                if (quoted && b == '"') {
+                    inQuotes = !inQuotes;
+                }
+                if (length == record.length) {
+                    if (length >= maxRecordBytes) {
+                        throw new IOException("Record at byte " + start + " is longer than " + maxRecordBytes + " bytes");
+                    }
+                    record = Arrays.copyOf(record, Math.min(length * 2, maxRecordBytes));
+                }
+                record[length++] = b;
+            }
+            if (length > 0 && record[length - 1] == '\r') {
+                length--;
+            }
+            String text = new String(record, 0, length, StandardCharsets.UTF_8);
+            if (!text.isBlank()) {
+                return new Line(start, position, text);
+            }
+            if (!ended) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.propertylisting.ingest;
+
+import com.example.propertylisting.dto.BulkPropertyResponse.Item;
+import com.example.propertylisting.dto.BulkPropertyResponse.Status;
+import com.example.propertylisting.dto.ImportFormat;
+import com.example.propertylisting.dto.PropertyImportStatus;
+import com.example.propertylisting.dto.PropertyImportStatus.State;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.example.propertylisting.service.PropertyBulkService.Pending;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One run of a file import. The job thread reads and binds records and groups them into batches of
+ * a fixed number of records. A bounded queue hands the batches to parallel writers, each batch
+ * written in one transaction. The reader blocks while the queue is full, so memory stays at a few
+ * batches whatever the size of the file.
+ *
+ * <p>After every batch the checkpoint moves to the end of the longest run of finished batches from
+ * where it was. Batches that finished out of order are recorded as well, so a resumed run neither
+ * writes them again nor counts them twice. A record is written again only if the process stops
+ * between a batch committing and its checkpoint being saved.
+ */
+final class PropertyImportJob implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyImportJob.class);
+
+    private static final Batch END = new Batch(-1, -1, -1, false);
+
+    record Settings(int writers, int queueCapacity, int maxRecordBytes, int maxReportedErrors) {
+    }
+
+    private final UUID id;
+    private final String file;
+    private final Path path;
+    private final Path checkpointPath;
+    private final ImportFormat format;
+    private final boolean restart;
+    private final Settings settings;
+    private final PropertyBulkService bulkService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService writerPool;
+    private final Map<Status, Counter> recordCounters = new EnumMap<>(Status.class);
+    private final Timer batchTimer;
+
+    private volatile State state = State.QUEUED;
+    private volatile long fileSize;
+    private volatile long bytesRead;
+    private volatile long resumedFrom;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long elapsedNanos;
+    private volatile String failure;
+
+    // Guarded by this
+    private ImportCheckpoint checkpoint;
+    private long nextBatch;
+    private final TreeMap<Long, Batch> finishedAhead = new TreeMap<>();
+    private final Set<Long> completed = new TreeSet<>();
+    private final List<String> errors = new ArrayList<>();
+    private long runRecords;
+
+    PropertyImportJob(UUID id, String file, Path path, Path checkpointPath, ImportFormat format, boolean restart,
+                      Settings settings, PropertyBulkService bulkService, ObjectMapper objectMapper,
+                      ExecutorService writerPool, MeterRegistry meterRegistry) {
+        this.id = id;
+        this.file = file;
+        this.path = path;
+        this.checkpointPath = checkpointPath;
+        this.format = format;
+        this.restart = restart;
+        this.settings = settings;
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
+        this.writerPool = writerPool;
+        for (Status status : Status.values()) {
+            recordCounters.put(status, Counter.builder("property.import.records")
+                    .description("Records processed by file imports")
+                    .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.batchTimer = Timer.builder("property.import.batch")
+                .description("Time to write one import batch")
+                .register(meterRegistry);
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    boolean isActive() {
+        return state.isActive();
+    }
+
+    @Override
+    public void run() {
+        startedAt = LocalDateTime.now();
+        startNanos = System.nanoTime();
+        state = State.RUNNING;
+        try {
+            importFile();
+        } catch (IOException | RuntimeException | ExecutionException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        finishedAt = LocalDateTime.now();
+        state = failure == null ? State.COMPLETED : State.FAILED;
+        PropertyImportStatus status = status();
+        logger.info("Import {} of {} {}: {} records ({} created, {} updated, {} rejected, {} failed) at {}/s",
+                id, file, state, status.records(), status.created(), status.updated(), status.rejected(),
+                status.failed(), Math.round(status.recordsPerSecond()));
+    }
+
+    synchronized PropertyImportStatus status() {
+        long records = checkpoint != null ? checkpoint.total() : 0;
+        long elapsed = state == State.RUNNING ? System.nanoTime() - startNanos : elapsedNanos;
+        double perSecond = elapsed > 0 ? runRecords * 1e9 / elapsed : 0;
+        return new PropertyImportStatus(id, file, format, state, fileSize, bytesRead, resumedFrom, records,
+                checkpoint != null ? checkpoint.created() : 0, checkpoint != null ? checkpoint.updated() : 0,
+                checkpoint != null ? checkpoint.rejected() : 0, checkpoint != null ? checkpoint.failed() : 0,
+                perSecond, startedAt, finishedAt, List.copyOf(errors), failure);
+    }
+
+    private void importFile() throws IOException, InterruptedException, ExecutionException {
+        fileSize = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        ImportCheckpoint saved = restart ? null : ImportCheckpoint.load(checkpointPath);
+        ImportCheckpoint start = saved != null && saved.isFor(fileSize, lastModified)
+                ? saved
+                : ImportCheckpoint.start(fileSize, lastModified, bulkService.chunkSize());
+        synchronized (this) {
+            checkpoint = start;
+            completed.addAll(start.completed());
+        }
+        if (start.complete()) {
+            bytesRead = fileSize;
+            return;
+        }
+        resumedFrom = start.offset();
+        bytesRead = start.offset();
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < settings.writers(); i++) {
+            writers.add(writerPool.submit(() -> drain(queue)));
+        }
+        try {
+            read(queue, start);
+        } finally {
+            try {
+                for (int i = 0; i < writers.size(); i++) {
+                    queue.put(END);
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            } catch (InterruptedException e) {
+                writers.forEach(writer -> writer.cancel(true));
+                throw e;
+            }
+        }
+
+        synchronized (this) {
+            if (failure == null) {
+                checkpoint = new ImportCheckpoint(checkpoint.fileSize(), checkpoint.lastModified(),
+                        checkpoint.batchSize(), checkpoint.offset(), checkpoint.records(), checkpoint.created(),
+                        checkpoint.updated(), checkpoint.rejected(), checkpoint.failed(), Set.of(), true);
+                checkpoint.save(checkpointPath);
+            }
+        }
+    }
+
+    private void read(BlockingQueue<Batch> queue, ImportCheckpoint start) throws IOException, InterruptedException {
+        boolean csv = format == ImportFormat.CSV;
+        long offset = start.offset();
+        try (ListingFileReader reader = new ListingFileReader(path, offset, csv, settings.maxRecordBytes())) {
+            CsvRows rows = null;
+            if (csv) {
+                ListingFileReader.Line header = offset == 0 ? reader.next() : readHeader();
+                if (header == null) {
+                    return;
+                }
+                rows = new CsvRows(header.text());
+                offset = Math.max(offset, header.end());
+            }
+
+            Batch batch = newBatch(0, offset, start.records());
+            ListingFileReader.Line line;
+            while (failure == null && (line = reader.next()) != null) {
+                String text = line.start() == 0 ? CsvRows.stripByteOrderMark(line.text()) : line.text();
+                bind(batch, rows, text);
+                batch.end = line.end();
+                bytesRead = line.end();
+                if (batch.size == start.batchSize()) {
+                    dispatch(queue, batch);
+                    batch = newBatch(batch.sequence + 1, batch.end, batch.firstRecord + batch.size);
+                }
+            }
+            if (failure == null && batch.size > 0) {
+                dispatch(queue, batch);
+            }
+            bytesRead = reader.position();
+        }
+    }
+
+    private ListingFileReader.Line readHeader() throws IOException {
+        try (ListingFileReader reader = new ListingFileReader(path, 0, true, settings.maxRecordBytes())) {
+            return reader.next();
+        }
+    }
+
+    private Batch newBatch(long sequence, long start, long firstRecord) {
+        boolean done;
+        synchronized (this) {
+            done = completed.contains(start);
+        }
+        return new Batch(sequence, start, firstRecord, done);
+    }
+
+    private void bind(Batch batch, CsvRows rows, String text) {
+        int index = batch.size++;
+        if (batch.done) {
+            return;
+        }
+        JsonNode node;
+        try {
+            node = rows != null ? rows.toObject(text) : objectMapper.readTree(text);
+        } catch (IllegalArgumentException e) {
+            batch.results.add(Item.rejected(index, null, List.of(e.getMessage())));
+            return;
+        } catch (JsonProcessingException e) {
+            batch.results.add(Item.rejected(index, null, List.of("Malformed JSON: " + e.getOriginalMessage())));
+            return;
+        }
+        Pending item = bulkService.bind(index, node, batch.results);
+        if (item != null) {
+            batch.writes.add(item);
+        }
+    }
+
+    private void dispatch(BlockingQueue<Batch> queue, Batch batch) throws InterruptedException, IOException {
+        if (batch.done) {
+            finished(batch);
+        } else {
+            queue.put(batch);
+        }
+    }
+
+    private void drain(BlockingQueue<Batch> queue) {
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch == END) {
+                    return;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    long start = System.nanoTime();
+                    batch.results.addAll(bulkService.write(batch.writes));
+                    batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    finished(batch);
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void finished(Batch batch) throws IOException {
+        long created = 0;
+        long updated = 0;
+        long rejected = 0;
+        long failed = 0;
+        if (!batch.done) {
+            for (Item item : batch.results) {
+                switch (item.status()) {
+                    case CREATED -> created++;
+                    case UPDATED -> updated++;
+                    case REJECTED -> rejected++;
+                    case FAILED -> failed++;
+                }
+                recordCounters.get(item.status()).increment();
+                if (!item.errors().isEmpty() && errors.size() < settings.maxReportedErrors()) {
+                    errors.add("Record " + (batch.firstRecord + item.index() + 1) + ": " + String.join("; ", item.errors()));
+                }
+            }
+            runRecords += batch.size;
+        }
+
+        completed.add(batch.start);
+        finishedAhead.put(batch.sequence, batch);
+        long offset = checkpoint.offset();
+        long records = checkpoint.records();
+        while (!finishedAhead.isEmpty() && finishedAhead.firstKey() == nextBatch) {
+            Batch done = finishedAhead.pollFirstEntry().getValue();
+            completed.remove(done.start);
+            offset = done.end;
+            records = done.firstRecord + done.size;
+            nextBatch++;
+        }
+        checkpoint = new ImportCheckpoint(checkpoint.fileSize(), checkpoint.lastModified(), checkpoint.batchSize(),
+                offset, records, checkpoint.created() + created, checkpoint.updated() + updated,
+                checkpoint.rejected() + rejected, checkpoint.failed() + failed, Set.copyOf(completed), false);
+        checkpoint.save(checkpointPath);
+    }
+
+    private synchronized void fail(Exception e) {
+        if (failure == null) {
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            logger.error("Import {} of {} failed; it resumes from its checkpoint when started again", id, file, e);
+        }
+    }
+
+    /**
+     * Consecutive records from byte {@code start}; {@code done} when a previous run already wrote
+     * them.
+     */
+    private static final class Batch {
+        final long sequence;
+        final long start;
+        final long firstRecord;
+        final boolean done;
+        final List<Pending> writes = new ArrayList<>();
+        final List<Item> results = new ArrayList<>();
+        long end;
+        int size;
+
+        Batch(long sequence, long start, long firstRecord, boolean done) {
+            this.sequence = sequence;
+            this.start = start;
+            this.firstRecord = firstRecord;
+            this.done = done;
+            this.end = start;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.propertylisting.ingest;
+
+import com.example.propertylisting.dto.ImportFormat;
+import com.example.propertylisting.dto.PropertyImportRequest;
+import com.example.propertylisting.dto.PropertyImportStatus;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports listing files from {@code app.import.directory}. A file is imported by at most one job
+ * at a time, and up to {@code app.import.max-concurrent-jobs} jobs run at once; more are queued.
+ * Each job checkpoints under {@code app.import.checkpoint-directory}. Starting a file again resumes
+ * from its checkpoint, and a file that was imported completely is not imported again unless the
+ * request asks for a restart or the file has changed.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final int RETAINED_JOBS = 100;
+
+    private final Path directory;
+    private final Path checkpointDirectory;
+    private final PropertyImportJob.Settings settings;
+    private final PropertyBulkService bulkService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService jobPool;
+    private final ExecutorService writerPool;
+    private final Map<UUID, PropertyImportJob> jobs = new LinkedHashMap<>();
+
+    public PropertyImportService(@Value("${app.import.directory:imports}") Path directory,
+                                 @Value("${app.import.checkpoint-directory:imports/.checkpoints}") Path checkpointDirectory,
+                                 @Value("${app.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                 @Value("${app.import.writers:4}") int writers,
+                                 @Value("${app.import.queue-capacity:8}") int queueCapacity,
+                                 @Value("${app.import.max-record-bytes:1048576}") int maxRecordBytes,
+                                 @Value("${app.import.max-reported-errors:100}") int maxReportedErrors,
+                                 PropertyBulkService bulkService,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.checkpointDirectory = checkpointDirectory.toAbsolutePath().normalize();
+        this.settings = new PropertyImportJob.Settings(writers, queueCapacity, maxRecordBytes, maxReportedErrors);
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.jobPool = Executors.newFixedThreadPool(maxConcurrentJobs, threads("property-import-"));
+        // Every running job has all its writers: no job waits for another's writer threads.
+        this.writerPool = Executors.newFixedThreadPool(maxConcurrentJobs * writers, threads("property-import-writer-"));
+        Gauge.builder("property.import.jobs.active", this, PropertyImportService::activeJobs)
+                .description("Import jobs queued or running")
+                .register(meterRegistry);
+    }
+
+    public synchronized PropertyImportStatus startImport(PropertyImportRequest request) {
+        Path path = directory.resolve(request.file()).normalize();
+        if (!path.startsWith(directory) || path.equals(directory)) {
+            throw new BadRequestException("File must be inside the import directory");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Import file not found: " + request.file());
+        }
+        ImportFormat format = request.format() != null ? request.format() : ImportFormat.ofFileName(path.toString());
+        if (format == null) {
+            throw new BadRequestException("Cannot tell the format of " + request.file() + "; set format to CSV or NDJSON");
+        }
+        if (jobs.values().stream().anyMatch(job -> job.isActive() && job.path().equals(path))) {
+            throw new BadRequestException(request.file() + " is already being imported");
+        }
+
+        String relative = directory.relativize(path).toString();
+        Path checkpoint = checkpointDirectory.resolve(relative.replace(path.getFileSystem().getSeparator(), "__")
+                + ".checkpoint");
+        PropertyImportJob job = new PropertyImportJob(UUID.randomUUID(), relative, path, checkpoint, format,
+                request.restart(), settings, bulkService, objectMapper, writerPool, meterRegistry);
+        jobs.put(job.id(), job);
+        prune();
+        jobPool.execute(job);
+        return job.status();
+    }
+
+    public synchronized PropertyImportStatus getImport(UUID id) {
+        PropertyImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import not found with id: " + id);
+        }
+        return job.status();
+    }
+
+    /**
+     * The retained jobs, most recent first.
+     */
+    public synchronized List<PropertyImportStatus> getImports() {
+        List<PropertyImportStatus> statuses = new ArrayList<>();
+        jobs.values().forEach(job -> statuses.add(job.status()));
+        Collections.reverse(statuses);
+        return statuses;
+    }
+
+    /**
+     * Interrupts running jobs; each resumes from its checkpoint when started again.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        jobPool.shutdownNow();
+        writerPool.shutdownNow();
+        jobPool.awaitTermination(10, TimeUnit.SECONDS);
+        writerPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private synchronized int activeJobs() {
+        return (int) jobs.values().stream().filter(PropertyImportJob::isActive).count();
+    }
+
+    // Forgets the oldest finished jobs beyond the retention limit.
+    private void prune() {
+        Iterator<PropertyImportJob> iterator = jobs.values().iterator();
+        int excess = jobs.size() - RETAINED_JOBS;
+        while (excess > 0 && iterator.hasNext()) {
+            if (!iterator.next().isActive()) {
+                iterator.remove();
+                excess--;
+            }
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
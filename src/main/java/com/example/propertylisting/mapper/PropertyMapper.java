@@ -8,11 +8,24 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR)
 public interface PropertyMapper {
 
+    // Ids, timestamps, the active flag and the version belong to JPA and the write paths, never to the client
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Property toEntity(PropertyRequest request);
 
     @Mapping(target = "id", source = "id")
+    // A copy method MapStruct would otherwise take for a fluent setter
+    @Mapping(target = "withDescriptionExcerpt", ignore = true)
     PropertyResponse toResponse(Property property);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(PropertyRequest request, @MappingTarget Property property);
 }
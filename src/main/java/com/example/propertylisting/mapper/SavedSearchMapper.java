@@ -0,0 +1,17 @@
+package com.example.propertylisting.mapper;
+
+import com.example.propertylisting.dto.SavedSearchRequest;
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.model.SavedSearch;
+import org.mapstruct.*;
+
+@Mapper(componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface SavedSearchMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "ownerEmail", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    SavedSearch toEntity(SavedSearchRequest request);
+
+    SavedSearchResponse toResponse(SavedSearch savedSearch);
+}
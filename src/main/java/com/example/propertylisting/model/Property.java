@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -13,6 +14,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "properties")
+// Soft-deleted listings (see app.delete.soft) are left out of every query and load, which the
+// partial indexes on active rows rely on. Only the native queries of PropertyRepository that
+// list and restore deleted listings see them.
+@SQLRestriction("active = true")
 @Getter
 @Setter
 @Builder
@@ -44,6 +49,14 @@ public class Property {
     @NotBlank(message = "Country is required")
     private String country;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @Positive(message = "Bedrooms must be positive")
     private Integer bedrooms;
 
@@ -64,8 +77,13 @@ public class Property {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Builder.Default
     private boolean active = true;
 
+    // Checked and incremented by every update; null until the listing is first persisted.
+    @Version
+    private Long version;
+
     public enum PropertyType {
         APARTMENT, HOUSE, VILLA, LAND, COMMERCIAL, OTHER
     }
@@ -0,0 +1,28 @@
+package com.example.propertylisting.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single row holding the last sequence number the outbox relay handed out.
+ */
+@Entity
+@Table(name = "property_outbox_cursor")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyOutboxCursor {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long lastSequence;
+}
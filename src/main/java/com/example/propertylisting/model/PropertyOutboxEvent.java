@@ -0,0 +1,51 @@
+package com.example.propertylisting.model;
+
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A listing change recorded in the transaction that made it, waiting to be published or already
+ * published under {@code sequenceNumber}.
+ */
+@Entity
+@Table(name = "property_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyOutboxEvent {
+    // Pooled ids: a bulk chunk's events go out in insert batches without a round-trip per row
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_outbox_seq")
+    @SequenceGenerator(name = "property_outbox_seq", sequenceName = "property_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long sequenceNumber;
+
+    @Column(nullable = false)
+    private UUID propertyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    private Long version;
+
+    // The listing after the change as JSON; null for deletes
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+}
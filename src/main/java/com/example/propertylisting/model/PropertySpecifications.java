@@ -1,9 +1,78 @@
 package com.example.propertylisting.model;
 
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.PropertySearchCriteria;
 import com.example.propertylisting.model.Property.PropertyType;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
 public class PropertySpecifications {
+
+    public static Specification<Property> matching(PropertySearchCriteria criteria) {
+        Specification<Property> spec = (root, query, cb) -> cb.conjunction();
+
+        if (criteria.hasCity()) {
+            spec = spec.and(hasCity(criteria.city()));
+        }
+
+        if (criteria.minPrice() != null) {
+            spec = spec.and(priceGreaterThanOrEqual(criteria.minPrice()));
+        }
+
+        if (criteria.maxPrice() != null) {
+            spec = spec.and(priceLessThanOrEqual(criteria.maxPrice()));
+        }
+
+        if (!criteria.types().isEmpty()) {
+            spec = spec.and(typeIn(criteria.types()));
+        }
+
+        if (!criteria.countries().isEmpty()) {
+            spec = spec.and(countryIn(criteria.countries()));
+        }
+
+        if (criteria.minBedrooms() != null || criteria.maxBedrooms() != null) {
+            spec = spec.and(between("bedrooms", criteria.minBedrooms(), criteria.maxBedrooms()));
+        }
+
+        if (criteria.minBathrooms() != null || criteria.maxBathrooms() != null) {
+            spec = spec.and(between("bathrooms", criteria.minBathrooms(), criteria.maxBathrooms()));
+        }
+
+        if (criteria.minArea() != null || criteria.maxArea() != null) {
+            spec = spec.and(between("area", criteria.minArea(), criteria.maxArea()));
+        }
+
+        if (criteria.hasArea()) {
+            spec = spec.and(within(criteria.area()));
+        }
+
+        return spec;
+    }
+
+    /**
+     * Like {@link #matching(PropertySearchCriteria)}, but the substring city filter is first resolved
+     * to the exact stored city values, turning it into an indexable IN. An empty resolution means
+     * the resolver cannot answer and the LIKE predicate is used instead.
+     */
+    public static Specification<Property> matching(PropertySearchCriteria criteria,
+                                                   Function<String, Optional<? extends Collection<String>>> cityResolver) {
+        if (!criteria.hasCity()) {
+            return matching(criteria);
+        }
+        Specification<Property> citySpec = cityResolver.apply(criteria.city())
+                .<Specification<Property>>map(PropertySpecifications::cityIn)
+                .orElseGet(() -> hasCity(criteria.city()));
+        return matching(criteria.withoutCity()).and(citySpec);
+    }
     
     public static Specification<Property> hasCity(String city) {
         return (root, query, cb) -> {
@@ -14,6 +83,60 @@ public class PropertySpecifications {
         };
     }
     
+    /**
+     * Every term must occur in the title or the description. Fallback for keyword search while the
+     * full-text index is unavailable; terms are letters and digits only, so need no LIKE escaping.
+     */
+    public static Specification<Property> containsAllTerms(Collection<String> terms) {
+        return (root, query, cb) -> cb.and(terms.stream()
+                .map(term -> cb.or(
+                        cb.like(cb.lower(root.get("title")), "%" + term + "%"),
+                        cb.like(cb.lower(root.get("description")), "%" + term + "%")))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Bounding-box range predicates, plus the equirectangular distance for a radius. The centre's
+     * cosine is computed up front, so the distance is plain arithmetic any database can evaluate.
+     * Listings without coordinates never match.
+     */
+    public static Specification<Property> within(GeoArea area) {
+        return (root, query, cb) -> {
+            Path<Double> latitude = root.get("latitude");
+            Path<Double> longitude = root.get("longitude");
+            GeoArea.BoundingBox box = area.bounds();
+            Predicate inLatitude = cb.between(latitude, box.south(), box.north());
+            Predicate inLongitude = box.crossesAntimeridian()
+                    ? cb.or(cb.greaterThanOrEqualTo(longitude, box.west()), cb.lessThanOrEqualTo(longitude, box.east()))
+                    : cb.between(longitude, box.west(), box.east());
+            if (!(area instanceof GeoArea.Radius radius)) {
+                return cb.and(inLatitude, inLongitude);
+            }
+            Expression<Double> dy = cb.prod(cb.diff(latitude, radius.latitude()), GeoArea.KM_PER_DEGREE);
+            Expression<Double> dx = cb.prod(cb.diff(longitude, radius.longitude()), radius.kmPerLongitudeDegree());
+            Predicate inCircle = cb.le(cb.sum(cb.prod(dy, dy), cb.prod(dx, dx)), radius.radiusKm() * radius.radiusKm());
+            return cb.and(inLatitude, inLongitude, inCircle);
+        };
+    }
+
+    public static Specification<Property> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> {
+            if (ids.isEmpty()) {
+                return cb.disjunction();
+            }
+            return root.get("id").in(ids);
+        };
+    }
+
+    public static Specification<Property> cityIn(Collection<String> cities) {
+        return (root, query, cb) -> {
+            if (cities.isEmpty()) {
+                return cb.disjunction();
+            }
+            return root.get("city").in(cities);
+        };
+    }
+
     public static Specification<Property> priceGreaterThanOrEqual(Double minPrice) {
         return (root, query, cb) -> {
             if (minPrice == null) {
@@ -40,4 +163,49 @@ public class PropertySpecifications {
             return cb.equal(root.get("type"), type);
         };
     }
+
+    public static Specification<Property> typeIn(Collection<PropertyType> types) {
+        return (root, query, cb) -> root.get("type").in(types);
+    }
+
+    /**
+     * Case-insensitive; {@code countries} must already be lower-cased.
+     */
+    public static Specification<Property> countryIn(Collection<String> countries) {
+        return (root, query, cb) -> cb.lower(root.get("country")).in(countries);
+    }
+
+    /**
+     * Inclusive range on a numeric attribute; a {@code null} bound is open.
+     */
+    public static <N extends Number & Comparable<N>> Specification<Property> between(String attribute, N min, N max) {
+        return (root, query, cb) -> {
+            Path<N> path = root.get(attribute);
+            if (min != null && max != null) {
+                return cb.between(path, min, max);
+            }
+            return min != null ? cb.greaterThanOrEqualTo(path, min) : cb.lessThanOrEqualTo(path, max);
+        };
+    }
+
+    /**
+     * Keyset predicate: rows strictly after ({@code value}, {@code id}) in the given direction,
+     * with the id as tiebreaker so the order is total.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Property> after(String property, Comparable value, UUID id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<UUID> idPath = root.get("id");
+            if ("id".equals(property)) {
+                return direction.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            }
+            Path path = root.get(property);
+            if (direction.isAscending()) {
+                return cb.or(cb.greaterThan(path, value),
+                        cb.and(cb.equal(path, value), cb.greaterThan(idPath, id)));
+            }
+            return cb.or(cb.lessThan(path, value),
+                    cb.and(cb.equal(path, value), cb.lessThan(idPath, id)));
+        };
+    }
 }
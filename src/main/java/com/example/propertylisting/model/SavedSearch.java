@@ -0,0 +1,52 @@
+package com.example.propertylisting.model;
+
+import com.example.propertylisting.model.Property.PropertyType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user's stored list filter; new and updated listings matching it raise an alert.
+ */
+@Entity
+@Table(name = "saved_searches")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+    @Id
+    @UuidGenerator
+    private UUID id;
+
+    @NotBlank
+    private String ownerEmail;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be less than 100 characters")
+    private String name;
+
+    private String city;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+
+    @Enumerated(EnumType.STRING)
+    private PropertyType type;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
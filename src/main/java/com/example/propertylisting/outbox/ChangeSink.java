@@ -0,0 +1,19 @@
+package com.example.propertylisting.outbox;
+
+import com.example.propertylisting.dto.PropertyChange;
+
+import java.util.List;
+
+/**
+ * Where {@link PropertyOutboxRelay} delivers published changes. Selected with
+ * {@code app.outbox.sink}.
+ */
+public interface ChangeSink {
+
+    /**
+     * Delivers one batch, in sequence order. A batch whose delivery throws is not committed and
+     * is delivered again with the same sequence numbers, so receivers should ignore changes at or
+     * below the last sequence number they processed.
+     */
+    void publish(List<PropertyChange> changes);
+}
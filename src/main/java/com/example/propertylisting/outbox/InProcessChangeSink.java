@@ -0,0 +1,29 @@
+package com.example.propertylisting.outbox;
+
+import com.example.propertylisting.dto.PropertyChange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hands every batch to the subscribers in this JVM on the relay thread. The default; remote
+ * consumers tail {@code GET /api/v1/properties/changes} instead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessChangeSink implements ChangeSink {
+
+    private final List<Consumer<List<PropertyChange>>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<PropertyChange> changes) {
+        subscribers.forEach(subscriber -> subscriber.accept(changes));
+    }
+
+    public void subscribe(Consumer<List<PropertyChange>> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
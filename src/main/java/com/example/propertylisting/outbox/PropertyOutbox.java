@@ -0,0 +1,97 @@
+package com.example.propertylisting.outbox;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyChangeFeed;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.model.PropertyOutboxEvent;
+import com.example.propertylisting.repository.PropertyOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Records every local listing change in the {@code property_outbox} table from within the
+ * transaction that makes it, so a change is recorded if and only if it commits. This covers all
+ * write paths (single, bulk, write-behind, import, patch and delete), since they all publish a
+ * {@link PropertyChangedEvent} inside their transaction. {@link PropertyOutboxRelay} numbers and
+ * publishes the recorded events; {@link #read} serves them to consumers tailing the stream.
+ */
+@Component
+public class PropertyOutbox {
+
+    private final boolean enabled;
+    private final PropertyOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public PropertyOutbox(@Value("${app.outbox.enabled:true}") boolean enabled,
+                          PropertyOutboxRepository outboxRepository,
+                          ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Changes replayed from other nodes were recorded by the node that made them.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!enabled || event.isReplicated()) {
+            return;
+        }
+        PropertyResponse after = event.after();
+        outboxRepository.save(PropertyOutboxEvent.builder()
+                .propertyId(event.id())
+                .changeType(event.type())
+                .version(after != null ? after.version() : null)
+                .payload(after != null ? write(after) : null)
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build());
+    }
+
+    /**
+     * Up to {@code limit} published changes with sequence numbers above {@code after}.
+     */
+    @Transactional(readOnly = true)
+    public PropertyChangeFeed read(long after, int limit) {
+        List<PropertyChange> changes = outboxRepository
+                .findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(after, Limit.of(limit)).stream()
+                .map(this::toChange)
+                .toList();
+        return new PropertyChangeFeed(changes, changes.isEmpty() ? after : changes.get(changes.size() - 1).sequence());
+    }
+
+    public PropertyChange toChange(PropertyOutboxEvent event) {
+        return new PropertyChange(event.getSequenceNumber(), event.getChangeType(), event.getPropertyId(),
+                event.getVersion(), event.getCreatedAt(), event.getPayload() != null ? read(event.getPayload()) : null);
+    }
+
+    private String write(PropertyResponse property) {
+        try {
+            return objectMapper.writeValueAsString(property);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PropertyResponse read(String payload) {
+        try {
+            return objectMapper.readValue(payload, PropertyResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.propertylisting.outbox;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.model.PropertyOutboxCursor;
+import com.example.propertylisting.model.PropertyOutboxEvent;
+import com.example.propertylisting.repository.PropertyOutboxCursorRepository;
+import com.example.propertylisting.repository.PropertyOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the outbox to the {@link ChangeSink}. One thread takes up to
+ * {@code app.outbox.batch-size} pending events at a time, oldest first, numbers them after the
+ * last published one and hands them to the sink, all in one transaction that holds the lock on
+ * the outbox cursor. Relays on several nodes therefore take turns and the sequence numbers stay
+ * consecutive. Delivery is at least once: if the sink throws or the commit fails, the batch is
+ * delivered again with the same numbers.
+ *
+ * <p>The relay wakes when a change commits and otherwise polls every
+ * {@code app.outbox.poll-interval}. When idle it deletes events published more than
+ * {@code app.outbox.retention} ago, so consumers must catch up within that time.
+ */
+@Component
+public class PropertyOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyOutboxRelay.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final PropertyOutbox outbox;
+    private final PropertyOutboxRepository outboxRepository;
+    private final PropertyOutboxCursorRepository cursorRepository;
+    private final ChangeSink sink;
+    private final TransactionTemplate transaction;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Thread relay;
+    private final Counter published;
+    private final Timer batches;
+    private volatile boolean running = true;
+    private long lastPurge = System.nanoTime();
+
+    public PropertyOutboxRelay(@Value("${app.outbox.enabled:true}") boolean enabled,
+                               @Value("${app.outbox.batch-size:500}") int batchSize,
+                               @Value("${app.outbox.poll-interval:PT1S}") Duration pollInterval,
+                               @Value("${app.outbox.retention:P7D}") Duration retention,
+                               PropertyOutbox outbox,
+                               PropertyOutboxRepository outboxRepository,
+                               PropertyOutboxCursorRepository cursorRepository,
+                               ChangeSink sink,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.outbox = outbox;
+        this.outboxRepository = outboxRepository;
+        this.cursorRepository = cursorRepository;
+        this.sink = sink;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.relay = new Thread(this::run, "property-outbox-relay");
+        this.relay.setDaemon(true);
+        this.published = Counter.builder("property.outbox.published")
+                .description("Change events published from the outbox")
+                .register(meterRegistry);
+        this.batches = Timer.builder("property.outbox.batch")
+                .description("Time to number and publish one batch of outbox events")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            relay.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeups.release();
+        relay.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (enabled && !event.isReplicated()) {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Publishes the next batch of pending events; returns how many there were.
+     */
+    public int relayBatch() {
+        Integer relayed = batches.record(() -> transaction.execute(status -> {
+            PropertyOutboxCursor cursor = cursorRepository.findForUpdate(PropertyOutboxCursor.ID)
+                    .orElseGet(() -> cursorRepository.save(new PropertyOutboxCursor(PropertyOutboxCursor.ID, 0)));
+            List<PropertyOutboxEvent> events = outboxRepository.findBySequenceNumberIsNullOrderByIdAsc(
+                    Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long sequence = cursor.getLastSequence();
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            for (PropertyOutboxEvent event : events) {
+                event.setSequenceNumber(++sequence);
+                event.setPublishedAt(now);
+            }
+            cursor.setLastSequence(sequence);
+            List<PropertyChange> changes = events.stream().map(outbox::toChange).toList();
+            sink.publish(changes);
+            return changes.size();
+        }));
+        int count = Objects.requireNonNull(relayed);
+        published.increment(count);
+        return count;
+    }
+
+    /**
+     * Deletes the events published before the retention period.
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        return Objects.requireNonNull(transaction.execute(status -> outboxRepository.deletePublishedBefore(cutoff)));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relayBatch() < batchSize) {
+                    purgeIfDue();
+                    wakeups.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                logger.warn("Outbox relay batch failed, retrying in {}: {}", pollInterval, e.getMessage());
+                pause();
+            }
+        }
+    }
+
+    private void purgeIfDue() {
+        if (System.nanoTime() - lastPurge < PURGE_INTERVAL.toNanos()) {
+            return;
+        }
+        lastPurge = System.nanoTime();
+        int purged = purge();
+        if (purged > 0) {
+            logger.info("Deleted {} outbox events published before the retention period", purged);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.dto.PropertySearchCriteria;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A list filter together with what the in-memory indexes resolved for it: the exact stored city
+ * values matching the substring city filter, and the ids inside the geographic area. Either is
+ * {@code null} when it was not resolved; the criteria's own predicate is used instead (the
+ * geographic predicate is kept in any case).
+ */
+public record PropertyFilter(PropertySearchCriteria criteria, Collection<String> cities, Collection<UUID> ids) {
+
+    public static PropertyFilter of(PropertySearchCriteria criteria) {
+        return new PropertyFilter(criteria, null, null);
+    }
+
+    /**
+     * True when a resolved list is empty, so nothing can match.
+     */
+    public boolean isEmpty() {
+        return cities != null && cities.isEmpty() || ids != null && ids.isEmpty();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * The JPQL {@code where} clause for one filter shape: which filters are set and what kind of
+ * geographic area, but not their values. Compiled once per shape; values are bound as parameters,
+ * so every request of a shape sends Hibernate the same query text and reuses its parsed and
+ * translated plan instead of building a criteria query per request.
+ */
+final class PropertyFilterPlan {
+
+    static final String ALIAS = "p";
+
+    private static final int CITY_LIKE = 1;
+    private static final int CITY_IN = 1 << 1;
+    private static final int MIN_PRICE = 1 << 2;
+    private static final int MAX_PRICE = 1 << 3;
+    private static final int TYPES = 1 << 4;
+    private static final int COUNTRIES = 1 << 5;
+    private static final int MIN_BEDROOMS = 1 << 6;
+    private static final int MAX_BEDROOMS = 1 << 7;
+    private static final int MIN_BATHROOMS = 1 << 8;
+    private static final int MAX_BATHROOMS = 1 << 9;
+    private static final int MIN_AREA = 1 << 10;
+    private static final int MAX_AREA = 1 << 11;
+    private static final int BOX = 1 << 12;
+    private static final int BOX_WRAPS = 1 << 13;
+    private static final int RADIUS = 1 << 14;
+    private static final int IDS = 1 << 15;
+
+    private final int shape;
+    private final String where;
+
+    private PropertyFilterPlan(int shape, String where) {
+        this.shape = shape;
+        this.where = where;
+    }
+
+    static int shapeOf(PropertyFilter filter) {
+        PropertySearchCriteria criteria = filter.criteria();
+        int shape = 0;
+        if (criteria.hasCity()) {
+            shape |= filter.cities() != null ? CITY_IN : CITY_LIKE;
+        }
+        shape |= flag(criteria.minPrice(), MIN_PRICE) | flag(criteria.maxPrice(), MAX_PRICE)
+                | flag(criteria.minBedrooms(), MIN_BEDROOMS) | flag(criteria.maxBedrooms(), MAX_BEDROOMS)
+                | flag(criteria.minBathrooms(), MIN_BATHROOMS) | flag(criteria.maxBathrooms(), MAX_BATHROOMS)
+                | flag(criteria.minArea(), MIN_AREA) | flag(criteria.maxArea(), MAX_AREA);
+        if (!criteria.types().isEmpty()) {
+            shape |= TYPES;
+        }
+        if (!criteria.countries().isEmpty()) {
+            shape |= COUNTRIES;
+        }
+        if (criteria.hasArea()) {
+            shape |= BOX;
+            if (criteria.area().bounds().crossesAntimeridian()) {
+                shape |= BOX_WRAPS;
+            }
+            if (criteria.area() instanceof GeoArea.Radius) {
+                shape |= RADIUS;
+            }
+        }
+        if (filter.ids() != null) {
+            shape |= IDS;
+        }
+        return shape;
+    }
+
+    static PropertyFilterPlan compile(int shape) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        String p = ALIAS + ".";
+        when(shape, CITY_LIKE, where, "lower(" + p + "city) like :city");
+        when(shape, CITY_IN, where, p + "city in :cities");
+        when(shape, MIN_PRICE, where, p + "price >= :minPrice");
+        when(shape, MAX_PRICE, where, p + "price <= :maxPrice");
+        when(shape, TYPES, where, p + "type in :types");
+        when(shape, COUNTRIES, where, "lower(" + p + "country) in :countries");
+        when(shape, MIN_BEDROOMS, where, p + "bedrooms >= :minBedrooms");
+        when(shape, MAX_BEDROOMS, where, p + "bedrooms <= :maxBedrooms");
+        when(shape, MIN_BATHROOMS, where, p + "bathrooms >= :minBathrooms");
+        when(shape, MAX_BATHROOMS, where, p + "bathrooms <= :maxBathrooms");
+        when(shape, MIN_AREA, where, p + "area >= :minArea");
+        when(shape, MAX_AREA, where, p + "area <= :maxArea");
+        when(shape, BOX, where, p + "latitude between :south and :north");
+        if ((shape & BOX) != 0) {
+            where.add((shape & BOX_WRAPS) != 0
+                    ? "(" + p + "longitude >= :west or " + p + "longitude <= :east)"
+                    : p + "longitude between :west and :east");
+        }
+        // Same equirectangular distance as PropertySpecifications.within.
+        String dy = "((" + p + "latitude - :centreLatitude) * " + GeoArea.KM_PER_DEGREE + ")";
+        String dx = "((" + p + "longitude - :centreLongitude) * :kmPerLongitudeDegree)";
+        when(shape, RADIUS, where, dy + " * " + dy + " + " + dx + " * " + dx + " <= :radiusSquared");
+        when(shape, IDS, where, p + "id in :ids");
+        return new PropertyFilterPlan(shape, where.toString());
+    }
+
+    /**
+     * The {@code where} clause over alias {@value #ALIAS}, empty when nothing is filtered.
+     */
+    String where() {
+        return where;
+    }
+
+    void bind(Query query, PropertyFilter filter) {
+        PropertySearchCriteria criteria = filter.criteria();
+        if (has(CITY_LIKE)) {
+            query.setParameter("city", "%" + criteria.city().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (has(CITY_IN)) {
+            query.setParameter("cities", filter.cities());
+        }
+        if (has(MIN_PRICE)) {
+            query.setParameter("minPrice", BigDecimal.valueOf(criteria.minPrice()));
+        }
+        if (has(MAX_PRICE)) {
+            query.setParameter("maxPrice", BigDecimal.valueOf(criteria.maxPrice()));
+        }
+        if (has(TYPES)) {
+            query.setParameter("types", criteria.types());
+        }
+        if (has(COUNTRIES)) {
+            query.setParameter("countries", criteria.countries());
+        }
+        if (has(MIN_BEDROOMS)) {
+            query.setParameter("minBedrooms", criteria.minBedrooms());
+        }
+        if (has(MAX_BEDROOMS)) {
+            query.setParameter("maxBedrooms", criteria.maxBedrooms());
+        }
+        if (has(MIN_BATHROOMS)) {
+            query.setParameter("minBathrooms", criteria.minBathrooms());
+        }
+        if (has(MAX_BATHROOMS)) {
+            query.setParameter("maxBathrooms", criteria.maxBathrooms());
+        }
+        if (has(MIN_AREA)) {
+            query.setParameter("minArea", criteria.minArea());
+        }
+        if (has(MAX_AREA)) {
+            query.setParameter("maxArea", criteria.maxArea());
+        }
+        if (has(BOX)) {
+            GeoArea.BoundingBox box = criteria.area().bounds();
+            query.setParameter("south", box.south());
+            query.setParameter("north", box.north());
+            query.setParameter("west", box.west());
+            query.setParameter("east", box.east());
+        }
+        if (has(RADIUS)) {
+            GeoArea.Radius radius = (GeoArea.Radius) criteria.area();
+            query.setParameter("centreLatitude", radius.latitude());
+            query.setParameter("centreLongitude", radius.longitude());
+            query.setParameter("kmPerLongitudeDegree", radius.kmPerLongitudeDegree());
+            query.setParameter("radiusSquared", radius.radiusKm() * radius.radiusKm());
+        }
+        if (has(IDS)) {
+            query.setParameter("ids", filter.ids());
+        }
+    }
+
+    private boolean has(int flag) {
+        return (shape & flag) != 0;
+    }
+
+    private static int flag(Object value, int flag) {
+        return value != null ? flag : 0;
+    }
+
+    private static void when(int shape, int flag, StringJoiner where, String predicate) {
+        if ((shape & flag) != 0) {
+            where.add(predicate);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.model.PropertyOutboxCursor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PropertyOutboxCursorRepository extends JpaRepository<PropertyOutboxCursor, Integer> {
+
+    /**
+     * Reads the cursor and holds a row lock on it until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from PropertyOutboxCursor c where c.id = :id")
+    Optional<PropertyOutboxCursor> findForUpdate(@Param("id") int id);
+}
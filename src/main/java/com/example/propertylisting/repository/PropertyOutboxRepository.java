@@ -0,0 +1,36 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.model.PropertyOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PropertyOutboxRepository extends JpaRepository<PropertyOutboxEvent, Long> {
+
+    /**
+     * Events not published yet, oldest first.
+     */
+    List<PropertyOutboxEvent> findBySequenceNumberIsNullOrderByIdAsc(Limit limit);
+
+    List<PropertyOutboxEvent> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(long after, Limit limit);
+
+    long countBySequenceNumberGreaterThan(long after);
+
+    /**
+     * Events numbered after {@code after} and events not numbered yet, in no particular order.
+     */
+    @Query("select e from PropertyOutboxEvent e where e.sequenceNumber > :after or e.sequenceNumber is null")
+    Stream<PropertyOutboxEvent> streamChangesAfter(@Param("after") long after);
+
+    @Modifying
+    @Query("delete from PropertyOutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
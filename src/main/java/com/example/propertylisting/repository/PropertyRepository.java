@@ -1,13 +1,60 @@
 package com.example.propertylisting.repository;
 
 import com.example.propertylisting.model.Property;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property> {
-    // Custom query methods can be added here if needed
+public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property>,
+        PropertyRepositoryCustom {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Property p")
+    Stream<Property> streamAll();
+
+    @Query("select p.id from Property p where p.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select p.version from Property p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // Single statements: the row count tells whether the listings existed, and nothing is loaded.
+    @Modifying
+    @Query("delete from Property p where p.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("update Property p set p.active = false, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id in :ids and p.active = true")
+    int deactivateAllByIdIn(@Param("ids") Collection<UUID> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Native, as the entity's restriction to active rows would leave out every row these are for.
+    @Query(value = "select * from properties where active = false order by updated_at desc, id",
+            countQuery = "select count(*) from properties where active = false",
+            nativeQuery = true)
+    Page<Property> findInactive(Pageable pageable);
+
+    @Modifying
+    @Query(value = "update properties set active = true, updated_at = :updatedAt, version = version + 1 "
+            + "where id = :id and active = false", nativeQuery = true)
+    int reactivate(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,73 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyPatchRequest;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface PropertyRepositoryCustom {
+
+    /**
+     * One grouped query over the rows matching {@code spec}: tuples of
+     * (type, price bucket index, bedrooms, count), where bucket {@code i} is below {@code priceBounds[i]}.
+     */
+    List<Tuple> countFacets(Specification<Property> spec, double[] priceBounds);
+
+    /**
+     * One grouped query over the rows matching {@code spec}, bucketed into cells of
+     * {@code cellWidth} x {@code cellHeight} degrees from the viewport's south-west corner: tuples of
+     * (column, row, count, latitude sum, sum of longitude offsets east of {@code viewport.west()}).
+     */
+    List<Tuple> countClusters(Specification<Property> spec, BoundingBox viewport, double cellWidth, double cellHeight);
+
+    /**
+     * The rows matching {@code spec} as responses, reading at most {@code excerptLength + 1}
+     * characters of the description instead of the whole column; see {@link PropertyResponse#excerpt}.
+     */
+    Page<PropertyResponse> findSummaries(Specification<Property> spec, Pageable pageable, int excerptLength);
+
+    /**
+     * Like {@link #findSummaries(Specification, Pageable, int)}, for the first {@code limit} rows in
+     * {@code sort} order and without a count query.
+     */
+    List<PropertyResponse> findSummaries(Specification<Property> spec, Sort sort, int limit, int excerptLength);
+
+    /**
+     * The rows matching {@code filter} as responses, for the list endpoint. Runs a JPQL query compiled
+     * once per filter shape instead of a criteria query built per call; the {@link ListingView#SUMMARY}
+     * view reads only a description excerpt, as {@link #findSummaries(Specification, Pageable, int)}.
+     */
+    Page<PropertyResponse> findMatching(PropertyFilter filter, Pageable pageable, ListingView view, int excerptLength);
+
+    /**
+     * The ids of up to {@code limit} rows matching {@code filter}, in no particular order.
+     */
+    List<UUID> findIds(PropertyFilter filter, int limit);
+
+    /**
+     * Every row matching {@code filter}, with its full description, read through a forward-only
+     * cursor that fetches {@code fetchSize} rows at a time. Rows are read as projections, so none
+     * become managed entities and memory does not grow with the result. Unordered. The stream must
+     * be consumed and closed inside the caller's transaction.
+     */
+    Stream<PropertyResponse> streamMatching(PropertyFilter filter, int fetchSize);
+
+    /**
+     * One UPDATE of the columns {@code patch} sets, plus {@code updatedAt} and the version, on the
+     * listing {@code id} if it is at {@code version}, or at any version when that is null. Returns
+     * the number of rows updated: 0 when the listing is gone or at another version. Entities
+     * already loaded are not refreshed.
+     */
+    int patch(UUID id, Long version, PropertyPatchRequest patch, LocalDateTime updatedAt);
+}
@@ -0,0 +1,292 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyPatchRequest;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.Property.PropertyType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
+
+    private static final String SUMMARY_COLUMNS = "p.id, p.title, %s, p.price, p.address, p.city, p.country, "
+            + "p.latitude, p.longitude, p.bedrooms, p.bathrooms, p.area, p.type, p.createdAt, p.updatedAt, p.active, p.version";
+    private static final Set<String> SORTABLE = Set.of("id", "title", "price", "address", "city", "country",
+            "latitude", "longitude", "bedrooms", "bathrooms", "area", "type", "createdAt", "updatedAt", "active");
+
+    private final EntityManager entityManager;
+    private final Map<Integer, PropertyFilterPlan> plans = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tuple> countFacets(Specification<Property> spec, double[] priceBounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Property> root = query.from(Property.class);
+
+        // Bounds are rendered as literals so the CASE in the select list and the GROUP BY match.
+        Expression<Integer> bucket = cb.literal(0);
+        if (priceBounds.length > 0) {
+            CriteriaBuilder.Case<Integer> bucketCase = cb.selectCase();
+            for (int i = 0; i < priceBounds.length; i++) {
+                bucketCase = bucketCase.when(
+                        cb.lessThan(root.get("price"), cb.literal(BigDecimal.valueOf(priceBounds[i]))), cb.literal(i));
+            }
+            bucket = bucketCase.otherwise(cb.literal(priceBounds.length));
+        }
+
+        query.multiselect(root.get("type"), bucket, root.get("bedrooms"), cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("type"), bucket, root.get("bedrooms"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tuple> countClusters(Specification<Property> spec, BoundingBox viewport,
+                                     double cellWidth, double cellHeight) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Property> root = query.from(Property.class);
+        Expression<Double> latitude = root.get("latitude");
+        Expression<Double> longitude = root.get("longitude");
+
+        // Literals again, so the grouped expressions render identically in SELECT and GROUP BY. Both
+        // axes are shifted to start at zero first: a negative literal would render as "x--76.0".
+        Expression<Double> shiftedLongitude = cb.sum(longitude, cb.literal(180.0));
+        Expression<Double> offset = cb.diff(shiftedLongitude, cb.literal(viewport.west() + 180));
+        if (viewport.crossesAntimeridian()) {
+            offset = cb.<Double>selectCase()
+                    .when(cb.lessThan(shiftedLongitude, cb.literal(viewport.west() + 180)),
+                            cb.sum(offset, cb.literal(360.0)))
+                    .otherwise(offset);
+        }
+        Expression<Double> latitudeOffset = cb.diff(cb.sum(latitude, cb.literal(90.0)),
+                cb.literal(viewport.south() + 90));
+        Expression<Double> column = cb.function("floor", Double.class, cb.quot(offset, cb.literal(cellWidth)));
+        Expression<Double> row = cb.function("floor", Double.class, cb.quot(latitudeOffset, cb.literal(cellHeight)));
+
+        query.multiselect(column, row, cb.count(root), cb.sum(latitude), cb.sum(offset));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(column, row);
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PropertyResponse> findSummaries(Specification<Property> spec, Pageable pageable, int excerptLength) {
+        TypedQuery<Tuple> query = summaryQuery(spec, pageable.getSort(), excerptLength);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<PropertyResponse> content = toSummaries(query.getResultList(), excerptLength);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyResponse> findSummaries(Specification<Property> spec, Sort sort, int limit, int excerptLength) {
+        return toSummaries(summaryQuery(spec, sort, excerptLength).setMaxResults(limit).getResultList(), excerptLength);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PropertyResponse> findMatching(PropertyFilter filter, Pageable pageable, ListingView view,
+                                               int excerptLength) {
+        if (filter.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        PropertyFilterPlan plan = plans.computeIfAbsent(PropertyFilterPlan.shapeOf(filter), PropertyFilterPlan::compile);
+        boolean full = view == ListingView.FULL;
+        // One extra character tells the excerpt whether the text was cut. The length is configuration,
+        // so inlining it does not multiply the distinct query texts.
+        String description = full ? "p.description"
+                : excerptLength > 0 ? "substring(p.description, 1, " + (excerptLength + 1) + ")" : "cast(null as String)";
+        String jpql = "select " + SUMMARY_COLUMNS.formatted(description) + " from Property p" + plan.where()
+                + orderBy(pageable.getSort());
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        plan.bind(query, filter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<PropertyResponse> content = toSummaries(query.getResultList(), full ? -1 : excerptLength);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("select count(p) from Property p" + plan.where(), Long.class);
+            plan.bind(count, filter);
+            return count.getSingleResult();
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findIds(PropertyFilter filter, int limit) {
+        if (filter.isEmpty()) {
+            return List.of();
+        }
+        PropertyFilterPlan plan = plans.computeIfAbsent(PropertyFilterPlan.shapeOf(filter), PropertyFilterPlan::compile);
+        TypedQuery<UUID> query = entityManager.createQuery("select p.id from Property p" + plan.where(), UUID.class);
+        plan.bind(query, filter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<PropertyResponse> streamMatching(PropertyFilter filter, int fetchSize) {
+        if (filter.isEmpty()) {
+            return Stream.empty();
+        }
+        PropertyFilterPlan plan = plans.computeIfAbsent(PropertyFilterPlan.shapeOf(filter), PropertyFilterPlan::compile);
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + SUMMARY_COLUMNS.formatted("p.description") + " from Property p" + plan.where(), Tuple.class);
+        plan.bind(query, filter);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        return query.getResultStream().map(row -> toSummary(row, -1));
+    }
+
+    @Override
+    @Transactional
+    public int patch(UUID id, Long version, PropertyPatchRequest patch, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Property> update = cb.createCriteriaUpdate(Property.class);
+        Root<Property> root = update.from(Property.class);
+        set(update, "title", patch.title());
+        set(update, "description", patch.description());
+        set(update, "price", patch.price());
+        set(update, "address", patch.address());
+        set(update, "city", patch.city());
+        set(update, "country", patch.country());
+        set(update, "latitude", patch.latitude());
+        set(update, "longitude", patch.longitude());
+        set(update, "bedrooms", patch.bedrooms());
+        set(update, "bathrooms", patch.bathrooms());
+        set(update, "area", patch.area());
+        set(update, "type", patch.type());
+        update.set("updatedAt", updatedAt);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(version != null
+                ? cb.and(cb.equal(root.get("id"), id), cb.equal(root.get("version"), version))
+                : cb.equal(root.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static void set(CriteriaUpdate<Property> update, String attribute, Object value) {
+        if (value != null) {
+            update.set(attribute, value);
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by " + order.getProperty());
+            }
+            String path = "p." + order.getProperty();
+            orderBy.append(order.isIgnoreCase() ? "lower(" + path + ")" : path)
+                    .append(order.isAscending() ? " asc, " : " desc, ");
+        }
+        return orderBy.substring(0, orderBy.length() - 2);
+    }
+
+    private TypedQuery<Tuple> summaryQuery(Specification<Property> spec, Sort sort, int excerptLength) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Property> root = query.from(Property.class);
+
+        // One extra character tells the excerpt whether the text was cut.
+        Expression<String> description = excerptLength > 0
+                ? cb.substring(root.get("description"), 1, excerptLength + 1)
+                : cb.nullLiteral(String.class);
+        query.multiselect(root.get("id"), root.get("title"), description, root.get("price"), root.get("address"),
+                root.get("city"), root.get("country"), root.get("latitude"), root.get("longitude"),
+                root.get("bedrooms"), root.get("bathrooms"), root.get("area"), root.get("type"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("active"), root.get("version"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Property> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Property> root = query.from(Property.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<PropertyResponse> toSummaries(List<Tuple> rows, int excerptLength) {
+        return rows.stream().map(row -> toSummary(row, excerptLength)).toList();
+    }
+
+    // A negative excerpt length keeps the description as read.
+    private static PropertyResponse toSummary(Tuple row, int excerptLength) {
+        return new PropertyResponse(
+                row.get(0, UUID.class),
+                row.get(1, String.class),
+                excerptLength < 0 ? row.get(2, String.class)
+                        : PropertyResponse.excerpt(row.get(2, String.class), excerptLength),
+                row.get(3, BigDecimal.class),
+                row.get(4, String.class),
+                row.get(5, String.class),
+                row.get(6, String.class),
+                row.get(7, Double.class),
+                row.get(8, Double.class),
+                row.get(9, Integer.class),
+                row.get(10, Integer.class),
+                row.get(11, Double.class),
+                row.get(12, PropertyType.class),
+                row.get(13, LocalDateTime.class),
+                row.get(14, LocalDateTime.class),
+                row.get(15, Boolean.class),
+                row.get(16, Long.class));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.model.SavedSearch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, UUID> {
+
+    List<SavedSearch> findByOwnerEmailOrderByCreatedAtDesc(String ownerEmail);
+
+    Optional<SavedSearch> findByIdAndOwnerEmail(UUID id, String ownerEmail);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from SavedSearch s")
+    Stream<SavedSearch> streamAll();
+}
@@ -36,6 +36,10 @@ public class SecurityConfig {
                     auth
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/properties/writes/**").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/properties/changes").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/properties/export").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/properties/deleted").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/properties/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/swagger-ui.html").permitAll()
@@ -0,0 +1,37 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A listing as the JSON body of the detail endpoint, encoded once, and gzipped too when it is at
+ * least {@code gzipMinSize} bytes; {@code gzip} is null otherwise.
+ */
+public record EncodedProperty(Long version, byte[] json, byte[] gzip) {
+
+    static EncodedProperty encode(PropertyResponse property, ObjectMapper objectMapper, int gzipMinSize) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(property);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new EncodedProperty(property.version(), json, json.length >= gzipMinSize ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.BulkPropertyResponse;
+import com.example.propertylisting.dto.BulkPropertyResponse.Item;
+import com.example.propertylisting.dto.BulkPropertyResponse.Status;
+import com.example.propertylisting.dto.PropertyBulkDeleteRequest;
+import com.example.propertylisting.dto.PropertyBulkDeleteResponse;
+import com.example.propertylisting.dto.PropertyRequest;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.repository.PropertyFilter;
+import com.example.propertylisting.repository.PropertyRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create and update of listings from a JSON array or a stream of JSON objects (NDJSON).
+ *
+ * <p>The body is parsed one item at a time. An item is a {@link PropertyRequest}; with an
+ * {@code id} it updates that listing, without one it creates a listing. Items that do not bind or
+ * validate are rejected without touching the database. The rest are written in chunks of
+ * {@code app.bulk.chunk-size}, one transaction per chunk: the listings to update are loaded with
+ * one query, and the inserts and updates go out as JDBC batches on flush. If the database refuses
+ * a chunk, its items are retried one per transaction so that only the offending ones fail.
+ *
+ * <p>Every written item publishes its own {@link PropertyChangedEvent}, so caches and indexes
+ * follow as they do for single writes. Parsing stops at malformed JSON; that item is reported as
+ * rejected and the chunks before it stay committed.
+ *
+ * <p>The response counts every item but lists only those that were rejected or failed, at most
+ * {@code app.bulk.max-reported-items} of them, so its size does not grow with the request.
+ */
+@Service
+@RequiredArgsConstructor
+public class PropertyBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyBulkService.class);
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.bulk.max-reported-items:1000}")
+    private int maxReportedItems;
+
+    @Value("${app.delete.soft:false}")
+    private boolean softDelete;
+
+    public BulkPropertyResponse upsert(InputStream body) {
+        Tally tally = new Tally(maxReportedItems);
+        List<Item> rejected = new ArrayList<>(1);
+        List<Pending> chunk = new ArrayList<>();
+        int index = 0;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                JsonNode node = parser.readValueAsTree();
+                Pending item = bind(index++, node, rejected);
+                if (item != null) {
+                    chunk.add(item);
+                }
+                rejected.forEach(tally::add);
+                rejected.clear();
+                if (chunk.size() >= chunkSize) {
+                    write(chunk).forEach(tally::add);
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            tally.add(Item.rejected(index, null, List.of("Malformed JSON: " + e.getOriginalMessage())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        write(chunk).forEach(tally::add);
+        return tally.toResponse();
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Binds and validates one item. Returns the item ready to write, or {@code null} after adding
+     * the reason it was rejected to {@code results}.
+     */
+    public Pending bind(int index, JsonNode node, List<Item> results) {
+        if (!(node instanceof ObjectNode object)) {
+            results.add(Item.rejected(index, null, List.of("Item must be a JSON object")));
+            return null;
+        }
+        UUID id = null;
+        JsonNode idNode = object.remove("id");
+        if (idNode != null && !idNode.isNull()) {
+            try {
+                id = UUID.fromString(idNode.asText());
+            } catch (IllegalArgumentException e) {
+                results.add(Item.rejected(index, null, List.of("id: must be a UUID")));
+                return null;
+            }
+        }
+
+        PropertyRequest request;
+        try {
+            request = objectMapper.treeToValue(object, PropertyRequest.class);
+        } catch (JsonProcessingException e) {
+            results.add(Item.rejected(index, id, List.of(describe(e))));
+            return null;
+        }
+        List<String> errors = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+        if (!errors.isEmpty()) {
+            results.add(Item.rejected(index, id, errors));
+            return null;
+        }
+        return new Pending(index, id, request);
+    }
+
+    /**
+     * Writes the items in one transaction, or one transaction per item if the database refuses
+     * them together. Returns a result per item.
+     */
+    public List<Item> write(List<Pending> chunk) {
+        List<Item> results = new ArrayList<>(chunk.size());
+        write(new TransactionTemplate(transactionManager), chunk, results);
+        return results;
+    }
+
+    private void write(TransactionTemplate transaction, List<Pending> chunk, List<Item> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            results.addAll(Objects.requireNonNull(transaction.execute(status -> writeChunk(chunk))));
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.size() > 1) {
+                logger.warn("Bulk write of {} properties failed, retrying them one by one: {}",
+                        chunk.size(), message(e));
+                chunk.forEach(item -> write(transaction, List.of(item), results));
+                return;
+            }
+            Pending item = chunk.get(0);
+            results.add(Item.failed(item.index(), item.id(), message(e)));
+        }
+    }
+
+    private List<Item> writeChunk(List<Pending> chunk) {
+        Set<UUID> ids = chunk.stream().map(Pending::id).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, Property> existing = ids.isEmpty() ? Map.of() : propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+
+        List<Item> results = new ArrayList<>(chunk.size());
+        List<Property> created = new ArrayList<>();
+        List<Written> written = new ArrayList<>(chunk.size());
+        for (Pending item : chunk) {
+            if (item.id() == null) {
+                Property property = propertyMapper.toEntity(item.request());
+                created.add(property);
+                written.add(new Written(item.index(), property, null));
+                continue;
+            }
+            Property property = existing.get(item.id());
+            if (property == null) {
+                results.add(Item.rejected(item.index(), item.id(),
+                        List.of("Property not found with id: " + item.id())));
+                continue;
+            }
+            PropertyResponse before = propertyMapper.toResponse(property);
+            propertyMapper.updateEntity(item.request(), property);
+            written.add(new Written(item.index(), property, before));
+        }
+
+        // New entities have no id, so they are persisted rather than merged and get their UUID in
+        // memory: no per-row select or key round-trip interrupts the insert batches.
+        propertyRepository.saveAll(created);
+        // Flushing sends the batches and stamps createdAt/updatedAt before the events are built.
+        propertyRepository.flush();
+
+        for (Written item : written) {
+            PropertyResponse after = propertyMapper.toResponse(item.property());
+            if (item.before() == null) {
+                eventPublisher.publishEvent(PropertyChangedEvent.created(after));
+                results.add(Item.written(item.index(), Status.CREATED, after.id()));
+            } else {
+                eventPublisher.publishEvent(PropertyChangedEvent.updated(item.before(), after));
+                results.add(Item.written(item.index(), Status.UPDATED, after.id()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Deletes the listings with the given ids or matching the filter, or deactivates them when
+     * {@code app.delete.soft} is set. Works in chunks of {@code app.bulk.chunk-size}, one
+     * transaction each: one query finds the ids of the chunk, one statement removes them all.
+     * Nothing is loaded, so the change events carry no previous state.
+     */
+    public PropertyBulkDeleteResponse delete(PropertyBulkDeleteRequest request) {
+        if ((request.ids() == null) == (request.filter() == null)) {
+            throw new BadRequestException("Give either ids or a filter");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long deleted = 0;
+        List<UUID> notFound = new ArrayList<>();
+        if (request.ids() != null) {
+            List<UUID> ids = List.copyOf(new LinkedHashSet<>(request.ids()));
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                List<UUID> existing = transaction.execute(status -> {
+                    List<UUID> found = propertyRepository.findExistingIds(chunk);
+                    remove(found);
+                    return found;
+                });
+                deleted += existing.size();
+                Set<UUID> found = Set.copyOf(existing);
+                chunk.stream().filter(id -> !found.contains(id)).forEach(notFound::add);
+            }
+            return new PropertyBulkDeleteResponse(deleted, notFound);
+        }
+
+        PropertySearchCriteria criteria = request.filter().toCriteria();
+        if (!criteria.hasAttributeFilters()) {
+            throw new BadRequestException("The filter must set at least one attribute");
+        }
+        PropertyFilter filter = PropertyFilter.of(criteria);
+        Round round;
+        do {
+            // Removed rows no longer match, so each round takes the next chunk. A full chunk may
+            // remove fewer rows when another delete got to some first, so it is the lookup that
+            // tells when nothing is left.
+            round = Objects.requireNonNull(transaction.execute(status -> {
+                List<UUID> ids = propertyRepository.findIds(filter, chunkSize);
+                return new Round(ids.size(), remove(ids));
+            }));
+            deleted += round.removed();
+        } while (round.found() == chunkSize);
+        return new PropertyBulkDeleteResponse(deleted, notFound);
+    }
+
+    private int remove(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int removed = softDelete
+                ? propertyRepository.deactivateAllByIdIn(ids, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                : propertyRepository.deleteAllByIdIn(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(PropertyChangedEvent.deleted(id, null)));
+        return removed;
+    }
+
+    private static String describe(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            String field = mapping.getPath().stream()
+                    .map(JsonMappingException.Reference::getFieldName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining("."));
+            if (!field.isEmpty()) {
+                return field + ": invalid value";
+            }
+        }
+        return e.getOriginalMessage();
+    }
+
+    private static String message(NestedRuntimeException e) {
+        return e.getMostSpecificCause().getMessage();
+    }
+
+    /**
+     * A bound and validated item: updates listing {@code id}, or creates one when it is null.
+     */
+    public record Pending(int index, UUID id, PropertyRequest request) {
+    }
+
+    private record Written(int index, Property property, PropertyResponse before) {
+    }
+
+    private record Round(int found, int removed) {
+    }
+
+    /**
+     * Counts results by status and keeps the first {@code limit} items that were not written.
+     */
+    private static final class Tally {
+
+        private final int[] counts = new int[Status.values().length];
+        private final List<Item> unwritten = new ArrayList<>();
+        private final int limit;
+
+        Tally(int limit) {
+            this.limit = limit;
+        }
+
+        void add(Item item) {
+            counts[item.status().ordinal()]++;
+            boolean written = item.status() == Status.CREATED || item.status() == Status.UPDATED;
+            if (!written && unwritten.size() < limit) {
+                unwritten.add(item);
+            }
+        }
+
+        BulkPropertyResponse toResponse() {
+            unwritten.sort(Comparator.comparingInt(Item::index));
+            return new BulkPropertyResponse(counts[Status.CREATED.ordinal()], counts[Status.UPDATED.ordinal()],
+                    counts[Status.REJECTED.ordinal()], counts[Status.FAILED.ordinal()], unwritten);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.PropertyCluster;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.index.CityTrigramIndex;
+import com.example.propertylisting.index.ClusterCounts;
+import com.example.propertylisting.index.GeoGridIndex;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyRepository;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Server-side clustering for zoomed-out map views: listings in the viewport are grouped into a
+ * grid of roughly square cells, returning one centroid and count per non-empty cell.
+ */
+@Service
+@RequiredArgsConstructor
+public class PropertyClusterService {
+
+    private final PropertyRepository propertyRepository;
+    private final GeoGridIndex geoIndex;
+    private final CityTrigramIndex cityIndex;
+
+    /**
+     * @param criteria filters whose {@code area} is the viewport
+     */
+    public List<PropertyCluster> getClusters(PropertySearchCriteria criteria, int columns) {
+        BoundingBox viewport = criteria.area().bounds();
+        if (geoIndex.isReady()) {
+            return geoIndex.clusters(viewport, columns, criteria);
+        }
+
+        ClusterCounts clusters = new ClusterCounts(viewport, columns);
+        Specification<Property> spec = PropertySpecifications.matching(criteria, cityIndex::resolve);
+        for (Tuple row : propertyRepository.countClusters(spec, viewport, clusters.cellWidth(), clusters.cellHeight())) {
+            int bucket = clusters.bucket(row.get(0, Number.class).intValue(), row.get(1, Number.class).intValue());
+            clusters.add(bucket, row.get(2, Long.class),
+                    row.get(3, Number.class).doubleValue(), row.get(4, Number.class).doubleValue());
+        }
+        return clusters.clusters();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.model.Property;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Position in a keyset walk: the sort key and id of the last row returned. Clients only ever see
+ * it as an opaque URL-safe token.
+ */
+public record PropertyCursor(String property, Sort.Direction direction, Comparable<?> value, UUID id) {
+
+    private static final byte VERSION = 1;
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "price", "title", "createdAt", "updatedAt");
+
+    /**
+     * The single order a keyset walk runs on; the id is always appended as tiebreaker.
+     */
+    public static Sort.Order keysetOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc("id");
+        }
+        if (sort.stream().count() > 1) {
+            throw new BadRequestException("Cursor pagination supports a single sort property");
+        }
+        Sort.Order order = sort.iterator().next();
+        if (!KEYSET_PROPERTIES.contains(order.getProperty())) {
+            throw new BadRequestException("Cursor pagination cannot sort by " + order.getProperty()
+                    + "; supported: " + KEYSET_PROPERTIES);
+        }
+        return order;
+    }
+
+    public static Sort keysetSort(Sort.Order order) {
+        Sort sort = Sort.by(order.getDirection(), order.getProperty());
+        return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+
+    public static PropertyCursor of(Property last, Sort.Order order) {
+        Comparable<?> value = switch (order.getProperty()) {
+            case "price" -> last.getPrice();
+            case "title" -> last.getTitle();
+            case "createdAt" -> last.getCreatedAt();
+            case "updatedAt" -> last.getUpdatedAt();
+            default -> last.getId();
+        };
+        return new PropertyCursor(order.getProperty(), order.getDirection(), value, last.getId());
+    }
+
+    public static PropertyCursor of(PropertyResponse last, Sort.Order order) {
+        Comparable<?> value = switch (order.getProperty()) {
+            case "price" -> last.price();
+            case "title" -> last.title();
+            case "createdAt" -> last.createdAt();
+            case "updatedAt" -> last.updatedAt();
+            default -> last.id();
+        };
+        return new PropertyCursor(order.getProperty(), order.getDirection(), value, last.id());
+    }
+
+    public boolean isFor(Sort.Order order) {
+        return property.equals(order.getProperty()) && direction == order.getDirection();
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(property);
+            out.writeBoolean(direction.isDescending());
+            out.writeUTF(value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value));
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static PropertyCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new BadRequestException("Unsupported cursor version");
+            }
+            String property = in.readUTF();
+            if (!KEYSET_PROPERTIES.contains(property)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            Sort.Direction direction = in.readBoolean() ? Sort.Direction.DESC : Sort.Direction.ASC;
+            String rawValue = in.readUTF();
+            UUID id = new UUID(in.readLong(), in.readLong());
+            Comparable<?> value = switch (property) {
+                case "price" -> new BigDecimal(rawValue);
+                case "title" -> rawValue;
+                case "createdAt", "updatedAt" -> LocalDateTime.parse(rawValue);
+                default -> id;
+            };
+            return new PropertyCursor(property, direction, value, id);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Near-cache of single listings for the detail endpoint. Loads go through Caffeine's per-key
+ * computation, so an eviction for a listing waits for an in-flight load of it and then removes
+ * whatever that load stored. Missing listings are not cached.
+ *
+ * <p>A second, smaller cache keeps the most requested listings as encoded JSON (and gzip), so a
+ * hit skips mapping and serialization. It is filled from the first one and evicted after it, so
+ * an encoding never outlives the listing it was made from.
+ */
+@Component
+public class PropertyDetailCache {
+
+    private final boolean enabled;
+    private final int gzipMinSize;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, PropertyResponse> cache;
+    private final Cache<UUID, EncodedProperty> encoded;
+
+    public PropertyDetailCache(@Value("${app.detail-cache.enabled:true}") boolean enabled,
+                               @Value("${app.detail-cache.max-size:50000}") long maxSize,
+                               @Value("${app.detail-cache.ttl:PT10M}") Duration ttl,
+                               @Value("${app.detail-cache.encoded.max-size:5000}") long encodedMaxSize,
+                               @Value("${app.detail-cache.encoded.gzip-min-size:512}") int gzipMinSize,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.gzipMinSize = gzipMinSize;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.encoded = Caffeine.newBuilder()
+                .maximumSize(encodedMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "propertyDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, encoded, "propertyDetailsEncoded");
+    }
+
+    public PropertyResponse get(UUID id, Function<UUID, PropertyResponse> loader) {
+        return enabled ? cache.get(id, loader) : loader.apply(id);
+    }
+
+    /**
+     * The listing encoded as the detail endpoint's JSON body, loaded through {@link #get} on a miss.
+     */
+    public EncodedProperty getEncoded(UUID id, Function<UUID, PropertyResponse> loader) {
+        if (!enabled) {
+            return EncodedProperty.encode(loader.apply(id), objectMapper, gzipMinSize);
+        }
+        return encoded.get(id, key -> EncodedProperty.encode(get(key, loader), objectMapper, gzipMinSize));
+    }
+
+    /**
+     * The cached listing, if any, without loading it.
+     */
+    public PropertyResponse peek(UUID id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.type() != PropertyChangedEvent.ChangeType.CREATED) {
+            // In this order: an encoding being made from the old entry is discarded when it lands.
+            cache.invalidate(event.id());
+            encoded.invalidate(event.id());
+        }
+    }
+}
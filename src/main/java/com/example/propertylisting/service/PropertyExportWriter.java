@@ -0,0 +1,130 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.ExportFormat;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes exported listings onto a stream one at a time, so an export holds one row in memory
+ * plus a write buffer. CSV fields follow RFC 4180, quoted only when they contain a comma, quote
+ * or line break; null values are empty fields. Closing flushes the buffer but leaves the
+ * underlying stream open.
+ */
+public abstract class PropertyExportWriter implements Closeable {
+
+    static final String CSV_HEADER = "id,title,description,price,address,city,country,latitude,longitude,"
+            + "bedrooms,bathrooms,area,type,createdAt,updatedAt,active,version";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static PropertyExportWriter create(ExportFormat format, ObjectMapper objectMapper, OutputStream out) {
+        return format == ExportFormat.CSV ? new Csv(out) : new Ndjson(objectMapper, out);
+    }
+
+    public void write(PropertyResponse property) {
+        try {
+            encode(property);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void encode(PropertyResponse property) throws IOException;
+
+    private static final class Csv extends PropertyExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            try {
+                writer.write(CSV_HEADER + "\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void encode(PropertyResponse p) throws IOException {
+            writer.write(p.id().toString());
+            field(p.title());
+            field(p.description());
+            field(p.price() != null ? p.price().toPlainString() : null);
+            field(p.address());
+            field(p.city());
+            field(p.country());
+            field(p.latitude());
+            field(p.longitude());
+            field(p.bedrooms());
+            field(p.bathrooms());
+            field(p.area());
+            field(p.type());
+            field(p.createdAt());
+            field(p.updatedAt());
+            field(p.active());
+            field(p.version());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void field(Object value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class Ndjson extends PropertyExportWriter {
+
+        private final ObjectWriter objectWriter;
+        private final JsonGenerator generator;
+
+        Ndjson(ObjectMapper objectMapper, OutputStream out) {
+            this.objectWriter = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("");
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void encode(PropertyResponse property) throws IOException {
+            objectWriter.writeValue(generator, property);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.cache.ListingQueryCache;
+import com.example.propertylisting.dto.PropertyFacetsResponse;
+import com.example.propertylisting.dto.PropertyFacetsResponse.PriceBucket;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.index.CityTrigramIndex;
+import com.example.propertylisting.index.ColumnarListingIndex;
+import com.example.propertylisting.index.FacetCounts;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Facet counts (type, price bucket, bedrooms) for a search filter, computed in a single pass: one
+ * scan of the columnar index when it is loaded, otherwise one grouped query. Results are cached per
+ * filter and evicted when a committed change could alter them.
+ */
+@Service
+public class PropertyFacetService {
+
+    private final PropertyRepository propertyRepository;
+    private final ColumnarListingIndex listingIndex;
+    private final CityTrigramIndex cityIndex;
+    private final double[] priceBounds;
+    private final ListingQueryCache<PropertySearchCriteria, PropertyFacetsResponse> cache;
+
+    public PropertyFacetService(PropertyRepository propertyRepository,
+                                ColumnarListingIndex listingIndex,
+                                CityTrigramIndex cityIndex,
+                                @Value("${app.facets.price-buckets:100000,250000,500000,1000000}") double[] priceBounds,
+                                @Value("${app.facets.cache.max-size:1000}") long maxSize,
+                                @Value("${app.facets.cache.ttl:PT10M}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.propertyRepository = propertyRepository;
+        this.listingIndex = listingIndex;
+        this.cityIndex = cityIndex;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.cache = new ListingQueryCache<>("propertyFacets", maxSize, ttl, Function.identity(), meterRegistry);
+    }
+
+    public PropertyFacetsResponse getFacets(PropertySearchCriteria criteria) {
+        return cache.get(criteria, () -> computeFacets(criteria));
+    }
+
+    private PropertyFacetsResponse computeFacets(PropertySearchCriteria criteria) {
+        if (listingIndex.isReady()) {
+            return toResponse(listingIndex.facets(criteria, priceBounds));
+        }
+
+        Specification<Property> spec = PropertySpecifications.matching(criteria, cityIndex::resolve);
+        FacetCounts counts = new FacetCounts(priceBounds);
+        for (Tuple row : propertyRepository.countFacets(spec, priceBounds)) {
+            counts.add(row.get(0, PropertyType.class), row.get(1, Integer.class),
+                    row.get(2, Integer.class), row.get(3, Long.class));
+        }
+        return toResponse(counts);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        cache.invalidate(event);
+    }
+
+    private PropertyFacetsResponse toResponse(FacetCounts counts) {
+        Map<PropertyType, Long> types = new EnumMap<>(PropertyType.class);
+        for (PropertyType type : PropertyType.values()) {
+            types.put(type, counts.typeCount(type));
+        }
+
+        List<PriceBucket> buckets = new ArrayList<>(priceBounds.length + 1);
+        for (int bucket = 0; bucket <= priceBounds.length; bucket++) {
+            Double from = bucket == 0 ? null : priceBounds[bucket - 1];
+            Double to = bucket == priceBounds.length ? null : priceBounds[bucket];
+            buckets.add(new PriceBucket(from, to, counts.priceBucketCount(bucket)));
+        }
+
+        return new PropertyFacetsResponse(counts.total(), types, buckets, new LinkedHashMap<>(counts.bedroomCounts()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.cache.ListingQueryCache;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Result pages of the list endpoint's database queries, keyed by normalized filter, page request
+ * and view. Geographic filters are not cached: map panning produces mostly unique viewports.
+ */
+@Component
+public class PropertySearchCache {
+
+    private final boolean enabled;
+    private final ListingQueryCache<Key, Page<PropertyResponse>> cache;
+
+    public PropertySearchCache(@Value("${app.search-cache.enabled:true}") boolean enabled,
+                               @Value("${app.search-cache.max-size:10000}") long maxSize,
+                               @Value("${app.search-cache.ttl:PT1M}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = new ListingQueryCache<>("propertySearch", maxSize, ttl, Key::criteria, meterRegistry);
+    }
+
+    public Page<PropertyResponse> get(PropertySearchCriteria criteria, Pageable pageable, ListingView view,
+                                      Supplier<Page<PropertyResponse>> query) {
+        if (!enabled || criteria.hasArea()) {
+            return query.get();
+        }
+        return cache.get(Key.of(criteria, pageable, view), query);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        cache.invalidate(event);
+    }
+
+    record Key(PropertySearchCriteria criteria, Pageable pageable, ListingView view) {
+
+        // The city filter ignores case, so its case must not split otherwise identical entries.
+        static Key of(PropertySearchCriteria criteria, Pageable pageable, ListingView view) {
+            if (criteria.hasCity()) {
+                criteria = criteria.withCity(criteria.city().toLowerCase(Locale.ROOT));
+            }
+            return new Key(criteria, pageable, view);
+        }
+    }
+}
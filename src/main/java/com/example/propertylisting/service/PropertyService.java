@@ -1,22 +1,50 @@
 package com.example.propertylisting.service;
 
+import com.example.propertylisting.dto.CursorPage;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyPatchRequest;
 import com.example.propertylisting.dto.PropertyRequest;
 import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.PreconditionFailedException;
 import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.exception.ServiceUnavailableException;
+import com.example.propertylisting.index.CityTrigramIndex;
+import com.example.propertylisting.index.ColumnarListingIndex;
+import com.example.propertylisting.index.FullTextIndex;
+import com.example.propertylisting.index.GeoGridIndex;
+import com.example.propertylisting.index.SimilarListingIndex;
 import com.example.propertylisting.mapper.PropertyMapper;
 import com.example.propertylisting.model.Property;
 import com.example.propertylisting.model.Property.PropertyType;
 import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyFilter;
 import com.example.propertylisting.repository.PropertyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,62 +52,293 @@ public class PropertyService {
 
     private final PropertyRepository propertyRepository;
     private final PropertyMapper propertyMapper;
+    private final ColumnarListingIndex listingIndex;
+    private final CityTrigramIndex cityIndex;
+    private final FullTextIndex textIndex;
+    private final GeoGridIndex geoIndex;
+    private final SimilarListingIndex similarIndex;
+    private final PropertySearchCache searchCache;
+    private final PropertyDetailCache detailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional(readOnly = true)
-    public Page<PropertyResponse> getAllProperties(Pageable pageable, String city, Double minPrice, Double maxPrice, PropertyType type) {
+    @Value("${app.list.description-excerpt-length:160}")
+    private int excerptLength;
 
-        Specification<Property> spec = Specification.where(null);
+    @Value("${app.delete.soft:false}")
+    private boolean softDelete;
 
-        if (city != null && !city.isBlank()) {
-            spec = spec.and(PropertySpecifications.hasCity(city));
-        }
+    @Value("${app.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    // Deliberately not @Transactional: the index path must not borrow a connection, and the
+    // repository call runs in its own read-only transaction.
+    public Page<PropertyResponse> getAllProperties(Pageable pageable, String city, Double minPrice, Double maxPrice, PropertyType type) {
+        return getAllProperties(pageable, new PropertySearchCriteria(city, minPrice, maxPrice, type), ListingView.FULL);
+    }
 
-        if (minPrice != null) {
-            spec = spec.and(PropertySpecifications.priceGreaterThanOrEqual(minPrice));
+    /**
+     * The {@link ListingView#SUMMARY} view reads only a description excerpt from the database.
+     */
+    public Page<PropertyResponse> getAllProperties(Pageable pageable, PropertySearchCriteria criteria, ListingView view) {
+        if (listingIndex.canServe(criteria, pageable)) {
+            Page<PropertyResponse> page = listingIndex.search(criteria, pageable);
+            return view == ListingView.FULL ? page : page.map(p -> p.withDescriptionExcerpt(excerptLength));
         }
 
-        if (maxPrice != null) {
-            spec = spec.and(PropertySpecifications.priceLessThanOrEqual(maxPrice));
+        return searchCache.get(criteria, pageable, view,
+                () -> propertyRepository.findMatching(filterFor(criteria), pageable, view, excerptLength));
+    }
+
+    /**
+     * Keyword search over title and description. Served from the full-text index, ranked by
+     * relevance, once it is loaded; until then every term is matched with LIKE and the pageable's
+     * sort applies. A query without any searchable term behaves like the plain list.
+     */
+    public Page<PropertyResponse> searchProperties(String query, PropertySearchCriteria criteria, Pageable pageable,
+                                                   ListingView view) {
+        List<String> terms = FullTextIndex.terms(query);
+        if (terms.isEmpty()) {
+            return getAllProperties(pageable, criteria, view);
         }
 
-        if (type != null) {
-            spec = spec.and(PropertySpecifications.hasType(type));
+        if (textIndex.isReady()) {
+            Page<UUID> ranked = textIndex.search(query, criteria, pageable);
+            List<PropertyResponse> rows = view == ListingView.SUMMARY
+                    ? propertyRepository.findSummaries(PropertySpecifications.idIn(ranked.getContent()),
+                            Sort.unsorted(), ranked.getNumberOfElements(), excerptLength)
+                    : propertyRepository.findAllById(ranked.getContent()).stream().map(propertyMapper::toResponse).toList();
+            Map<UUID, PropertyResponse> loaded = rows.stream()
+                    .collect(Collectors.toMap(PropertyResponse::id, Function.identity()));
+            List<PropertyResponse> content = ranked.getContent().stream()
+                    .map(loaded::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return new PageImpl<>(content, pageable, ranked.getTotalElements());
         }
 
+        Specification<Property> spec = specificationFor(criteria)
+                .and(PropertySpecifications.containsAllTerms(terms));
+        if (view == ListingView.SUMMARY) {
+            return propertyRepository.findSummaries(spec, pageable, excerptLength);
+        }
         return propertyRepository.findAll(spec, pageable)
                 .map(propertyMapper::toResponse);
     }
 
+    /**
+     * Keyset pagination: seeks past the cursor's (sort key, id) instead of skipping rows, and never
+     * issues a count query. One extra row is fetched to know whether a next slice exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> getPropertiesAfter(PropertySearchCriteria criteria, String cursor, int size, Sort sort,
+                                                           ListingView view) {
+        Sort.Order order = PropertyCursor.keysetOrder(sort);
+        Specification<Property> spec = specificationFor(criteria);
+
+        if (cursor != null && !cursor.isBlank()) {
+            PropertyCursor position = PropertyCursor.decode(cursor);
+            if (!position.isFor(order)) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            spec = spec.and(PropertySpecifications.after(
+                    order.getProperty(), position.value(), position.id(), order.getDirection()));
+        }
+
+        Sort keysetSort = PropertyCursor.keysetSort(order);
+        if (view == ListingView.SUMMARY) {
+            List<PropertyResponse> rows = propertyRepository.findSummaries(spec, keysetSort, size + 1, excerptLength);
+            return slice(rows, size, last -> PropertyCursor.of(last, order), Function.identity());
+        }
+        List<Property> rows = propertyRepository.findBy(spec,
+                query -> query.sortBy(keysetSort).limit(size + 1).all());
+        return slice(rows, size, last -> PropertyCursor.of(last, order), propertyMapper::toResponse);
+    }
+
+    private static <T> CursorPage<PropertyResponse> slice(List<T> rows, int size, Function<T, PropertyCursor> cursorOf,
+                                                          Function<T, PropertyResponse> toResponse) {
+        boolean hasMore = rows.size() > size;
+        List<T> slice = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? cursorOf.apply(slice.get(size - 1)).encode() : null;
+        return new CursorPage<>(slice.stream().map(toResponse).toList(), next);
+    }
+
+    /**
+     * The criteria as a specification, with the city filter resolved through the trigram index and
+     * a geographic filter narrowed by the grid index to an id list when that list is short. The
+     * geographic predicate itself is kept either way.
+     */
+    private Specification<Property> specificationFor(PropertySearchCriteria criteria) {
+        Specification<Property> spec = PropertySpecifications.matching(criteria, cityIndex::resolve);
+        if (!criteria.hasArea()) {
+            return spec;
+        }
+        return geoIndex.resolve(criteria.area())
+                .map(ids -> spec.and(PropertySpecifications.idIn(ids)))
+                .orElse(spec);
+    }
+
+    /**
+     * Hands every listing matching {@code criteria}, with its full description, to {@code consumer}
+     * in one pass over a database cursor: no paging, no count query, and no listing is kept once
+     * it has been handed over.
+     */
     @Transactional(readOnly = true)
+    public void exportProperties(PropertySearchCriteria criteria, Consumer<PropertyResponse> consumer) {
+        try (Stream<PropertyResponse> rows = propertyRepository.streamMatching(filterFor(criteria), exportFetchSize)) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * The criteria with the city filter resolved through the trigram index and a geographic filter
+     * narrowed by the grid index, where they can answer.
+     */
+    private PropertyFilter filterFor(PropertySearchCriteria criteria) {
+        Set<String> cities = criteria.hasCity() ? cityIndex.resolve(criteria.city()).orElse(null) : null;
+        Set<UUID> ids = criteria.hasArea() ? geoIndex.resolve(criteria.area()).orElse(null) : null;
+        return new PropertyFilter(criteria, cities, ids);
+    }
+
+    /**
+     * Served from the detail cache; only a miss opens a transaction.
+     */
     public PropertyResponse getPropertyById(UUID id) {
-        return propertyRepository.findById(id)
-                .map(propertyMapper::toResponse)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+        return detailCache.get(id, this::loadProperty);
+    }
+
+    /**
+     * The listing as encoded JSON, for the detail endpoint; hot listings are encoded once.
+     */
+    public EncodedProperty getEncodedPropertyById(UUID id) {
+        return detailCache.getEncoded(id, this::loadProperty);
+    }
+
+    /**
+     * The {@code limit} active listings nearest to the property on price, area, rooms, type and
+     * city, as list rows. Answered from the similarity index only; the property itself comes from
+     * the detail cache.
+     */
+    public List<PropertyResponse> getSimilarProperties(UUID id, int limit) {
+        PropertyResponse property = getPropertyById(id);
+        if (!similarIndex.isReady()) {
+            throw new ServiceUnavailableException("Similar listings are not available yet");
+        }
+        return similarIndex.nearest(property, limit);
     }
 
     @Transactional
     public PropertyResponse createProperty(PropertyRequest request) {
         Property property = propertyMapper.toEntity(request);
-        property = propertyRepository.save(property);
-        return propertyMapper.toResponse(property);
+        // Flushing stamps createdAt/updatedAt, so the change event and the outbox record carry them.
+        property = propertyRepository.saveAndFlush(property);
+        PropertyResponse response = propertyMapper.toResponse(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.created(response));
+        return response;
     }
 
     @Transactional
     public PropertyResponse updateProperty(UUID id, PropertyRequest request) {
+        return updateProperty(id, request, null);
+    }
+
+    /**
+     * Replaces the listing if it is at {@code expectedVersion}, or at any version when that is
+     * null. The UPDATE also checks the version read, so a concurrent update fails this one.
+     */
+    @Transactional
+    public PropertyResponse updateProperty(UUID id, PropertyRequest request, Long expectedVersion) {
         Property existingProperty = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
-        
+        checkVersion(id, existingProperty.getVersion(), expectedVersion);
+        PropertyResponse before = propertyMapper.toResponse(existingProperty);
+
         propertyMapper.updateEntity(request, existingProperty);
-        Property updatedProperty = propertyRepository.save(existingProperty);
-        
-        return propertyMapper.toResponse(updatedProperty);
+        // Flushing stamps updatedAt, which other nodes use to order replicated changes.
+        Property updatedProperty = propertyRepository.saveAndFlush(existingProperty);
+
+        PropertyResponse response = propertyMapper.toResponse(updatedProperty);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(before, response));
+        return response;
     }
 
+    /**
+     * Applies {@code patch} with one UPDATE of the changed columns, guarded by
+     * {@code expectedVersion} when given, without loading the listing first. Only when no row was
+     * updated is the version looked up, to answer 404 or 412; the new state is read back once.
+     * Like a delete, the change event carries the previous state only if the detail cache holds it.
+     */
+    @Transactional
+    public PropertyResponse patchProperty(UUID id, PropertyPatchRequest patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            PropertyResponse current = loadProperty(id);
+            checkVersion(id, current.version(), expectedVersion);
+            return current;
+        }
+        PropertyResponse before = detailCache.peek(id);
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (propertyRepository.patch(id, expectedVersion, patch, updatedAt) == 0) {
+            Long version = propertyRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+            checkVersion(id, version, expectedVersion);
+            throw new PreconditionFailedException("Property " + id + " was modified concurrently");
+        }
+        PropertyResponse after = loadProperty(id);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(before, after));
+        return after;
+    }
+
+    /**
+     * Deletes the listing with one statement, or deactivates it when {@code app.delete.soft} is
+     * set. The listing is not loaded: the change event carries its previous state only if the
+     * detail cache holds it, and caches that cannot tell what it matched invalidate broadly.
+     */
     @Transactional
     public void deleteProperty(UUID id) {
-        if (!propertyRepository.existsById(id)) {
+        PropertyResponse before = detailCache.peek(id);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int removed = softDelete
+                ? propertyRepository.deactivateAllByIdIn(List.of(id), now)
+                : propertyRepository.deleteAllByIdIn(List.of(id));
+        if (removed == 0) {
             throw new ResourceNotFoundException("Property not found with id: " + id);
         }
-        propertyRepository.deleteById(id);
+        eventPublisher.publishEvent(PropertyChangedEvent.deleted(id, before));
+    }
+
+    /**
+     * Soft-deleted listings, most recently deleted first; every other read leaves them out. The
+     * order is fixed, so only the page number and size are taken from {@code pageable}.
+     */
+    @Transactional(readOnly = true)
+    public Page<PropertyResponse> getDeletedProperties(Pageable pageable) {
+        return propertyRepository.findInactive(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(propertyMapper::toResponse);
+    }
+
+    /**
+     * Makes a soft-deleted listing active again. Caches and indexes take it as a new listing.
+     */
+    @Transactional
+    public PropertyResponse restoreProperty(UUID id) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (propertyRepository.reactivate(id, now) == 0) {
+            throw new ResourceNotFoundException("No deleted property with id: " + id);
+        }
+        PropertyResponse response = loadProperty(id);
+        eventPublisher.publishEvent(PropertyChangedEvent.created(response));
+        return response;
+    }
+
+    private PropertyResponse loadProperty(UUID id) {
+        return propertyRepository.findById(id)
+                .map(propertyMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+    }
+
+    private static void checkVersion(UUID id, Long version, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new PreconditionFailedException("Property " + id + " is at version " + version
+                    + ", not " + expectedVersion);
+        }
     }
 }
@@ -0,0 +1,225 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.BulkPropertyResponse.Item;
+import com.example.propertylisting.dto.BulkPropertyResponse.Status;
+import com.example.propertylisting.dto.PropertyRequest;
+import com.example.propertylisting.dto.PropertyWriteStatus;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.exception.ServiceUnavailableException;
+import com.example.propertylisting.service.PropertyBulkService.Pending;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for creates and updates sent with an {@code Idempotency-Key}. The request thread
+ * only records the key and queues the write; one writer thread drains the queue in batches of up
+ * to {@code app.write-behind.batch-size}, waiting up to {@code app.write-behind.linger} for a batch
+ * to fill, and writes each batch through {@link PropertyBulkService#write} in one transaction.
+ * Writes to the same listing within a batch are applied in order to one loaded entity, so they
+ * coalesce into a single UPDATE.
+ *
+ * <p>Keys are remembered in a bounded in-memory store for {@code app.write-behind.keys.ttl}: a
+ * repeated key returns the recorded status without touching the database, and a key reused for a
+ * different request is refused. A full queue is refused with 503 and forgets the key, so the
+ * client can retry with it. Queued writes are flushed on shutdown, but are lost if the process
+ * dies before then.
+ */
+@Component
+public class PropertyWriteQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyWriteQueue.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 100;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration linger;
+    private final PropertyBulkService bulkService;
+    private final BlockingQueue<Write> queue;
+    private final Cache<String, Entry> keys;
+    private final Thread writer;
+    private final Counter duplicates;
+    private final Timer batches;
+    private volatile boolean running = true;
+
+    public PropertyWriteQueue(@Value("${app.write-behind.enabled:true}") boolean enabled,
+                              @Value("${app.write-behind.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.write-behind.batch-size:500}") int batchSize,
+                              @Value("${app.write-behind.linger:PT0.05S}") Duration linger,
+                              @Value("${app.write-behind.keys.max-size:100000}") long maxKeys,
+                              @Value("${app.write-behind.keys.ttl:PT24H}") Duration keyTtl,
+                              PropertyBulkService bulkService,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.bulkService = bulkService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(keyTtl)
+                .build();
+        this.writer = new Thread(this::run, "property-write-behind");
+        this.writer.setDaemon(true);
+        this.duplicates = Counter.builder("property.write-behind.duplicates")
+                .description("Writes answered from the idempotency key store")
+                .register(meterRegistry);
+        this.batches = Timer.builder("property.write-behind.batch")
+                .description("Time to write one batch of queued writes")
+                .register(meterRegistry);
+        Gauge.builder("property.write-behind.queued", queue, BlockingQueue::size)
+                .description("Writes waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a create ({@code id} null) or an update of listing {@code id}, or returns the status
+     * of the write already submitted with this key.
+     */
+    public PropertyWriteStatus submit(String idempotencyKey, UUID id, PropertyRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Entry entry = new Entry(id, normalize(request), PropertyWriteStatus.queued(idempotencyKey, id));
+        Entry existing = keys.asMap().putIfAbsent(idempotencyKey, entry);
+        if (existing != null) {
+            if (!Objects.equals(existing.id(), entry.id()) || !Objects.equals(existing.request(), entry.request())) {
+                throw new BadRequestException("Idempotency-Key " + idempotencyKey
+                        + " was already used for a different request");
+            }
+            duplicates.increment();
+            return existing.status();
+        }
+        if (!running || !queue.offer(new Write(idempotencyKey, id, request))) {
+            keys.invalidate(idempotencyKey);
+            throw new ServiceUnavailableException("Write queue is full, retry later");
+        }
+        return entry.status();
+    }
+
+    public PropertyWriteStatus getStatus(String idempotencyKey) {
+        Entry entry = keys.getIfPresent(idempotencyKey);
+        if (entry == null) {
+            throw new ResourceNotFoundException("No write found for Idempotency-Key: " + idempotencyKey);
+        }
+        return entry.status();
+    }
+
+    /**
+     * Stops accepting writes and flushes the ones already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Write next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            batches.record(() -> flush(batch));
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Write> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Pending> pending = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            pending.add(new Pending(i, batch.get(i).id(), batch.get(i).request()));
+        }
+        List<Item> results;
+        try {
+            results = bulkService.write(pending);
+        } catch (RuntimeException e) {
+            logger.error("Write-behind batch of {} properties failed", batch.size(), e);
+            results = pending.stream().map(item -> Item.failed(item.index(), item.id(), e.getMessage())).toList();
+        }
+        for (Item result : results) {
+            keys.asMap().computeIfPresent(batch.get(result.index()).idempotencyKey(), (key, entry) ->
+                    entry.with(result.status() == Status.CREATED || result.status() == Status.UPDATED
+                            ? entry.status().completed(result.id())
+                            : entry.status().failed(result.errors())));
+        }
+    }
+
+    /**
+     * The request as compared against a retry: prices equal in value are equal whatever their scale,
+     * so {@code 100.0} and {@code 100.00} are the same request.
+     */
+    private static PropertyRequest normalize(PropertyRequest request) {
+        if (request.price() == null) {
+            return request;
+        }
+        return new PropertyRequest(request.title(), request.description(), request.price().stripTrailingZeros(),
+                request.address(), request.city(), request.country(), request.latitude(), request.longitude(),
+                request.bedrooms(), request.bathrooms(), request.area(), request.type());
+    }
+
+    private record Write(String idempotencyKey, UUID id, PropertyRequest request) {
+    }
+
+    // The request itself, normalized, tells a retry of it from a different request reusing its key.
+    private record Entry(UUID id, PropertyRequest request, PropertyWriteStatus status) {
+
+        Entry with(PropertyWriteStatus status) {
+            return new Entry(id, request, status);
+        }
+    }
+}
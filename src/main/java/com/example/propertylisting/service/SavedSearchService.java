@@ -0,0 +1,56 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.SavedSearchRequest;
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.event.SavedSearchChangedEvent;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.mapper.SavedSearchMapper;
+import com.example.propertylisting.model.SavedSearch;
+import com.example.propertylisting.repository.SavedSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMapper savedSearchMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public SavedSearchResponse createSavedSearch(String ownerEmail, SavedSearchRequest request) {
+        if (request.minPrice() != null && request.maxPrice() != null && request.minPrice() > request.maxPrice()) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+        SavedSearch savedSearch = savedSearchMapper.toEntity(request);
+        savedSearch.setOwnerEmail(ownerEmail);
+        if (savedSearch.getCity() != null && savedSearch.getCity().isBlank()) {
+            savedSearch.setCity(null);
+        }
+        SavedSearchResponse response = savedSearchMapper.toResponse(savedSearchRepository.saveAndFlush(savedSearch));
+        eventPublisher.publishEvent(SavedSearchChangedEvent.saved(ownerEmail, response));
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponse> getSavedSearches(String ownerEmail) {
+        return savedSearchRepository.findByOwnerEmailOrderByCreatedAtDesc(ownerEmail).stream()
+                .map(savedSearchMapper::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public void deleteSavedSearch(String ownerEmail, UUID id) {
+        SavedSearch savedSearch = savedSearchRepository.findByIdAndOwnerEmail(id, ownerEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with id: " + id));
+        savedSearchRepository.delete(savedSearch);
+        eventPublisher.publishEvent(SavedSearchChangedEvent.deleted(id, ownerEmail));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.propertylisting.snapshot;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * The outbox changes since a snapshot, folded to the latest state of each listing, read with the
+ * catalogue's {@code size} and the outbox's {@code highWater} at that moment. Changes are kept by
+ * version rather than in the order they were read, since events not numbered yet have no order
+ * among themselves. Ids are never reused, so a deletion is final unless the listing is created
+ * again by restoring a soft delete.
+ */
+final class CatalogueDelta {
+
+    private final long highWater;
+    private final long size;
+    private final Map<UUID, PropertyResponse> changed = new HashMap<>();
+    private final Set<UUID> deleted = new HashSet<>();
+
+    CatalogueDelta(long highWater, long size) {
+        this.highWater = highWater;
+        this.size = size;
+    }
+
+    long highWater() {
+        return highWater;
+    }
+
+    /**
+     * How many listings the catalogue held when the delta was read.
+     */
+    long size() {
+        return size;
+    }
+
+    int changes() {
+        return changed.size() + deleted.size();
+    }
+
+    void add(PropertyChange change) {
+        if (change.type() == ChangeType.DELETED) {
+            changed.remove(change.propertyId());
+            deleted.add(change.propertyId());
+        } else if (change.type() == ChangeType.CREATED && deleted.remove(change.propertyId())) {
+            changed.put(change.propertyId(), change.property());
+        } else if (!deleted.contains(change.propertyId())) {
+            changed.merge(change.propertyId(), change.property(), CatalogueDelta::latest);
+        }
+    }
+
+    /**
+     * Passes every listing of {@code snapshot} with this delta applied to {@code action}, and
+     * returns how many there were.
+     */
+    long applyTo(CatalogueSnapshot snapshot, Consumer<PropertyResponse> action) throws IOException {
+        Map<UUID, PropertyResponse> added = new HashMap<>(changed);
+        long[] count = {0};
+        snapshot.forEach(property -> {
+            if (deleted.contains(property.id())) {
+                return;
+            }
+            PropertyResponse change = added.remove(property.id());
+            action.accept(change != null ? latest(property, change) : property);
+            count[0]++;
+        });
+        added.values().forEach(action);
+        return count[0] + added.size();
+    }
+
+    private static PropertyResponse latest(PropertyResponse first, PropertyResponse second) {
+        return version(second) >= version(first) ? second : first;
+    }
+
+    private static long version(PropertyResponse property) {
+        return property.version() != null ? property.version() : -1;
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.propertylisting.snapshot;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A binary copy of the catalogue on local disk, as of outbox sequence number {@code highWater}:
+ * it holds every listing committed with an outbox event numbered up to it, and possibly later
+ * ones too. Layout, big-endian:
+ *
+ * <pre>
+ * header   magic "PLSN", format version (int), high water (long), created at (epoch millis)
+ * records  one per listing, see {@link Writer#add}
+ * trailer  record count (int), CRC32 of everything before the checksum (long)
+ * </pre>
+ *
+ * A snapshot is read through a read-only memory mapping, so loading it costs no heap copies of
+ * the file. Files in another format version, truncated or corrupted are refused with an
+ * {@link IOException}; the caller then loads from the database.
+ */
+public final class CatalogueSnapshot {
+
+    static final int MAGIC = 0x504C534E;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+    private static final int TRAILER_SIZE = 4 + 8;
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    // Presence bits for the nullable fields
+    private static final int LATITUDE = 1;
+    private static final int LONGITUDE = 1 << 1;
+    private static final int BEDROOMS = 1 << 2;
+    private static final int BATHROOMS = 1 << 3;
+    private static final int AREA = 1 << 4;
+    private static final int CREATED_AT = 1 << 5;
+    private static final int UPDATED_AT = 1 << 6;
+    private static final int VERSION = 1 << 7;
+    private static final int ACTIVE = 1 << 8;
+
+    private final Path path;
+    private final long highWater;
+    private final Instant createdAt;
+    private final int size;
+    private final ByteBuffer records;
+
+    private CatalogueSnapshot(Path path, long highWater, Instant createdAt, int size, ByteBuffer records) {
+        this.path = path;
+        this.highWater = highWater;
+        this.createdAt = createdAt;
+        this.size = size;
+        this.records = records;
+    }
+
+    /**
+     * Maps the snapshot at {@code path} and checks its header and checksum.
+     */
+    public static CatalogueSnapshot open(Path path) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE + TRAILER_SIZE) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is too large to map (" + length + " bytes)");
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        int length = file.limit();
+        if (file.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a catalogue snapshot");
+        }
+        int version = file.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Snapshot " + path + " is in format version " + version
+                    + ", expected " + FORMAT_VERSION);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(file.slice(0, length - 8));
+        if (crc.getValue() != file.getLong(length - 8)) {
+            throw new IOException("Snapshot " + path + " is corrupted (checksum mismatch)");
+        }
+        return new CatalogueSnapshot(path, file.getLong(8), Instant.ofEpochMilli(file.getLong(16)),
+                file.getInt(length - TRAILER_SIZE),
+                file.slice(HEADER_SIZE, length - HEADER_SIZE - TRAILER_SIZE).asReadOnlyBuffer());
+    }
+
+    /**
+     * Starts a snapshot that replaces the one at {@code path} when committed.
+     */
+    public static Writer create(Path path, long highWater) throws IOException {
+        return new Writer(path, highWater);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long highWater() {
+        return highWater;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes the listings in the order they were written.
+     */
+    public void forEach(Consumer<PropertyResponse> action) throws IOException {
+        ByteBuffer buffer = records.duplicate();
+        for (int i = 0; i < size; i++) {
+            PropertyResponse property;
+            try {
+                property = read(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Snapshot " + path + " has a malformed record at index " + i, e);
+            }
+            action.accept(property);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Snapshot " + path + " has " + buffer.remaining() + " bytes after its records");
+        }
+    }
+
+    private static PropertyResponse read(ByteBuffer buffer) {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        int present = buffer.getShort() & 0xFFFF;
+        String title = readString(buffer);
+        String description = readString(buffer);
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.get()];
+        buffer.get(unscaled);
+        BigDecimal price = new BigDecimal(new BigInteger(unscaled), scale);
+        String address = readString(buffer);
+        String city = readString(buffer);
+        String country = readString(buffer);
+        Double latitude = (present & LATITUDE) != 0 ? buffer.getDouble() : null;
+        Double longitude = (present & LONGITUDE) != 0 ? buffer.getDouble() : null;
+        Integer bedrooms = (present & BEDROOMS) != 0 ? buffer.getInt() : null;
+        Integer bathrooms = (present & BATHROOMS) != 0 ? buffer.getInt() : null;
+        Double area = (present & AREA) != 0 ? buffer.getDouble() : null;
+        int type = buffer.get();
+        LocalDateTime createdAt = (present & CREATED_AT) != 0 ? readTimestamp(buffer) : null;
+        LocalDateTime updatedAt = (present & UPDATED_AT) != 0 ? readTimestamp(buffer) : null;
+        Long version = (present & VERSION) != 0 ? buffer.getLong() : null;
+        return new PropertyResponse(id, title, description, price, address, city, country, latitude, longitude,
+                bedrooms, bathrooms, area, type < 0 ? null : TYPES[type], createdAt, updatedAt,
+                (present & ACTIVE) != 0, version);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes a snapshot to a temporary file next to the target; {@link #commit} syncs it and
+     * moves it into place atomically, so readers see either the old or the new snapshot.
+     * Closing an uncommitted writer discards the temporary file.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path path;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream out;
+        private int count;
+        private boolean committed;
+
+        private Writer(Path path, long highWater) throws IOException {
+            this.path = path;
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // A fixed name, so a file left by a crashed writer is reused rather than piling up
+            this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(highWater);
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        /**
+         * Appends a listing: id, presence bits, title, description, price (scale and unscaled
+         * bytes), address, city, country, the present optional fields, type ordinal (-1 for none),
+         * timestamps (UTC epoch seconds and nanos) and version.
+         */
+        public void add(PropertyResponse property) throws IOException {
+            out.writeLong(property.id().getMostSignificantBits());
+            out.writeLong(property.id().getLeastSignificantBits());
+            int present = (property.latitude() != null ? LATITUDE : 0)
+                    | (property.longitude() != null ? LONGITUDE : 0)
+                    | (property.bedrooms() != null ? BEDROOMS : 0)
+                    | (property.bathrooms() != null ? BATHROOMS : 0)
+                    | (property.area() != null ? AREA : 0)
+                    | (property.createdAt() != null ? CREATED_AT : 0)
+                    | (property.updatedAt() != null ? UPDATED_AT : 0)
+                    | (property.version() != null ? VERSION : 0)
+                    | (property.active() ? ACTIVE : 0);
+            out.writeShort(present);
+            writeString(property.title());
+            writeString(property.description());
+            out.writeInt(property.price().scale());
+            byte[] unscaled = property.price().unscaledValue().toByteArray();
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+            writeString(property.address());
+            writeString(property.city());
+            writeString(property.country());
+            if (property.latitude() != null) {
+                out.writeDouble(property.latitude());
+            }
+            if (property.longitude() != null) {
+                out.writeDouble(property.longitude());
+            }
+            if (property.bedrooms() != null) {
+                out.writeInt(property.bedrooms());
+            }
+            if (property.bathrooms() != null) {
+                out.writeInt(property.bathrooms());
+            }
+            if (property.area() != null) {
+                out.writeDouble(property.area());
+            }
+            out.writeByte(property.type() != null ? property.type().ordinal() : -1);
+            if (property.createdAt() != null) {
+                writeTimestamp(property.createdAt());
+            }
+            if (property.updatedAt() != null) {
+                writeTimestamp(property.updatedAt());
+            }
+            if (property.version() != null) {
+                out.writeLong(property.version());
+            }
+            count++;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public void commit() throws IOException {
+            out.writeInt(count);
+            out.flush();
+            ByteBuffer checksum = ByteBuffer.allocate(8).putLong(0, crc.getValue());
+            while (checksum.hasRemaining()) {
+                channel.write(checksum);
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeTimestamp(LocalDateTime timestamp) throws IOException {
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+        }
+    }
+}
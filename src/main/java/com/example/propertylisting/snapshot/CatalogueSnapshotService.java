@@ -0,0 +1,308 @@
+package com.example.propertylisting.snapshot;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.PropertyOutboxCursor;
+import com.example.propertylisting.model.PropertyOutboxEvent;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.repository.PropertyOutboxCursorRepository;
+import com.example.propertylisting.repository.PropertyOutboxRepository;
+import com.example.propertylisting.repository.PropertyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the catalogue for the in-process indexes, and keeps a {@link CatalogueSnapshot} of it at
+ * {@code app.snapshot.path} so a restarted node reads it from local disk instead of from the
+ * database. {@link #restore} maps the snapshot and reads from the database only the outbox
+ * changes numbered after its high water, plus those not numbered yet. It refuses the snapshot
+ * when it is missing or unreadable, when the outbox has already purged some of the changes it
+ * would need, or when the result does not hold as many listings as the database; the caller then
+ * falls back to {@link #readAll}, which writes a new snapshot as it goes.
+ *
+ * <p>A writer thread refreshes the snapshot every {@code app.snapshot.interval} and on shutdown
+ * the same way, from the previous snapshot plus the changes since. Database reads run in one
+ * repeatable-read transaction, so the listings, the changes and the high water agree. Needs the
+ * outbox ({@code app.outbox.enabled}), which is what records the changes.
+ */
+@Component
+public class CatalogueSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueSnapshotService.class);
+
+    private final boolean enabled;
+    private final Path path;
+    private final Duration interval;
+    private final PropertyRepository propertyRepository;
+    private final PropertyOutboxRepository outboxRepository;
+    private final PropertyOutboxCursorRepository cursorRepository;
+    private final PropertyOutbox outbox;
+    private final PropertyMapper propertyMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Thread writer;
+    private final Timer writes;
+    private volatile boolean running = true;
+
+    public CatalogueSnapshotService(@Value("${app.snapshot.enabled:false}") boolean enabled,
+                                    @Value("${app.snapshot.path:snapshot/catalogue.snapshot}") Path path,
+                                    @Value("${app.snapshot.interval:PT15M}") Duration interval,
+                                    @Value("${app.outbox.enabled:true}") boolean outboxEnabled,
+                                    PropertyRepository propertyRepository,
+                                    PropertyOutboxRepository outboxRepository,
+                                    PropertyOutboxCursorRepository cursorRepository,
+                                    PropertyOutbox outbox,
+                                    PropertyMapper propertyMapper,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        if (enabled && !outboxEnabled) {
+            logger.warn("Catalogue snapshots need app.outbox.enabled=true; not using them");
+        }
+        this.enabled = enabled && outboxEnabled;
+        this.path = path;
+        this.interval = interval;
+        this.propertyRepository = propertyRepository;
+        this.outboxRepository = outboxRepository;
+        this.cursorRepository = cursorRepository;
+        this.outbox = outbox;
+        this.propertyMapper = propertyMapper;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writer = new Thread(this::run, "catalogue-snapshot");
+        this.writer.setDaemon(true);
+        this.writes = Timer.builder("property.snapshot.write")
+                .description("Time to write the catalogue snapshot")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    /**
+     * Writes a last snapshot, so the next start has few changes to catch up on.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeups.release();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Passes every listing to {@code action} from the snapshot and the changes since, and returns
+     * how many there were; empty when snapshots are disabled or this one cannot be used. Listings
+     * may already have been passed when it turns out unusable, so the caller must start over.
+     */
+    public OptionalLong restore(Consumer<PropertyResponse> action) {
+        CatalogueSnapshot snapshot = enabled ? open() : null;
+        if (snapshot == null) {
+            return OptionalLong.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            CatalogueDelta delta = readDelta(snapshot.highWater());
+            if (delta == null) {
+                return OptionalLong.empty();
+            }
+            long loaded = delta.applyTo(snapshot, action);
+            if (loaded != delta.size()) {
+                logger.warn("Snapshot {} gives {} properties but the database has {}", path, loaded, delta.size());
+                return OptionalLong.empty();
+            }
+            logger.info("Loaded {} properties from snapshot {} (high water {}) and {} change(s) since in {} ms",
+                    loaded, path, snapshot.highWater(), delta.changes(), (System.nanoTime() - start) / 1_000_000);
+            return OptionalLong.of(loaded);
+        } catch (IOException e) {
+            logger.warn("Cannot load snapshot {}: {}", path, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Passes every listing in the database to {@code action} and returns how many there were,
+     * writing a new snapshot of them on the way when snapshots are enabled. A snapshot that cannot
+     * be written does not stop the read.
+     */
+    public long readAll(Consumer<PropertyResponse> action) {
+        return Objects.requireNonNull(transaction.execute(status -> {
+            CatalogueSnapshot.Writer out = enabled ? create(lastSequence()) : null;
+            long count = 0;
+            try (Stream<Property> properties = propertyRepository.streamAll()) {
+                for (Property property : (Iterable<Property>) properties::iterator) {
+                    PropertyResponse response = propertyMapper.toResponse(property);
+                    action.accept(response);
+                    out = append(out, response);
+                    entityManager.detach(property);
+                    count++;
+                }
+                commit(out);
+            } finally {
+                discard(out);
+            }
+            return count;
+        }));
+    }
+
+    /**
+     * Replaces the snapshot with an up-to-date one: the previous snapshot and the changes since,
+     * or a full read if that is not possible.
+     */
+    public void write() throws IOException {
+        long start = System.nanoTime();
+        try {
+            CatalogueSnapshot previous = open();
+            CatalogueDelta delta = previous != null ? readDelta(previous.highWater()) : null;
+            if (delta != null) {
+                try (CatalogueSnapshot.Writer out = CatalogueSnapshot.create(path, delta.highWater())) {
+                    delta.applyTo(previous, property -> append(out, property));
+                    if (out.count() == delta.size()) {
+                        out.commit();
+                        return;
+                    }
+                }
+                logger.warn("Snapshot {} and the changes since do not add up to the catalogue, reading it all",
+                        path);
+            }
+            readAll(property -> {
+            });
+        } finally {
+            writes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CatalogueSnapshot open() {
+        if (!Files.isRegularFile(path)) {
+            logger.info("No catalogue snapshot at {}", path);
+            return null;
+        }
+        try {
+            return CatalogueSnapshot.open(path);
+        } catch (IOException e) {
+            logger.warn("Ignoring catalogue snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The changes after {@code highWater}, or null when the outbox no longer has all of them.
+     */
+    private CatalogueDelta readDelta(long highWater) {
+        return transaction.execute(status -> {
+            long last = lastSequence();
+            if (last < highWater || outboxRepository.countBySequenceNumberGreaterThan(highWater) != last - highWater) {
+                logger.warn("The outbox no longer holds every change after snapshot high water {}", highWater);
+                return null;
+            }
+            CatalogueDelta delta = new CatalogueDelta(last, propertyRepository.count());
+            try (Stream<PropertyOutboxEvent> events = outboxRepository.streamChangesAfter(highWater)) {
+                events.forEach(event -> {
+                    delta.add(outbox.toChange(event));
+                    entityManager.detach(event);
+                });
+            }
+            return delta;
+        });
+    }
+
+    private CatalogueSnapshot.Writer create(long highWater) {
+        try {
+            return CatalogueSnapshot.create(path, highWater);
+        } catch (IOException e) {
+            logger.warn("Cannot write snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns null once writing failed, so the rest of the read goes on without the snapshot
+    private CatalogueSnapshot.Writer append(CatalogueSnapshot.Writer out, PropertyResponse property) {
+        if (out == null) {
+            return null;
+        }
+        try {
+            out.add(property);
+            return out;
+        } catch (IOException e) {
+            logger.warn("Cannot write snapshot {}: {}", path, e.getMessage());
+            discard(out);
+            return null;
+        }
+    }
+
+    private void commit(CatalogueSnapshot.Writer out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.commit();
+            logger.info("Wrote {} properties to snapshot {}", out.count(), path);
+        } catch (IOException e) {
+            logger.warn("Cannot write snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static void discard(CatalogueSnapshot.Writer out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.debug("Cannot delete unfinished snapshot", e);
+        }
+    }
+
+    private long lastSequence() {
+        return cursorRepository.findById(PropertyOutboxCursor.ID)
+                .map(PropertyOutboxCursor::getLastSequence)
+                .orElse(0L);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeups.tryAcquire(interval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+                write();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                logger.warn("Writing snapshot {} failed, retrying in {}: {}", path, interval, e.getMessage());
+            }
+        }
+    }
+}
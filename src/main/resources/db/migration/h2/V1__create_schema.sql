@@ -0,0 +1,24 @@
+CREATE TABLE users (
+    id       BIGINT       NOT NULL PRIMARY KEY,
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    enabled  BOOLEAN      NOT NULL
+);
+
+CREATE TABLE properties (
+    id          UUID             NOT NULL PRIMARY KEY,
+    title       VARCHAR(200),
+    description TEXT,
+    price       NUMERIC(38, 2),
+    address     VARCHAR(255),
+    city        VARCHAR(255),
+    country     VARCHAR(255),
+    bedrooms    INTEGER,
+    bathrooms   INTEGER,
+    area        DOUBLE PRECISION,
+    type        VARCHAR(255)
+        CHECK (type IN ('APARTMENT', 'HOUSE', 'VILLA', 'LAND', 'COMMERCIAL', 'OTHER')),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    active      BOOLEAN          NOT NULL
+);
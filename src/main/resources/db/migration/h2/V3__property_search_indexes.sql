@@ -0,0 +1,10 @@
+-- city IN (...) as resolved by the trigram index, and the city facet
+CREATE INDEX idx_properties_city ON properties (city);
+-- price range filter and keyset pages sorted by price
+CREATE INDEX idx_properties_price_id ON properties (price, id);
+-- type filter combined with a price range
+CREATE INDEX idx_properties_type_price ON properties (type, price);
+-- keyset pages sorted by creation date
+CREATE INDEX idx_properties_created_at_id ON properties (created_at, id);
+-- radius and bounding-box search
+CREATE INDEX idx_properties_location ON properties (latitude, longitude);
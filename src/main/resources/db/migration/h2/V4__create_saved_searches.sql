@@ -0,0 +1,13 @@
+CREATE TABLE saved_searches (
+    id          UUID             NOT NULL PRIMARY KEY,
+    owner_email VARCHAR(255)     NOT NULL,
+    name        VARCHAR(100)     NOT NULL,
+    city        VARCHAR(255),
+    min_price   DOUBLE PRECISION,
+    max_price   DOUBLE PRECISION,
+    type        VARCHAR(255)
+        CHECK (type IN ('APARTMENT', 'HOUSE', 'VILLA', 'LAND', 'COMMERCIAL', 'OTHER')),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE INDEX idx_saved_searches_owner ON saved_searches (owner_email);
@@ -0,0 +1,2 @@
+-- Optimistic locking: every update checks and increments the version. Existing rows start at 0.
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; the V3 indexes stay and cover inactive rows too.
+-- Kept so that both vendors are at the same schema version.
@@ -0,0 +1,3 @@
+-- IF NOT EXISTS: databases adopted at version 1 may already have them from Hibernate
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
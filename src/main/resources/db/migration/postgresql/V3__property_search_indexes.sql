@@ -0,0 +1,22 @@
+-- Built concurrently so existing tables keep taking writes; see the .conf file next to this one.
+
+-- city IN (...) as resolved by the trigram index, and the city facet
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_city ON properties (city);
+
+-- lower(city) LIKE '%...%' when the in-memory trigram index is off or the match is too broad
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_city_trgm
+    ON properties USING gin (lower(city) gin_trgm_ops);
+
+-- price range filter and keyset pages sorted by price
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_price_id ON properties (price, id);
+
+-- type filter combined with a price range
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_type_price ON properties (type, price);
+
+-- keyset pages sorted by creation date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_created_at_id ON properties (created_at, id);
+
+-- radius and bounding-box search; listings without coordinates can never match
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_location
+    ON properties (latitude, longitude) WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
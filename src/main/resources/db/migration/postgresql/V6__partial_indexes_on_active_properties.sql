@@ -0,0 +1,24 @@
+-- Every query on properties is restricted to active rows (soft-deleted listings stay as inactive
+-- rows), so the search indexes only need to cover those. Built concurrently like V3; see the .conf
+-- file next to this one.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_city ON properties (city) WHERE active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_city_trgm
+    ON properties USING gin (lower(city) gin_trgm_ops) WHERE active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_price_id ON properties (price, id) WHERE active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_type_price ON properties (type, price) WHERE active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_created_at_id ON properties (created_at, id) WHERE active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_active_location
+    ON properties (latitude, longitude) WHERE active AND latitude IS NOT NULL AND longitude IS NOT NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_city;
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_city_trgm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_price_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_type_price;
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_created_at_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_location;
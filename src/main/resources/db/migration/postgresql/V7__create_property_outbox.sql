@@ -0,0 +1,26 @@
+-- Change events written in the same transaction as the listing change. The relay numbers them
+-- (sequence_number) when it publishes them; unnumbered rows are still pending.
+CREATE SEQUENCE property_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE property_outbox (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    sequence_number BIGINT,
+    property_id     UUID         NOT NULL,
+    change_type     VARCHAR(16)  NOT NULL
+        CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    version         BIGINT,
+    payload         TEXT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    published_at    TIMESTAMP(6)
+);
+
+CREATE UNIQUE INDEX idx_property_outbox_sequence ON property_outbox (sequence_number);
+CREATE INDEX idx_property_outbox_pending ON property_outbox (id) WHERE sequence_number IS NULL;
+
+-- The last sequence number handed out; relays lock this row to take turns.
+CREATE TABLE property_outbox_cursor (
+    id            INTEGER NOT NULL PRIMARY KEY,
+    last_sequence BIGINT  NOT NULL
+);
+
+INSERT INTO property_outbox_cursor (id, last_sequence) VALUES (1, 0);
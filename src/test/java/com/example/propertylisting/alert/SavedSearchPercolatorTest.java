@@ -0,0 +1,125 @@
+package com.example.propertylisting.alert;
+
+import com.example.propertylisting.alert.SavedSearchPercolator.Entry;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SavedSearchPercolatorTest {
+
+    private static final String[] CITIES = {"New York", "Boston", "Newark", "Austin", "Houston", "San Antonio"};
+
+    private SavedSearchPercolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        percolator = new SavedSearchPercolator();
+    }
+
+    @Test
+    void match_ShouldApplyCitySubstringTypeAndInclusivePriceBounds() {
+        Entry bostonHouses = add("bost", 200_000.0, 500_000.0, HOUSE);
+        Entry anyCityUpTo300k = add(null, null, 300_000.0, null);
+        Entry newYorkOnly = add("new york", null, null, null);
+        Entry cheapApartments = add(null, null, 100_000.0, APARTMENT);
+        percolator.build();
+
+        assertThat(percolator.match("Boston", 300_000, HOUSE)).containsExactlyInAnyOrder(bostonHouses, anyCityUpTo300k);
+        assertThat(percolator.match("BOSTON", 500_000, HOUSE)).containsExactly(bostonHouses);
+        assertThat(percolator.match("Boston", 500_001, HOUSE)).isEmpty();
+        assertThat(percolator.match("New York", 900_000, APARTMENT)).containsExactly(newYorkOnly);
+        assertThat(percolator.match("Newark", 100_000, APARTMENT))
+                .containsExactlyInAnyOrder(anyCityUpTo300k, cheapApartments);
+    }
+
+    @Test
+    void remove_ShouldStopMatching() {
+        Entry search = add("austin", null, null, null);
+        percolator.build();
+
+        percolator.remove(search.id());
+        percolator.build();
+
+        assertThat(percolator.match("Austin", 1, HOUSE)).isEmpty();
+        assertThat(percolator.size()).isZero();
+    }
+
+    @Test
+    void match_ShouldSeeWritesBeforeTheNextBuild() {
+        Entry cheap = add("austin", null, 200_000.0, null);
+        Entry dear = add("austin", 500_000.0, null, null);
+        percolator.build();
+
+        Entry replaced = Entry.of("owner@example.com",
+                new SavedSearchResponse(cheap.id(), "search", "austin", null, 600_000.0, null, null));
+        percolator.put(replaced);
+        percolator.remove(dear.id());
+        Entry added = add("austin", 550_000.0, null, HOUSE);
+
+        assertThat(percolator.match("Austin", 550_000, HOUSE)).containsExactlyInAnyOrder(replaced, added);
+        assertThat(percolator.match("Austin", 550_000, APARTMENT)).containsExactly(replaced);
+        percolator.build();
+        assertThat(percolator.match("Austin", 550_000, HOUSE)).containsExactlyInAnyOrder(replaced, added);
+        assertThat(percolator.size()).isEqualTo(2);
+    }
+
+    @Test
+    void match_ShouldAgreeWithCriteriaEvaluation() {
+        Random random = new Random(7);
+        List<SavedSearchResponse> searches = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String city = random.nextInt(3) == 0 ? null
+                    : randomSubstring(CITIES[random.nextInt(CITIES.length)], random);
+            Double min = random.nextBoolean() ? (double) random.nextInt(1_000_000) : null;
+            Double max = random.nextBoolean() ? (double) random.nextInt(1_000_000) : null;
+            PropertyType type = random.nextBoolean() ? null : PropertyType.values()[random.nextInt(6)];
+            SavedSearchResponse search = new SavedSearchResponse(UUID.randomUUID(), "s" + i, city, min, max, type, null);
+            searches.add(search);
+            percolator.put(Entry.of("owner@example.com", search));
+        }
+        percolator.build();
+
+        for (int i = 0; i < 500; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            double price = random.nextInt(1_000_000);
+            PropertyType type = PropertyType.values()[random.nextInt(6)];
+
+            PropertySearchCriteria.Attributes listing = new PropertySearchCriteria.Attributes(
+                    city.toLowerCase(Locale.ROOT), null, price, type, Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, Double.NaN);
+            List<UUID> expected = searches.stream()
+                    .filter(search -> search.criteria().matches(listing))
+                    .map(SavedSearchResponse::id)
+                    .toList();
+
+            assertThat(percolator.match(city, price, type)).extracting(Entry::id)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private Entry add(String city, Double minPrice, Double maxPrice, PropertyType type) {
+        Entry entry = Entry.of("owner@example.com",
+                new SavedSearchResponse(UUID.randomUUID(), "search", city, minPrice, maxPrice, type, null));
+        percolator.put(entry);
+        return entry;
+    }
+
+    private static String randomSubstring(String city, Random random) {
+        int start = random.nextInt(city.length());
+        int end = start + 1 + random.nextInt(city.length() - start);
+        String needle = city.substring(start, end);
+        return random.nextBoolean() ? needle.toUpperCase() : needle;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.propertylisting.benchmark;
+
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.index.ColumnarListingIndex;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyFilter;
+import com.example.propertylisting.repository.PropertyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares list latency of the columnar index against the database paths on H2: criteria queries
+ * built per call from a specification, and the JPQL plan compiled once per filter shape.
+ * Run with {@code mvn test -Dtest=ListingIndexBenchmark -Dbenchmarks=true}.
+ */
+@DataJpaTest(showSql = false)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ListingIndexBenchmark {
+
+    private static final int LISTINGS = 50_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+    private static final String[] CITIES = {
+            "New York", "Boston", "Chicago", "Houston", "Phoenix", "Seattle", "Denver", "Austin", "Portland", "Miami"
+    };
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final PropertyMapper propertyMapper = Mappers.getMapper(PropertyMapper.class);
+
+    @Test
+    void compareIndexWithDatabase() {
+        Random random = new Random(42);
+        List<Property> batch = new ArrayList<>();
+        for (int i = 0; i < LISTINGS; i++) {
+            batch.add(Property.builder()
+                    .title("Listing " + i)
+                    .description("Benchmark listing " + i)
+                    .price(BigDecimal.valueOf(50_000 + random.nextInt(2_000_000)))
+                    .address(i + " Main St")
+                    .city(CITIES[random.nextInt(CITIES.length)])
+                    .country("USA")
+                    .bedrooms(1 + random.nextInt(6))
+                    .bathrooms(1 + random.nextInt(3))
+                    .area(30.0 + random.nextInt(400))
+                    .type(PropertyType.values()[random.nextInt(PropertyType.values().length)])
+                    .active(true)
+                    .build());
+            if (batch.size() == 1_000) {
+                propertyRepository.saveAll(batch);
+                entityManager.flush();
+                entityManager.clear();
+                batch.clear();
+            }
+        }
+
+        ColumnarListingIndex index = new ColumnarListingIndex(true);
+        propertyRepository.findAll().forEach(p -> index.put(propertyMapper.toResponse(p)));
+        index.markReady();
+        entityManager.clear();
+
+        List<PropertySearchCriteria> filters = List.of(
+                new PropertySearchCriteria(null, null, null, null),
+                new PropertySearchCriteria("ton", 200_000.0, 900_000.0, null),
+                new PropertySearchCriteria(null, null, 500_000.0, PropertyType.HOUSE),
+                new PropertySearchCriteria("new york", 1_000_000.0, null, PropertyType.VILLA),
+                new PropertySearchCriteria(null, null, 800_000.0, Set.of(PropertyType.HOUSE, PropertyType.VILLA), null,
+                        Set.of("usa"), 2, 4, 2, null, 80.0, 250.0));
+        List<Pageable> pages = List.of(
+                PageRequest.of(0, 20),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price")),
+                PageRequest.of(5, 20, Sort.by("createdAt")));
+
+        measure("columnar index", filters, pages, (criteria, pageable) -> index.search(criteria, pageable));
+        measure("findAll(spec, pageable)", filters, pages, (criteria, pageable) -> {
+            propertyRepository.findAll(PropertySpecifications.matching(criteria), pageable)
+                    .map(propertyMapper::toResponse);
+            entityManager.clear();
+        });
+        measure("findSummaries(spec)", filters, pages, (criteria, pageable) ->
+                propertyRepository.findSummaries(PropertySpecifications.matching(criteria), pageable, 160));
+        measure("findMatching, full", filters, pages, (criteria, pageable) ->
+                propertyRepository.findMatching(PropertyFilter.of(criteria), pageable, ListingView.FULL, 160));
+        measure("findMatching, summary", filters, pages, (criteria, pageable) ->
+                propertyRepository.findMatching(PropertyFilter.of(criteria), pageable, ListingView.SUMMARY, 160));
+    }
+
+    private static void measure(String label, List<PropertySearchCriteria> filters, List<Pageable> pages,
+                                BiConsumer<PropertySearchCriteria, Pageable> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.accept(filters.get(i % filters.size()), pages.get(i % pages.size()));
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.accept(filters.get(i % filters.size()), pages.get(i % pages.size()));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-26s %,d listings  p50=%,8d us  p99=%,8d us  mean=%,8d us%n",
+                label, LISTINGS,
+                samples[ITERATIONS / 2] / 1_000,
+                samples[ITERATIONS * 99 / 100] / 1_000,
+                Arrays.stream(samples).sum() / ITERATIONS / 1_000);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.propertylisting.benchmark;
+
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * List-query latency on the migrated schema with and without the search indexes of
+ * {@code V3__property_search_indexes}. Runs against the configured database (H2 by default):
+ * {@code mvn test -Dtest=SearchIndexMigrationBenchmark -Dbenchmarks=true [-Dbenchmark.rows=1000000]
+ * [-Dspring.profiles.active=prod -DDB_URL=... -DDB_USERNAME=... -DDB_PASSWORD=...]}.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SearchIndexMigrationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CITIES = 1_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 30;
+    private static final String[] INDEXES = {
+            "idx_properties_city", "idx_properties_city_trgm", "idx_properties_price_id",
+            "idx_properties_type_price", "idx_properties_created_at_id", "idx_properties_location"
+    };
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE properties");
+    }
+
+    @Test
+    void compareWithAndWithoutSearchIndexes() throws Exception {
+        insertListings();
+        Map<String, Runnable> queries = queries();
+
+        dropSearchIndexes();
+        Map<String, Long> unindexed = measure(queries);
+        recreateSearchIndexes();
+        Map<String, Long> indexed = measure(queries);
+
+        System.out.printf("%,d listings, p50 in us%n", ROWS);
+        queries.keySet().forEach(label -> System.out.printf("%-36s without=%,10d  with=%,8d%n",
+                label, unindexed.get(label), indexed.get(label)));
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("city IN, page with count", () -> propertyRepository.findAll(
+                PropertySpecifications.cityIn(List.of("City 42")), PageRequest.of(0, 20)));
+        queries.put("lower(city) LIKE, page with count", () -> propertyRepository.findAll(
+                PropertySpecifications.hasCity("ty 42"), PageRequest.of(0, 20)));
+        queries.put("price range sorted by price", () -> propertyRepository.findSummaries(
+                PropertySpecifications.priceGreaterThanOrEqual(400_000.0)
+                        .and(PropertySpecifications.priceLessThanOrEqual(410_000.0)),
+                Sort.by("price", "id"), 20, 160));
+        queries.put("type + max price", () -> propertyRepository.findSummaries(
+                PropertySpecifications.hasType(PropertyType.VILLA)
+                        .and(PropertySpecifications.priceLessThanOrEqual(60_000.0)),
+                Sort.unsorted(), 20, 160));
+        queries.put("keyset by createdAt desc", () -> propertyRepository.findSummaries(
+                PropertySpecifications.after("createdAt", newest.minusDays(30), new UUID(0, 0), Sort.Direction.DESC),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"), 20, 160));
+        queries.put("bounding box", () -> propertyRepository.findSummaries(
+                PropertySpecifications.within(GeoArea.of(null, null, null, 40.70, -74.02, 40.72, -74.00)),
+                Sort.unsorted(), 20, 160));
+        return queries;
+    }
+
+    private Map<String, Long> measure(Map<String, Runnable> queries) {
+        Map<String, Long> medians = new LinkedHashMap<>();
+        queries.forEach((label, query) -> {
+            for (int i = 0; i < WARMUP; i++) {
+                query.run();
+            }
+            long[] samples = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                query.run();
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            medians.put(label, samples[ITERATIONS / 2] / 1_000);
+        });
+        return medians;
+    }
+
+    private void insertListings() {
+        Random random = new Random(42);
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 1, 0, 0);
+        PropertyType[] types = PropertyType.values();
+        List<Object[]> batch = new ArrayList<>(5_000);
+        for (int i = 0; i < ROWS; i++) {
+            Timestamp created = Timestamp.valueOf(newest.minusMinutes(random.nextInt(5_000_000)));
+            batch.add(new Object[]{
+                    UUID.randomUUID(), "Listing " + i, "Benchmark listing " + i,
+                    BigDecimal.valueOf(50_000 + random.nextInt(2_000_000)), i + " Main St",
+                    "City " + random.nextInt(CITIES), "USA",
+                    25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57,
+                    1 + random.nextInt(6), 1 + random.nextInt(3), 30.0 + random.nextInt(400),
+                    types[random.nextInt(types.length)].name(), created, created, true
+            });
+            if (batch.size() == 5_000 || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO properties (id, title, description, price, address, city, "
+                        + "country, latitude, longitude, bedrooms, bathrooms, area, type, created_at, updated_at, "
+                        + "active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        analyze();
+    }
+
+    private void dropSearchIndexes() {
+        for (String index : INDEXES) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+    }
+
+    private void recreateSearchIndexes() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("db/migration/" + vendor() + "/V3__property_search_indexes.sql"));
+        }
+        analyze();
+    }
+
+    private void analyze() {
+        jdbcTemplate.execute(vendor().equals("postgresql") ? "ANALYZE properties" : "ANALYZE TABLE properties");
+    }
+
+    private String vendor() {
+        String url = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getURL());
+        return DatabaseDriver.fromJdbcUrl(url).getId();
+    }
+}
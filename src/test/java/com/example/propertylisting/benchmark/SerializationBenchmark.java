@@ -0,0 +1,126 @@
+package com.example.propertylisting.benchmark;
+
+import com.example.propertylisting.config.MessageConverterConfig;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON, CBOR and Smile on list pages of property responses: bytes per page, bytes per
+ * page after gzip, and encode and decode time per page, for full descriptions and for the list
+ * excerpt. The mappers are configured as the HTTP converters are.
+ * Run with {@code mvn test -Dtest=SerializationBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SerializationBenchmark {
+
+    private static final int PAGES = 500;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final String[] CITIES = {
+            "New York", "Boston", "Chicago", "Houston", "Phoenix", "Seattle", "Denver", "Austin", "Portland", "Miami"
+    };
+    private static final TypeReference<List<PropertyResponse>> PAGE = new TypeReference<>() {
+    };
+
+    @Test
+    void compareFormats() throws IOException {
+        List<List<PropertyResponse>> full = pages(new Random(42));
+        List<List<PropertyResponse>> summary = full.stream()
+                .map(page -> page.stream().map(p -> p.withDescriptionExcerpt(160)).toList())
+                .toList();
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = MessageConverterConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+        ObjectMapper smile = MessageConverterConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+
+        for (String view : new String[] {"full", "summary"}) {
+            List<List<PropertyResponse>> pages = view.equals("full") ? full : summary;
+            measure("JSON, " + view, json, pages);
+            measure("CBOR, " + view, cbor, pages);
+            measure("Smile, " + view, smile, pages);
+        }
+    }
+
+    private static void measure(String label, ObjectMapper mapper, List<List<PropertyResponse>> pages)
+            throws IOException {
+        byte[][] encoded = new byte[pages.size()][];
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < pages.size(); i++) {
+                encoded[i] = mapper.writeValueAsBytes(pages.get(i));
+                mapper.readValue(encoded[i], PAGE);
+            }
+        }
+
+        long[] encode = new long[pages.size()];
+        long[] decode = new long[pages.size()];
+        long bytes = 0;
+        long gzipped = 0;
+        for (int i = 0; i < pages.size(); i++) {
+            long start = System.nanoTime();
+            encoded[i] = mapper.writeValueAsBytes(pages.get(i));
+            encode[i] = System.nanoTime() - start;
+            start = System.nanoTime();
+            List<PropertyResponse> decoded = mapper.readValue(encoded[i], PAGE);
+            decode[i] = System.nanoTime() - start;
+            if (!decoded.equals(pages.get(i))) {
+                throw new AssertionError(label + " did not round-trip page " + i);
+            }
+            bytes += encoded[i].length;
+            gzipped += gzip(encoded[i]).length;
+        }
+        Arrays.sort(encode);
+        Arrays.sort(decode);
+        System.out.printf("%-14s %,7d B/page  %,6d B/page gzipped  encode p50=%,5d us  decode p50=%,5d us%n",
+                label, bytes / pages.size(), gzipped / pages.size(),
+                encode[encode.length / 2] / 1_000, decode[decode.length / 2] / 1_000);
+    }
+
+    private static List<List<PropertyResponse>> pages(Random random) {
+        List<List<PropertyResponse>> pages = new ArrayList<>(PAGES);
+        LocalDateTime epoch = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int page = 0; page < PAGES; page++) {
+            List<PropertyResponse> rows = new ArrayList<>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                int n = page * PAGE_SIZE + i;
+                String city = CITIES[random.nextInt(CITIES.length)];
+                LocalDateTime created = epoch.plusSeconds(random.nextInt(30_000_000))
+                        .plusNanos(random.nextInt(1_000_000) * 1_000L);
+                rows.add(new PropertyResponse(UUID.randomUUID(), "Listing " + n + " in " + city,
+                        ("Bright listing " + n + " close to parks, schools and transport. ").repeat(6),
+                        BigDecimal.valueOf(50_000 + random.nextInt(2_000_000), 2), n + " Main St", city, "USA",
+                        25 + random.nextDouble() * 20, -120 + random.nextDouble() * 50, 1 + random.nextInt(6),
+                        1 + random.nextInt(3), 30.0 + random.nextInt(400),
+                        PropertyType.values()[random.nextInt(PropertyType.values().length)],
+                        created, created.plusDays(random.nextInt(90)), true, (long) random.nextInt(5)));
+            }
+            pages.add(rows);
+        }
+        return pages;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.repository.PropertyRepository;
+import com.example.propertylisting.util.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClusterCacheCoordinatorTest {
+
+    private LoopbackInvalidationBus bus;
+    private ApplicationEventPublisher nodeA;
+    private ApplicationEventPublisher nodeB;
+    private ClusterCacheCoordinator coordinatorA;
+    private ClusterCacheCoordinator coordinatorB;
+    private PropertyRepository propertyRepository;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackInvalidationBus();
+        nodeA = mock(ApplicationEventPublisher.class);
+        nodeB = mock(ApplicationEventPublisher.class);
+        propertyRepository = mock(PropertyRepository.class);
+        PropertyMapper mapper = Mappers.getMapper(PropertyMapper.class);
+        coordinatorA = new ClusterCacheCoordinator(bus, nodeA, propertyRepository, mapper, 100, Duration.ofHours(1));
+        coordinatorB = new ClusterCacheCoordinator(bus, nodeB, propertyRepository, mapper, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void localChange_ShouldBeReplayedOnOtherNodesOnly() {
+        PropertyChangedEvent created = PropertyChangedEvent.created(property(UUID.randomUUID(), "Boston", 1));
+
+        coordinatorA.onPropertyChanged(created);
+
+        verify(nodeB).publishEvent(created.withOrigin(coordinatorA.nodeId()));
+        verifyNoInteractions(nodeA);
+    }
+
+    @Test
+    void replicatedChange_ShouldNotBeBroadcastAgain() {
+        PropertyChangedEvent created = PropertyChangedEvent.created(property(UUID.randomUUID(), "Boston", 1));
+
+        coordinatorB.onPropertyChanged(created.withOrigin(coordinatorA.nodeId()));
+
+        verifyNoInteractions(nodeA, nodeB);
+    }
+
+    @Test
+    void lateUpdate_ShouldBeDropped() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse v1 = property(id, "Boston", 1);
+        PropertyResponse v2 = property(id, "Austin", 2);
+        PropertyResponse v3 = property(id, "Denver", 3);
+
+        bus.publish(PropertyChangedEvent.updated(v2, v3).withOrigin("other"));
+        bus.publish(PropertyChangedEvent.updated(v1, v2).withOrigin("other"));
+
+        verify(nodeB).publishEvent(PropertyChangedEvent.updated(v2, v3).withOrigin("other"));
+        verify(nodeB, never()).publishEvent(PropertyChangedEvent.updated(v1, v2).withOrigin("other"));
+    }
+
+    @Test
+    void newerVersion_ShouldWin_WhenWritersClocksDisagree() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse v1 = property(id, "Boston", 1);
+        PropertyResponse v2 = property(id, "Austin", 2);
+        // Written by a node whose clock runs an hour behind
+        PropertyResponse v3 = new PropertyResponse(id, "Title", "Description", new BigDecimal("100000"), "1 Main St",
+                "Denver", "USA", null, null, 2, 1, 50.0, HOUSE, v1.createdAt(), v1.updatedAt().minusHours(1), true, 3L);
+
+        bus.publish(PropertyChangedEvent.updated(v1, v2).withOrigin("other"));
+        bus.publish(PropertyChangedEvent.updated(v2, v3).withOrigin("other"));
+
+        verify(nodeB).publishEvent(PropertyChangedEvent.updated(v2, v3).withOrigin("other"));
+    }
+
+    @Test
+    void updateArrivingAfterDelete_ShouldNotResurrectListing() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse v1 = property(id, "Boston", 1);
+        PropertyResponse v2 = property(id, "Austin", 2);
+
+        bus.publish(PropertyChangedEvent.deleted(id, v2).withOrigin("other"));
+        bus.publish(PropertyChangedEvent.updated(v1, v2).withOrigin("other"));
+
+        verify(nodeB, times(1)).publishEvent(any(Object.class));
+        verify(nodeB).publishEvent(PropertyChangedEvent.deleted(id, v2).withOrigin("other"));
+    }
+
+    @Test
+    void restore_ShouldBringDeletedListingBack_OnOtherNodes() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse created = property(id, "Boston", 0);
+        // Soft delete and restore each bump the version
+        PropertyResponse restored = property(id, "Boston", 2);
+
+        coordinatorA.onPropertyChanged(PropertyChangedEvent.created(created));
+        coordinatorA.onPropertyChanged(PropertyChangedEvent.deleted(id, null));
+        coordinatorA.onPropertyChanged(PropertyChangedEvent.created(restored));
+        bus.publish(PropertyChangedEvent.created(created).withOrigin("other"));
+
+        String origin = coordinatorA.nodeId();
+        InOrder inOrder = inOrder(nodeB);
+        inOrder.verify(nodeB).publishEvent(PropertyChangedEvent.created(created).withOrigin(origin));
+        inOrder.verify(nodeB).publishEvent(PropertyChangedEvent.deleted(id, null).withOrigin(origin));
+        inOrder.verify(nodeB).publishEvent(PropertyChangedEvent.created(restored).withOrigin(origin));
+        verify(nodeB, times(3)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteArrivingAfterRestore_ShouldBeDropped() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse created = property(id, "Boston", 0);
+        PropertyResponse restored = property(id, "Boston", 2);
+
+        bus.publish(PropertyChangedEvent.created(restored).withOrigin("other"));
+        bus.publish(PropertyChangedEvent.deleted(id, created).withOrigin("other"));
+
+        verify(nodeB, times(1)).publishEvent(any(Object.class));
+        verify(nodeB).publishEvent(PropertyChangedEvent.created(restored).withOrigin("other"));
+    }
+
+    @Test
+    void remoteChange_ShouldBeDropped_WhenOlderThanLocalWrite() {
+        UUID id = UUID.randomUUID();
+        PropertyResponse v1 = property(id, "Boston", 1);
+        PropertyResponse v2 = property(id, "Austin", 2);
+
+        coordinatorB.onPropertyChanged(PropertyChangedEvent.updated(v1, v2));
+        bus.publish(PropertyChangedEvent.updated(v1, v1).withOrigin("other"));
+
+        verify(nodeB, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void changeWithoutListing_ShouldBeReloadedFromDatabase() {
+        Property stored = TestDataFactory.createTestProperty();
+        stored.setId(UUID.randomUUID());
+        stored.setVersion(4L);
+        UUID gone = UUID.randomUUID();
+        when(propertyRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+        when(propertyRepository.findById(gone)).thenReturn(Optional.empty());
+
+        bus.publish(new PropertyChangedEvent(ChangeType.UPDATED, stored.getId(), null, null, "other"));
+        bus.publish(new PropertyChangedEvent(ChangeType.UPDATED, gone, null, null, "other"));
+
+        ArgumentCaptor<PropertyChangedEvent> published = ArgumentCaptor.forClass(PropertyChangedEvent.class);
+        verify(nodeB, times(2)).publishEvent(published.capture());
+        assertThat(published.getAllValues().get(0).after().title()).isEqualTo(stored.getTitle());
+        assertThat(published.getAllValues().get(0).after().version()).isEqualTo(4L);
+        assertThat(published.getAllValues().get(1)).isEqualTo(PropertyChangedEvent.deleted(gone, null)
+                .withOrigin("other"));
+    }
+
+    private static PropertyResponse property(UUID id, String city, int version) {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return new PropertyResponse(id, "Title", "Description", new BigDecimal("100000"), "1 Main St",
+                city, "USA", null, null, 2, 1, 50.0, HOUSE, created, created.plusMinutes(version), true,
+                (long) version);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.model.Property.PropertyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingQueryCacheTest {
+
+    private static final PropertySearchCriteria BOSTON = new PropertySearchCriteria("boston", null, null, null);
+    private static final PropertySearchCriteria CHEAP_HOUSES = new PropertySearchCriteria(null, null, 300_000.0, HOUSE);
+
+    private ListingQueryCache<PropertySearchCriteria, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ListingQueryCache<>("test", 100, Duration.ofMinutes(1), Function.identity(),
+                new SimpleMeterRegistry());
+        cache.get(BOSTON, () -> "boston");
+        cache.get(CHEAP_HOUSES, () -> "cheap houses");
+    }
+
+    @Test
+    void invalidate_ShouldEvictOnlyEntriesMatchingTheListingBeforeOrAfter() {
+        PropertyResponse before = property("Boston", "500000", APARTMENT);
+        PropertyResponse after = property("Austin", "500000", APARTMENT);
+
+        cache.invalidate(PropertyChangedEvent.updated(before, after));
+
+        assertThat(cache.get(BOSTON, () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.get(CHEAP_HOUSES, () -> "reloaded")).isEqualTo("cheap houses");
+    }
+
+    @Test
+    void invalidate_ShouldEvictEverything_WhenPreviousStateIsUnknown() {
+        cache.invalidate(PropertyChangedEvent.deleted(UUID.randomUUID(), null));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_ShouldNotStoreResultComputedWhileAChangeWasApplied() {
+        PropertySearchCriteria austin = new PropertySearchCriteria("austin", null, null, null);
+
+        String result = cache.get(austin, () -> {
+            cache.invalidate(PropertyChangedEvent.created(property("Austin", "200000", HOUSE)));
+            return "stale";
+        });
+
+        assertThat(result).isEqualTo("stale");
+        assertThat(cache.get(austin, () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(austin, () -> "again")).isEqualTo("fresh");
+    }
+
+    private static PropertyResponse property(String city, String price, PropertyType type) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(UUID.randomUUID(), "Title", "Description", new BigDecimal(price), "1 Main St",
+                city, "USA", null, null, 2, 1, 50.0, type, now, now, true, 0L);
+    }
+}
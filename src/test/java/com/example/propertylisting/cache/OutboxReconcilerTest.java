@@ -0,0 +1,79 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyChangeFeed;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.repository.PropertyOutboxCursorRepository;
+import com.example.propertylisting.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxReconcilerTest {
+
+    private LoopbackInvalidationBus bus;
+    private ApplicationEventPublisher publisher;
+    private PropertyOutbox outbox;
+    private OutboxReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackInvalidationBus();
+        publisher = mock(ApplicationEventPublisher.class);
+        outbox = mock(PropertyOutbox.class);
+        ClusterCacheCoordinator coordinator = new ClusterCacheCoordinator(bus, publisher,
+                mock(PropertyRepository.class), Mappers.getMapper(PropertyMapper.class), 100, Duration.ofHours(1));
+        reconciler = new OutboxReconciler(true, 2, Duration.ofSeconds(30), outbox,
+                mock(PropertyOutboxCursorRepository.class), coordinator);
+    }
+
+    @Test
+    void reconcile_ShouldReplayOnlyTheChangesTheBusLost() {
+        PropertyResponse delivered = property(UUID.randomUUID(), 3);
+        PropertyResponse lost = property(UUID.randomUUID(), 1);
+        UUID deleted = UUID.randomUUID();
+        bus.publish(PropertyChangedEvent.created(delivered).withOrigin("other"));
+        clearInvocations(publisher);
+        when(outbox.read(0, 2)).thenReturn(new PropertyChangeFeed(
+                List.of(change(1, ChangeType.UPDATED, delivered), change(2, ChangeType.UPDATED, lost)), 2));
+        when(outbox.read(2, 2)).thenReturn(new PropertyChangeFeed(
+                List.of(new PropertyChange(3, ChangeType.DELETED, deleted, null, LocalDateTime.now(), null)), 3));
+
+        assertThat(reconciler.reconcile()).isEqualTo(3);
+
+        verify(publisher, times(2)).publishEvent(any(Object.class));
+        verify(publisher).publishEvent(new PropertyChangedEvent(ChangeType.UPDATED, lost.id(), null, lost,
+                OutboxReconciler.ORIGIN));
+        verify(publisher).publishEvent(new PropertyChangedEvent(ChangeType.DELETED, deleted, null, null,
+                OutboxReconciler.ORIGIN));
+
+        when(outbox.read(3, 2)).thenReturn(new PropertyChangeFeed(List.of(), 3));
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private static PropertyChange change(long sequence, ChangeType type, PropertyResponse property) {
+        return new PropertyChange(sequence, type, property.id(), property.version(), LocalDateTime.now(), property);
+    }
+
+    private static PropertyResponse property(UUID id, long version) {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return new PropertyResponse(id, "Title", "Description", new BigDecimal("100000"), "1 Main St",
+                "Boston", "USA", null, null, 2, 1, 50.0, HOUSE, created, created, true, version);
+    }
+}
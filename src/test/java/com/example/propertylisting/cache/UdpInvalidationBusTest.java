@@ -0,0 +1,116 @@
+package com.example.propertylisting.cache;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UdpInvalidationBusTest {
+
+    private static final String SECRET = "shared-secret-for-the-cache-bus";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private UdpInvalidationBus receiver;
+    private UdpInvalidationBus sender;
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.close();
+        }
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
+    @Test
+    void publish_ShouldDeliverEventToPeer() throws Exception {
+        BlockingQueue<PropertyChangedEvent> received = connect(SECRET, SECRET);
+        PropertyChangedEvent event = PropertyChangedEvent.updated(property("Boston", "Description"),
+                property("Austin", "Description")).withOrigin("node-a");
+
+        sender.publish(event);
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(event);
+    }
+
+    @Test
+    void publish_ShouldSendOnlyTheId_WhenEventDoesNotFitADatagram() throws Exception {
+        BlockingQueue<PropertyChangedEvent> received = connect(SECRET, SECRET);
+        // Random text, so it does not compress below the datagram limit
+        String description = new Random(1).ints(100_000, 'a', 'z' + 1)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString();
+        PropertyChangedEvent event = PropertyChangedEvent.updated(property("Boston", description),
+                property("Austin", description)).withOrigin("node-a");
+
+        sender.publish(event);
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(
+                new PropertyChangedEvent(ChangeType.UPDATED, event.id(), null, null, "node-a"));
+    }
+
+    @Test
+    void receive_ShouldDropDatagrams_WithBadMacOrFromStrangers() throws Exception {
+        BlockingQueue<PropertyChangedEvent> received = connect("a-different-shared-secret", SECRET);
+        PropertyChangedEvent event = PropertyChangedEvent.created(property("Boston", "Description"));
+
+        sender.publish(event.withOrigin("forged"));
+        UdpInvalidationBus stranger = new UdpInvalidationBus(objectMapper, 0, List.of("localhost:" + receiver.port()),
+                SECRET);
+        try {
+            stranger.publish(event.withOrigin("stranger"));
+            assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            stranger.close();
+        }
+    }
+
+    /**
+     * Makes {@link #sender} and {@link #receiver} peers of each other, signing with the given secrets.
+     */
+    private BlockingQueue<PropertyChangedEvent> connect(String senderSecret, String receiverSecret)
+            throws Exception {
+        int senderPort = freePort();
+        int receiverPort = freePort();
+        receiver = new UdpInvalidationBus(objectMapper, receiverPort, List.of("localhost:" + senderPort),
+                receiverSecret);
+        sender = new UdpInvalidationBus(objectMapper, senderPort, List.of("localhost:" + receiverPort), senderSecret);
+        BlockingQueue<PropertyChangedEvent> received = new ArrayBlockingQueue<>(1);
+        receiver.subscribe(received::add);
+        return received;
+    }
+
+    private static int freePort() throws SocketException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static PropertyResponse property(String city, String description) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return new PropertyResponse(UUID.fromString("00000000-0000-0000-0000-000000000001"), "Title", description,
+                new BigDecimal("100000"), "1 Main St", city, "USA", 40.7, -74.0, 2, 1, 50.0, HOUSE, now, now, true, 0L);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.propertylisting.config;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageConverterConfigTest {
+
+    private final MessageConverterConfig config = new MessageConverterConfig();
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void binaryConverters_ShouldRoundTripResponses_ExactlyAndSmallerThanJson() throws Exception {
+        PropertyResponse property = withExactValues(TestDataFactory.createTestPropertyResponse());
+        int jsonBytes = jsonMapper.writeValueAsBytes(property).length;
+
+        for (AbstractJackson2HttpMessageConverter converter : new AbstractJackson2HttpMessageConverter[] {
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())}) {
+            MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(property, mediaType, output);
+            byte[] body = output.getBodyAsBytes();
+
+            Object read = converter.read(PropertyResponse.class, new MockHttpInputMessage(body));
+
+            assertThat(read).as(mediaType.toString()).isEqualTo(property);
+            assertThat(body.length).as(mediaType.toString()).isLessThan(jsonBytes);
+        }
+    }
+
+    private static PropertyResponse withExactValues(PropertyResponse p) {
+        return new PropertyResponse(p.id(), p.title(), p.description(), new BigDecimal("350000.10"), p.address(),
+                p.city(), p.country(), 40.7128, -74.006, p.bedrooms(), p.bathrooms(), p.area(), p.type(),
+                LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), LocalDateTime.of(2024, 6, 2, 8, 0),
+                p.active(), 7L);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.propertylisting.controller;
+
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.security.JwtService;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.example.propertylisting.service.PropertyClusterService;
+import com.example.propertylisting.service.PropertyFacetService;
+import com.example.propertylisting.service.PropertyService;
+import com.example.propertylisting.service.PropertyWriteQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static com.example.propertylisting.model.Property.PropertyType.VILLA;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * How the listing endpoints bind their filter parameters. Security filters are left out: access
+ * rules are not what is under test here.
+ */
+@WebMvcTest(PropertyController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@MockitoBean(types = JpaMetamodelMappingContext.class)
+class PropertyControllerFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PropertyService propertyService;
+
+    @MockitoBean
+    private PropertyFacetService propertyFacetService;
+
+    @MockitoBean
+    private PropertyClusterService propertyClusterService;
+
+    @MockitoBean
+    private PropertyBulkService propertyBulkService;
+
+    @MockitoBean
+    private PropertyWriteQueue propertyWriteQueue;
+
+    @MockitoBean
+    private PropertyOutbox propertyOutbox;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void getAllProperties_ShouldBindMultiValueAndRangeFilters() throws Exception {
+        when(propertyService.getAllProperties(any(Pageable.class), any(PropertySearchCriteria.class), any()))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/properties")
+                        .param("type", "house,villa")
+                        .param("type", "castle")
+                        .param("country", "USA", "Canada")
+                        .param("minBedrooms", "2")
+                        .param("maxBathrooms", "3")
+                        .param("minArea", "50.5"))
+                .andExpect(status().isOk());
+
+        verify(propertyService).getAllProperties(any(Pageable.class), eq(new PropertySearchCriteria(null, null, null,
+                Set.of(HOUSE, VILLA), null, Set.of("usa", "canada"), 2, null, null, 3, 50.5, null)), any());
+    }
+
+    @Test
+    void facetsAndClusters_ShouldTakeTheSameFiltersAsTheList() throws Exception {
+        PropertySearchCriteria criteria = new PropertySearchCriteria("Boston", null, null, Set.of(HOUSE, VILLA),
+                GeoArea.of(null, null, null, 40.0, -75.0, 45.0, -70.0), Set.of("usa"), 3, null, null, null, null, null);
+
+        mockMvc.perform(get("/api/v1/properties/facets")
+                        .param("city", "Boston")
+                        .param("type", "house", "villa")
+                        .param("country", "USA")
+                        .param("minBedrooms", "3")
+                        .param("south", "40").param("west", "-75").param("north", "45").param("east", "-70"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/properties/clusters")
+                        .param("columns", "8")
+                        .param("city", "Boston")
+                        .param("type", "house,villa")
+                        .param("country", "USA")
+                        .param("minBedrooms", "3")
+                        .param("south", "40").param("west", "-75").param("north", "45").param("east", "-70"))
+                .andExpect(status().isOk());
+
+        verify(propertyFacetService).getFacets(criteria);
+        verify(propertyClusterService).getClusters(criteria, 8);
+    }
+
+    @Test
+    void getClusters_ShouldRequireAViewport() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/clusters").param("city", "Boston"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/properties/clusters")
+                        .param("lat", "42").param("lng", "-71").param("radiusKm", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPropertiesByCursor_ShouldBindTheListFilters() throws Exception {
+        mockMvc.perform(get("/api/v1/properties")
+                        .param("cursor", "")
+                        .param("country", "USA,Canada")
+                        .param("country", "Mexico")
+                        .param("maxArea", "120"))
+                .andExpect(status().isOk());
+
+        verify(propertyService).getPropertiesAfter(eq(new PropertySearchCriteria(null, null, null, Set.of(), null,
+                Set.of("usa", "canada", "mexico"), null, null, null, null, null, 120.0)), eq(""), eq(20), any(), any());
+    }
+}
@@ -2,8 +2,13 @@ package com.example.propertylisting.controller;
 
 import com.example.propertylisting.dto.PropertyRequest;
 import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
 import com.example.propertylisting.model.Property;
+import com.example.propertylisting.outbox.PropertyOutbox;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.example.propertylisting.service.PropertyFacetService;
 import com.example.propertylisting.service.PropertyService;
+import com.example.propertylisting.service.PropertyWriteQueue;
 import com.example.propertylisting.security.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +49,18 @@ class PropertyControllerTest {
     @MockBean
     private PropertyService propertyService;
 
+    @MockBean
+    private PropertyFacetService propertyFacetService;
+
+    @MockBean
+    private PropertyBulkService propertyBulkService;
+
+    @MockBean
+    private PropertyWriteQueue propertyWriteQueue;
+
+    @MockBean
+    private PropertyOutbox propertyOutbox;
+
     @MockBean
     private JwtService jwtService;
 
@@ -82,14 +99,16 @@ class PropertyControllerTest {
                 "123 Main St",
                 "New York",
                 "USA",
+                null,
+                null,
                 2,
                 2,
                 85.5,
                 APARTMENT,
                 now,
                 now,
-                true
-        );
+                true,
+                0L);
 
         testPropertyRequest = new PropertyRequest(
                 "Modern Apartment",
@@ -98,6 +117,8 @@ class PropertyControllerTest {
                 "123 Main St",
                 "New York",
                 "USA",
+                null,
+                null,
                 2,
                 2,
                 85.5,
@@ -146,8 +167,7 @@ class PropertyControllerTest {
     @Test
     void getAllProperties_ShouldReturnPageOfProperties() throws Exception {
         Page<PropertyResponse> propertyPage = new PageImpl<>(Collections.singletonList(testPropertyResponse));
-        when(propertyService.getAllProperties(any(Pageable.class),
-                any(), any(), any(), any()))
+        when(propertyService.getAllProperties(any(Pageable.class), any(PropertySearchCriteria.class), any()))
                 .thenReturn(propertyPage);
 
         mockMvc.perform(get("/api/v1/properties"))
@@ -188,6 +208,8 @@ class PropertyControllerTest {
                 "", // invalid: empty address
                 "", // invalid: empty city
                 "", // invalid: empty country
+                null,
+                null,
                 -1, // invalid: negative bedrooms
                 -1, // invalid: negative bathrooms
                 -1.0, // invalid: negative area
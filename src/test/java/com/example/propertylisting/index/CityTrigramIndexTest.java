@@ -0,0 +1,79 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CityTrigramIndexTest {
+
+    private CityTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CityTrigramIndex(true, 1000);
+    }
+
+    @Test
+    void resolve_ShouldBeEmpty_UntilReady() {
+        index.put(property(UUID.randomUUID(), "Boston"));
+
+        assertThat(index.resolve("bos")).isEmpty();
+
+        index.markReady();
+        assertThat(index.resolve("bos").orElseThrow()).containsExactly("Boston");
+    }
+
+    @Test
+    void resolve_ShouldMatchSubstringsIgnoringCase() {
+        index.put(property(UUID.randomUUID(), "New York"));
+        index.put(property(UUID.randomUUID(), "new york"));
+        index.put(property(UUID.randomUUID(), "Newark"));
+        index.put(property(UUID.randomUUID(), "Boston"));
+        index.markReady();
+
+        assertThat(index.resolve("EW Y").orElseThrow()).containsExactlyInAnyOrder("New York", "new york");
+        assertThat(index.resolve("new").orElseThrow()).containsExactlyInAnyOrder("New York", "new york", "Newark");
+        assertThat(index.resolve("o").orElseThrow()).containsExactlyInAnyOrder("New York", "new york", "Boston");
+        assertThat(index.resolve("yorkshire").orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void resolve_ShouldTrackUpdatesAndDeletes() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.put(property(first, "Boston"));
+        index.put(property(second, "Boston"));
+        index.markReady();
+
+        index.put(property(first, "Austin"));
+        assertThat(index.resolve("bost").orElseThrow()).containsExactly("Boston");
+        assertThat(index.resolve("aust").orElseThrow()).containsExactly("Austin");
+
+        index.remove(second);
+        assertThat(index.resolve("bost").orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void resolve_ShouldGiveUp_WhenMatchIsTooBroad() {
+        CityTrigramIndex narrow = new CityTrigramIndex(true, 1);
+        narrow.put(property(UUID.randomUUID(), "Springfield"));
+        narrow.put(property(UUID.randomUUID(), "Springdale"));
+        narrow.markReady();
+
+        assertThat(narrow.resolve("spring")).isEmpty();
+        assertThat(narrow.resolve("field").orElseThrow()).containsExactly("Springfield");
+    }
+
+    private static PropertyResponse property(UUID id, String city) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(id, "Title", "Description", new BigDecimal("100000"), "1 Main St", city, "USA",
+                null, null, 2, 1, 50.0, PropertyType.HOUSE, now, now, true, 0L);
+    }
+}
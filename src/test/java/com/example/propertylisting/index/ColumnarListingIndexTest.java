@@ -0,0 +1,146 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static com.example.propertylisting.model.Property.PropertyType.VILLA;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarListingIndexTest {
+
+    private static final PropertySearchCriteria NO_FILTER = new PropertySearchCriteria(null, null, null, null);
+
+    private ColumnarListingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ColumnarListingIndex(true);
+        index.put(property("Flat", "New York", "250000", 2, 80.0, APARTMENT));
+        index.put(property("Loft", "new york", "400000", 1, null, APARTMENT));
+        index.put(property("Cottage", "Boston", "300000", 3, 120.0, HOUSE));
+        index.put(property("Estate", "Newark", "900000", null, 500.0, VILLA));
+        index.markReady();
+    }
+
+    @Test
+    void search_ShouldMatchCityCaseInsensitiveSubstring() {
+        Page<PropertyResponse> result = index.search(
+                new PropertySearchCriteria("NEW", null, null, null), PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void search_ShouldCombinePriceAndTypeFilters() {
+        Page<PropertyResponse> result = index.search(
+                new PropertySearchCriteria(null, 260000.0, 500000.0, APARTMENT), PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(PropertyResponse::title).containsExactly("Loft");
+    }
+
+    @Test
+    void search_ShouldApplyMultiValueAndRangeFilters_WithMissingValuesFailingBounds() {
+        PropertySearchCriteria housesOrVillas = new PropertySearchCriteria(null, null, null, Set.of(HOUSE, VILLA),
+                null, Set.of("usa"), null, null, null, null, 100.0, null);
+        PropertySearchCriteria twoBedrooms = new PropertySearchCriteria(null, null, null, null,
+                null, null, 2, null, 1, 1, null, null);
+
+        assertThat(index.search(housesOrVillas, PageRequest.of(0, 10)).getContent())
+                .extracting(PropertyResponse::title).containsExactlyInAnyOrder("Cottage", "Estate");
+        assertThat(index.search(twoBedrooms, PageRequest.of(0, 10)).getContent())
+                .extracting(PropertyResponse::title).containsExactlyInAnyOrder("Flat", "Cottage");
+        assertThat(index.search(housesOrVillas.withCity("york"), PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_ShouldSortAndPage() {
+        Pageable secondPage = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price"));
+
+        Page<PropertyResponse> result = index.search(NO_FILTER, secondPage);
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting(PropertyResponse::title).containsExactly("Cottage", "Flat");
+    }
+
+    @Test
+    void search_ShouldSortNullsLast() {
+        Page<PropertyResponse> ascending = index.search(NO_FILTER, PageRequest.of(0, 10, Sort.by("area")));
+        Page<PropertyResponse> descending = index.search(NO_FILTER,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "bedrooms")));
+
+        assertThat(ascending.getContent()).extracting(PropertyResponse::title)
+                .containsExactly("Flat", "Cottage", "Estate", "Loft");
+        assertThat(descending.getContent()).extracting(PropertyResponse::title)
+                .containsExactly("Cottage", "Flat", "Loft", "Estate");
+    }
+
+    @Test
+    void put_ShouldReplaceExistingRow_AndRemoveShouldDropIt() {
+        PropertyResponse cottage = index.search(new PropertySearchCriteria("Boston", null, null, null),
+                PageRequest.of(0, 1)).getContent().get(0);
+
+        index.put(copyWithCity(cottage, "Chicago"));
+        assertThat(index.search(new PropertySearchCriteria("Boston", null, null, null), PageRequest.of(0, 10)))
+                .isEmpty();
+        assertThat(index.search(new PropertySearchCriteria("Chicago", null, null, null), PageRequest.of(0, 10)))
+                .hasSize(1);
+
+        index.remove(cottage.id());
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(new PropertySearchCriteria("Chicago", null, null, null), PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    void canServe_ShouldRejectUnknownSortProperty_AndDisabledIndex() {
+        assertThat(index.canServe(NO_FILTER, PageRequest.of(0, 10, Sort.by("price")))).isTrue();
+        assertThat(index.canServe(NO_FILTER, PageRequest.of(0, 10, Sort.by("description")))).isFalse();
+
+        ColumnarListingIndex disabled = new ColumnarListingIndex(false);
+        disabled.markReady();
+        assertThat(disabled.canServe(NO_FILTER, PageRequest.of(0, 10))).isFalse();
+    }
+
+    @Test
+    void put_ShouldIgnoreOlderVersion_EvenWithLaterTimestamp() {
+        PropertyResponse current = property("Cottage v2", "Boston", "310000", 3, 120.0, HOUSE);
+        PropertyResponse newer = new PropertyResponse(current.id(), current.title(), current.description(),
+                current.price(), current.address(), current.city(), current.country(), null, null, 3, 1, 120.0,
+                HOUSE, current.createdAt(), current.updatedAt().minusHours(1), true, 2L);
+        PropertyResponse late = new PropertyResponse(current.id(), "Cottage v1", current.description(),
+                current.price(), current.address(), "Denver", current.country(), null, null, 3, 1, 120.0,
+                HOUSE, current.createdAt(), current.updatedAt().plusHours(1), true, 1L);
+
+        index.put(newer);
+        index.put(late);
+
+        assertThat(index.search(new PropertySearchCriteria("Denver", null, null, null), PageRequest.of(0, 10))
+                .getTotalElements()).isZero();
+    }
+
+    private static PropertyResponse property(String title, String city, String price, Integer bedrooms,
+                                             Double area, PropertyType type) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(UUID.randomUUID(), title, "Description of " + title, new BigDecimal(price),
+                "1 Main St", city, "USA", null, null, bedrooms, 1, area, type, now, now, true, 0L);
+    }
+
+    private static PropertyResponse copyWithCity(PropertyResponse p, String city) {
+        return new PropertyResponse(p.id(), p.title(), p.description(), p.price(), p.address(), city, p.country(),
+                p.latitude(), p.longitude(), p.bedrooms(), p.bathrooms(), p.area(), p.type(), p.createdAt(), LocalDateTime.now(), p.active(), p.version());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextIndexTest {
+
+    private static final PropertySearchCriteria NO_FILTER = new PropertySearchCriteria(null, null, null, null);
+
+    private FullTextIndex index;
+    private PropertyResponse gardenFlat;
+    private PropertyResponse loft;
+    private PropertyResponse cottage;
+
+    @BeforeEach
+    void setUp() {
+        index = new FullTextIndex(true, Runnable::run);
+        gardenFlat = property("Garden flat", "Quiet flat with a private garden and parking", "Boston", "300000", APARTMENT);
+        loft = property("Loft", "Open-plan loft, shared garden, close to the station", "New York", "450000", APARTMENT);
+        cottage = property("Stone cottage", "Cottage with garden views and a fireplace", "Austin", "350000", HOUSE);
+        index.put(gardenFlat);
+        index.put(loft);
+        index.put(cottage);
+        index.markReady();
+    }
+
+    @Test
+    void terms_ShouldLowerCaseAndSplitOnPunctuation() {
+        assertThat(FullTextIndex.terms("Open-plan LOFT, 2 beds & a garden!"))
+                .containsExactly("open", "plan", "loft", "beds", "garden");
+    }
+
+    @Test
+    void search_ShouldRequireEveryTerm_AndRankTitleMatchesFirst() {
+        Page<UUID> garden = index.search("garden", NO_FILTER, PageRequest.of(0, 10));
+        Page<UUID> gardenParking = index.search("Garden parking", NO_FILTER, PageRequest.of(0, 10));
+
+        assertThat(garden.getTotalElements()).isEqualTo(3);
+        assertThat(garden.getContent().get(0)).isEqualTo(gardenFlat.id());
+        assertThat(gardenParking.getContent()).containsExactly(gardenFlat.id());
+        assertThat(index.search("garden pool", NO_FILTER, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_ShouldApplyCriteriaAndPaging() {
+        Page<UUID> houses = index.search("garden", new PropertySearchCriteria(null, null, null, HOUSE),
+                PageRequest.of(0, 10));
+        Page<UUID> secondPage = index.search("garden", NO_FILTER, PageRequest.of(1, 2));
+
+        assertThat(houses.getContent()).containsExactly(cottage.id());
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+        assertThat(secondPage.getContent()).hasSize(1);
+    }
+
+    @Test
+    void put_ShouldReplaceTerms_AndRemoveShouldDropDocument() {
+        index.put(property(loft.id(), "Loft", "Open-plan loft with roof terrace", "New York", "450000", APARTMENT));
+
+        assertThat(index.search("garden", NO_FILTER, PageRequest.of(0, 10)).getContent())
+                .doesNotContain(loft.id());
+        assertThat(index.search("terrace", NO_FILTER, PageRequest.of(0, 10)).getContent())
+                .containsExactly(loft.id());
+
+        index.remove(loft.id());
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("terrace", NO_FILTER, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void put_ShouldKeepResultsCorrect_AcrossCompaction() {
+        for (int i = 0; i < 3_000; i++) {
+            index.put(property(loft.id(), "Loft " + i, "Loft number " + i, "New York", "450000", APARTMENT));
+        }
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("loft", NO_FILTER, PageRequest.of(0, 10)).getContent()).containsExactly(loft.id());
+        assertThat(index.search("2999", NO_FILTER, PageRequest.of(0, 10)).getContent()).containsExactly(loft.id());
+        assertThat(index.search("garden", NO_FILTER, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void put_ShouldIgnoreAnOlderVersion() {
+        index.put(property(loft.id(), "Loft", "Loft with roof terrace", "New York", "450000", APARTMENT, 5L));
+        index.put(property(loft.id(), "Loft", "Loft with a balcony", "New York", "450000", APARTMENT, 4L));
+
+        assertThat(index.search("terrace", NO_FILTER, PageRequest.of(0, 10)).getContent())
+                .containsExactly(loft.id());
+        assertThat(index.search("balcony", NO_FILTER, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void compaction_ShouldDropTermsNoDocumentUses() {
+        for (int i = 0; i < 3_000; i++) {
+            index.put(property(loft.id(), "Loft", "Loft number " + i, "New York", "450000", APARTMENT));
+        }
+
+        assertThat(index.termCount()).isLessThan(1_100);
+        assertThat(index.search("2999", NO_FILTER, PageRequest.of(0, 10)).getContent()).containsExactly(loft.id());
+        assertThat(index.search("1500", NO_FILTER, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void compaction_ShouldReplayWritesMadeWhileItRuns() {
+        List<Runnable> pending = new ArrayList<>();
+        FullTextIndex deferred = new FullTextIndex(true, pending::add);
+        deferred.put(gardenFlat);
+        deferred.put(cottage);
+        for (int i = 0; i < 1_100; i++) {
+            deferred.put(property(loft.id(), "Loft", "Loft number " + i, "New York", "450000", APARTMENT));
+        }
+        assertThat(pending).hasSize(1);
+        deferred.put(property(cottage.id(), "Stone cottage", "Cottage with a fireplace", "Austin", "350000", HOUSE));
+        deferred.remove(gardenFlat.id());
+
+        pending.get(0).run();
+
+        assertThat(deferred.size()).isEqualTo(2);
+        assertThat(deferred.termCount()).isLessThan(200);
+        assertThat(deferred.search("fireplace", NO_FILTER, PageRequest.of(0, 10)).getContent())
+                .containsExactly(cottage.id());
+        assertThat(deferred.search("1099", NO_FILTER, PageRequest.of(0, 10)).getContent())
+                .containsExactly(loft.id());
+    }
+
+    private static PropertyResponse property(String title, String description, String city, String price,
+                                             PropertyType type) {
+        return property(UUID.randomUUID(), title, description, city, price, type);
+    }
+
+    private static PropertyResponse property(UUID id, String title, String description, String city, String price,
+                                             PropertyType type) {
+        return property(id, title, description, city, price, type, 0L);
+    }
+
+    private static PropertyResponse property(UUID id, String title, String description, String city, String price,
+                                             PropertyType type, Long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(id, title, description, new BigDecimal(price),
+                "1 Main St", city, "USA", null, null, 2, 1, 80.0, type, now, now, true, version);
+    }
+}
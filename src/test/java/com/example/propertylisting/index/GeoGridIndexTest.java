@@ -0,0 +1,115 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.GeoArea.BoundingBox;
+import com.example.propertylisting.dto.PropertyCluster;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoGridIndexTest {
+
+    private static final PropertySearchCriteria NO_FILTER = new PropertySearchCriteria(null, null, null, null);
+
+    private GeoGridIndex index;
+    private PropertyResponse midtown;
+    private PropertyResponse brooklyn;
+    private PropertyResponse boston;
+    private PropertyResponse fiji;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex(true, 0.05, 100);
+        midtown = property(40.754, -73.984, APARTMENT);
+        brooklyn = property(40.678, -73.944, HOUSE);
+        boston = property(42.360, -71.058, HOUSE);
+        fiji = property(-17.8, 179.9, HOUSE);
+        List.of(midtown, brooklyn, boston, fiji).forEach(index::put);
+        index.put(property(null, null, HOUSE));
+        index.markReady();
+    }
+
+    @Test
+    void resolve_ShouldReturnListingsInsideRadius() {
+        assertThat(index.resolve(new GeoArea.Radius(40.75, -73.98, 3))).contains(Set.of(midtown.id()));
+        assertThat(index.resolve(new GeoArea.Radius(40.72, -73.96, 10)))
+                .contains(Set.of(midtown.id(), brooklyn.id()));
+    }
+
+    @Test
+    void resolve_ShouldHandleBoxesAcrossTheAntimeridian() {
+        assertThat(index.resolve(new BoundingBox(-20, 179, -15, -179))).contains(Set.of(fiji.id()));
+    }
+
+    @Test
+    void resolve_ShouldDecline_WhenTooManyCandidates_OrNotReady() {
+        GeoGridIndex small = new GeoGridIndex(true, 0.05, 1);
+        List.of(midtown, brooklyn).forEach(small::put);
+        assertThat(small.resolve(new GeoArea.Radius(40.72, -73.96, 10))).isEmpty();
+
+        small.markReady();
+        assertThat(small.resolve(new GeoArea.Radius(40.72, -73.96, 10))).isEmpty();
+        assertThat(small.resolve(new GeoArea.Radius(40.75, -73.98, 3))).contains(Set.of(midtown.id()));
+    }
+
+    @Test
+    void put_ShouldMoveListing_AndRemoveShouldDropIt() {
+        index.put(copyAt(brooklyn, 42.361, -71.057));
+        assertThat(index.resolve(new GeoArea.Radius(42.36, -71.06, 2))).contains(Set.of(boston.id(), brooklyn.id()));
+
+        index.remove(boston.id());
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.resolve(new GeoArea.Radius(42.36, -71.06, 2))).contains(Set.of(brooklyn.id()));
+    }
+
+    @Test
+    void clusters_ShouldGroupViewportIntoCells_AndApplyFilters() {
+        BoundingBox northEast = new BoundingBox(38, -76, 44, -70);
+
+        List<PropertyCluster> unfiltered = index.clusters(northEast, 4, NO_FILTER);
+        List<PropertyCluster> houses = index.clusters(northEast, 4,
+                new PropertySearchCriteria(null, null, null, HOUSE, northEast));
+
+        assertThat(unfiltered).extracting(PropertyCluster::count).containsExactlyInAnyOrder(2L, 1L);
+        assertThat(unfiltered).filteredOn(c -> c.count() == 2).singleElement()
+                .satisfies(c -> assertThat(c.latitude()).isBetween(40.67, 40.76));
+        assertThat(houses).extracting(PropertyCluster::count).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void of_ShouldRejectIncompleteOrInvalidAreas() {
+        assertThat(GeoArea.of(null, null, null, null, null, null, null)).isNull();
+        assertThatThrownBy(() -> GeoArea.of(40.0, -73.0, null, null, null, null, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> GeoArea.of(null, null, null, 10.0, 0.0, 5.0, 1.0))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> GeoArea.of(95.0, 0.0, 1.0, null, null, null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static PropertyResponse property(Double latitude, Double longitude, PropertyType type) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(UUID.randomUUID(), "Title", "Description", new BigDecimal("100000"), "1 Main St",
+                "City", "USA", latitude, longitude, 2, 1, 50.0, type, now, now, true, 0L);
+    }
+
+    private static PropertyResponse copyAt(PropertyResponse p, double latitude, double longitude) {
+        return new PropertyResponse(p.id(), p.title(), p.description(), p.price(), p.address(), p.city(),
+                p.country(), latitude, longitude, p.bedrooms(), p.bathrooms(), p.area(), p.type(),
+                p.createdAt(), p.updatedAt(), p.active(), p.version());
+    }
+}
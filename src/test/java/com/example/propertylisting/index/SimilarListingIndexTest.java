@@ -0,0 +1,146 @@
+package com.example.propertylisting.index;
+
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.model.Property.PropertyType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarListingIndexTest {
+
+    @Test
+    void nearest_ShouldPreferSameCityAndType_AndExcludeTheListingItself() {
+        SimilarListingIndex index = new SimilarListingIndex(true, 0.5, 1.0, 160);
+        PropertyResponse subject = property("Boston", HOUSE, 500_000, 120.0, 3, 2, true);
+        PropertyResponse twin = property("boston", HOUSE, 520_000, 125.0, 3, 2, true);
+        PropertyResponse flat = property("Boston", APARTMENT, 500_000, 120.0, 3, 2, true);
+        PropertyResponse elsewhere = property("Austin", HOUSE, 500_000, 120.0, 3, 2, true);
+        PropertyResponse mansion = property("Boston", HOUSE, 5_000_000, 600.0, 8, 6, true);
+        List.of(subject, twin, flat, elsewhere, mansion).forEach(index::put);
+
+        assertThat(index.nearest(subject, 3)).extracting(PropertyResponse::id)
+                .containsExactly(twin.id(), flat.id(), elsewhere.id());
+        assertThat(index.nearest(subject, 10)).hasSize(4).extracting(PropertyResponse::id)
+                .doesNotContain(subject.id());
+    }
+
+    @Test
+    void put_ShouldDropInactiveListings_AndRemoveShouldForgetThem() {
+        SimilarListingIndex index = new SimilarListingIndex(true, 1.0, 1.0, 160);
+        PropertyResponse subject = property("Boston", HOUSE, 500_000, 120.0, 3, 2, true);
+        PropertyResponse twin = property("Boston", HOUSE, 510_000, 120.0, 3, 2, true);
+        PropertyResponse other = property("Boston", HOUSE, 900_000, 200.0, 4, 3, true);
+        List.of(subject, twin, other).forEach(index::put);
+
+        index.put(copyOf(twin, false));
+        assertThat(index.nearest(subject, 1)).extracting(PropertyResponse::id).containsExactly(other.id());
+
+        index.remove(other.id());
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.nearest(subject, 5)).isEmpty();
+    }
+
+    @Test
+    void nearest_ShouldMatchBruteForce() {
+        Random random = new Random(7);
+        String[] cities = {"Boston", "New York", "Newark", "Austin", "York"};
+        PropertyType[] types = PropertyType.values();
+        SimilarListingIndex index = new SimilarListingIndex(true, 0.5, 2.0, 160);
+        Map<UUID, PropertyResponse> live = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            PropertyResponse property = property(cities[random.nextInt(cities.length)],
+                    types[random.nextInt(types.length)], 50_000 + random.nextInt(2_000_000),
+                    random.nextInt(10) == 0 ? null : 20.0 + random.nextInt(400),
+                    random.nextInt(10) == 0 ? null : 1 + random.nextInt(6),
+                    random.nextInt(10) == 0 ? null : 1 + random.nextInt(4), true);
+            index.put(property);
+            live.put(property.id(), property);
+        }
+        List<UUID> ids = new ArrayList<>(live.keySet());
+        for (int i = 0; i < 300; i++) {
+            live.remove(ids.get(i));
+            index.remove(ids.get(i));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            PropertyResponse subject = live.get(ids.get(300 + random.nextInt(ids.size() - 300)));
+            List<UUID> expected = bruteForce(live.values(), subject, 0.5, 2.0, 10);
+            assertThat(index.nearest(subject, 10)).extracting(PropertyResponse::id).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static List<UUID> bruteForce(Iterable<PropertyResponse> all, PropertyResponse subject,
+                                         double typePenalty, double cityPenalty, int k) {
+        List<double[]> points = new ArrayList<>();
+        all.forEach(p -> points.add(coordinates(p)));
+        double[] weights = new double[4];
+        for (int d = 0; d < 4; d++) {
+            double sum = 0;
+            double squares = 0;
+            int count = 0;
+            for (double[] point : points) {
+                if (!Double.isNaN(point[d])) {
+                    sum += point[d];
+                    squares += point[d] * point[d];
+                    count++;
+                }
+            }
+            double mean = sum / count;
+            weights[d] = 1 / (squares / count - mean * mean);
+        }
+
+        double[] query = coordinates(subject);
+        Map<UUID, Double> distances = new HashMap<>();
+        for (PropertyResponse candidate : all) {
+            if (candidate.id().equals(subject.id())) {
+                continue;
+            }
+            double[] point = coordinates(candidate);
+            double distance = 0;
+            for (int d = 0; d < 4; d++) {
+                distance += Double.isNaN(point[d]) || Double.isNaN(query[d])
+                        ? 1 : weights[d] * (point[d] - query[d]) * (point[d] - query[d]);
+            }
+            distance += candidate.type() == subject.type() ? 0 : typePenalty;
+            distance += candidate.city().equalsIgnoreCase(subject.city()) ? 0 : cityPenalty;
+            distances.put(candidate.id(), distance);
+        }
+        return distances.keySet().stream()
+                .sorted(Comparator.comparing((UUID id) -> distances.get(id)).thenComparing(Comparator.naturalOrder()))
+                .limit(k)
+                .toList();
+    }
+
+    private static double[] coordinates(PropertyResponse p) {
+        return new double[]{
+                Math.log(p.price().doubleValue()),
+                p.area() != null ? Math.log1p(p.area()) : Double.NaN,
+                p.bedrooms() != null ? p.bedrooms() : Double.NaN,
+                p.bathrooms() != null ? p.bathrooms() : Double.NaN};
+    }
+
+    private static PropertyResponse property(String city, PropertyType type, long price, Double area,
+                                             Integer bedrooms, Integer bathrooms, boolean active) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(UUID.randomUUID(), "Title", "Description", BigDecimal.valueOf(price),
+                "1 Main St", city, "USA", null, null, bedrooms, bathrooms, area, type, now, now, active, 0L);
+    }
+
+    private static PropertyResponse copyOf(PropertyResponse p, boolean active) {
+        return new PropertyResponse(p.id(), p.title(), p.description(), p.price(), p.address(), p.city(),
+                p.country(), p.latitude(), p.longitude(), p.bedrooms(), p.bathrooms(), p.area(), p.type(),
+                p.createdAt(), p.updatedAt(), active, 0L);
+    }
+}
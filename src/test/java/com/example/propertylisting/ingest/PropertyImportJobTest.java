@@ -0,0 +1,149 @@
+package com.example.propertylisting.ingest;
+
+import com.example.propertylisting.dto.ImportFormat;
+import com.example.propertylisting.dto.PropertyImportStatus;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.repository.PropertyRepository;
+import com.example.propertylisting.service.PropertyBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyImportJobTest {
+
+    private static final String CSV_HEADER = "title,description,price,address,city,country,bedrooms,type";
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<String> written = new ArrayList<>();
+    private final ExecutorService writerPool = Executors.newFixedThreadPool(2);
+    private PropertyBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new PropertyBulkService(propertyRepository, Mappers.getMapper(PropertyMapper.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, transactionManager,
+                eventPublisher);
+        ReflectionTestUtils.setField(bulkService, "chunkSize", 2);
+        when(propertyRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Property> properties = invocation.getArgument(0);
+            synchronized (written) {
+                properties.forEach(property -> {
+                    property.setId(UUID.randomUUID());
+                    written.add(property.getTitle());
+                });
+            }
+            return properties;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerPool.shutdownNow();
+    }
+
+    @Test
+    void run_ShouldImportCsv_WithQuotedFieldsAndRejects_AndCheckpointCompletion() throws Exception {
+        Path file = write("listings.csv", "\uFEFF" + CSV_HEADER + "\r\n"
+                + "One,Plain,100000,1 Main St,Boston,USA,2,HOUSE\r\n"
+                + "Two,\"Comma, \"\"quote\"\"\nand newline\",200000,2 Main St,Boston,USA,,VILLA\r\n"
+                + "\r\n"
+                + "Three,Bad price,abc,3 Main St,Boston,USA,2,HOUSE\r\n"
+                + "Four,Short,400000\r\n"
+                + "Five,Plain,500000,5 Main St,Austin,USA,3,LAND");
+        Path checkpoint = directory.resolve("checkpoints/listings.csv.checkpoint");
+
+        PropertyImportStatus status = run(file, checkpoint, ImportFormat.CSV);
+
+        assertThat(status.state()).isEqualTo(PropertyImportStatus.State.COMPLETED);
+        assertThat(status).extracting(PropertyImportStatus::records, PropertyImportStatus::created,
+                PropertyImportStatus::rejected, PropertyImportStatus::failed).containsExactly(5L, 3L, 2L, 0L);
+        assertThat(status.bytesRead()).isEqualTo(Files.size(file));
+        assertThat(status.errors()).containsExactly("Record 3: price: invalid value",
+                "Record 4: Expected 8 fields, found 3");
+        assertThat(written).containsExactlyInAnyOrder("One", "Two", "Five");
+        assertThat(ImportCheckpoint.load(checkpoint).complete()).isTrue();
+
+        // A completed file is not imported again
+        assertThat(run(file, checkpoint, ImportFormat.CSV).created()).isEqualTo(3);
+        assertThat(written).hasSize(3);
+    }
+
+    @Test
+    void run_ShouldResumeFromCheckpoint_SkippingBatchesFinishedOutOfOrder() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            lines.add("{\"title\":\"L" + i + "\",\"description\":\"d\",\"price\":" + i
+                    + "00000,\"address\":\"a\",\"city\":\"Boston\",\"country\":\"USA\",\"type\":\"HOUSE\"}");
+        }
+        Path file = write("listings.ndjson", String.join("\n", lines) + "\n");
+        long secondBatch = lines.get(0).length() + lines.get(1).length() + 2;
+        long thirdBatch = secondBatch + lines.get(2).length() + lines.get(3).length() + 2;
+        // A previous run wrote the first and the third batch, then stopped
+        Path checkpoint = directory.resolve("listings.ndjson.checkpoint");
+        new ImportCheckpoint(Files.size(file), Files.getLastModifiedTime(file).toMillis(), 2, secondBatch, 2,
+                4, 0, 0, 0, Set.of(thirdBatch), false).save(checkpoint);
+
+        PropertyImportStatus status = run(file, checkpoint, ImportFormat.NDJSON);
+
+        assertThat(written).containsExactlyInAnyOrder("L3", "L4");
+        assertThat(status.resumedFrom()).isEqualTo(secondBatch);
+        assertThat(status).extracting(PropertyImportStatus::records, PropertyImportStatus::created)
+                .containsExactly(6L, 6L);
+        ImportCheckpoint saved = ImportCheckpoint.load(checkpoint);
+        assertThat(saved.offset()).isEqualTo(Files.size(file));
+        assertThat(saved.records()).isEqualTo(6);
+        assertThat(saved.completed()).isEmpty();
+    }
+
+    private PropertyImportStatus run(Path file, Path checkpoint, ImportFormat format) {
+        PropertyImportJob job = new PropertyImportJob(UUID.randomUUID(), file.getFileName().toString(), file,
+                checkpoint, format, false, new PropertyImportJob.Settings(2, 1, 1 << 16, 10), bulkService,
+                objectMapper, writerPool, new SimpleMeterRegistry());
+        job.run();
+        return job.status();
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
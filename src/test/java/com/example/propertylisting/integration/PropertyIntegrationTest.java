@@ -147,6 +147,8 @@ class PropertyIntegrationTest {
                 "456 New St",
                 "Los Angeles",
                 "USA",
+                null,
+                null,
                 3,
                 2,
                 100.0,
@@ -78,6 +78,8 @@ class PropertyMapperTest {
                 "456 New St",
                 "Los Angeles",
                 "USA",
+                null,
+                null,
                 3,
                 2,
                 100.0,
@@ -0,0 +1,128 @@
+package com.example.propertylisting.outbox;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.example.propertylisting.model.PropertyOutboxCursor;
+import com.example.propertylisting.model.PropertyOutboxEvent;
+import com.example.propertylisting.repository.PropertyOutboxCursorRepository;
+import com.example.propertylisting.repository.PropertyOutboxRepository;
+import com.example.propertylisting.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyOutboxRelayTest {
+
+    @Mock
+    private PropertyOutboxRepository outboxRepository;
+
+    @Mock
+    private PropertyOutboxCursorRepository cursorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private PropertyOutbox outbox;
+    private FileChangeSink sink;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outbox = new PropertyOutbox(true, outboxRepository, objectMapper);
+        sink = new FileChangeSink(objectMapper, directory.resolve("changes/changes.ndjson"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sink.close();
+    }
+
+    @Test
+    void onPropertyChanged_ShouldRecordLocalChanges_AndSkipReplicatedOnes() throws Exception {
+        PropertyResponse after = TestDataFactory.createTestPropertyResponse();
+
+        outbox.onPropertyChanged(PropertyChangedEvent.updated(after, after));
+        outbox.onPropertyChanged(PropertyChangedEvent.deleted(after.id(), after));
+        outbox.onPropertyChanged(PropertyChangedEvent.created(after).withOrigin("other-node"));
+
+        ArgumentCaptor<PropertyOutboxEvent> recorded = ArgumentCaptor.forClass(PropertyOutboxEvent.class);
+        verify(outboxRepository, times(2)).save(recorded.capture());
+        PropertyOutboxEvent updated = recorded.getAllValues().get(0);
+        assertThat(updated.getChangeType()).isEqualTo(ChangeType.UPDATED);
+        assertThat(updated.getSequenceNumber()).isNull();
+        assertThat(objectMapper.readValue(updated.getPayload(), PropertyResponse.class)).isEqualTo(after);
+        PropertyOutboxEvent deleted = recorded.getAllValues().get(1);
+        assertThat(deleted.getChangeType()).isEqualTo(ChangeType.DELETED);
+        assertThat(deleted.getPayload()).isNull();
+        assertThat(deleted.getVersion()).isNull();
+    }
+
+    @Test
+    void relayBatch_ShouldNumberPendingEventsAfterTheCursor_AndAppendThemToTheSink() throws Exception {
+        PropertyResponse property = TestDataFactory.createTestPropertyResponse();
+        List<PropertyOutboxEvent> pending = new ArrayList<>();
+        pending.add(event(property.id(), ChangeType.UPDATED, objectMapper.writeValueAsString(property)));
+        pending.add(event(UUID.randomUUID(), ChangeType.DELETED, null));
+        PropertyOutboxCursor cursor = new PropertyOutboxCursor(PropertyOutboxCursor.ID, 41);
+        when(cursorRepository.findForUpdate(PropertyOutboxCursor.ID)).thenReturn(Optional.of(cursor));
+        when(outboxRepository.findBySequenceNumberIsNullOrderByIdAsc(any(Limit.class)))
+                .thenReturn(pending)
+                .thenReturn(List.of());
+        PropertyOutboxRelay relay = new PropertyOutboxRelay(false, 10, Duration.ofSeconds(1), Duration.ofDays(7),
+                outbox, outboxRepository, cursorRepository, sink, transactionManager, new SimpleMeterRegistry());
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+        assertThat(relay.relayBatch()).isZero();
+
+        assertThat(cursor.getLastSequence()).isEqualTo(43);
+        assertThat(pending).extracting(PropertyOutboxEvent::getSequenceNumber).containsExactly(42L, 43L);
+        assertThat(pending).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+        List<String> lines = Files.readAllLines(directory.resolve("changes/changes.ndjson"));
+        assertThat(lines).hasSize(2);
+        PropertyChange first = objectMapper.readValue(lines.get(0), PropertyChange.class);
+        assertThat(first.sequence()).isEqualTo(42);
+        assertThat(first.property()).isEqualTo(property);
+        PropertyChange second = objectMapper.readValue(lines.get(1), PropertyChange.class);
+        assertThat(second.type()).isEqualTo(ChangeType.DELETED);
+        assertThat(second.property()).isNull();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static PropertyOutboxEvent event(UUID propertyId, ChangeType type, String payload) {
+        return PropertyOutboxEvent.builder()
+                .propertyId(propertyId)
+                .changeType(type)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.propertylisting.repository;
+
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyPatchRequest;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.util.TestDataFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static com.example.propertylisting.model.Property.PropertyType.VILLA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class PropertyRepositoryCustomImplTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Property property = TestDataFactory.createTestPropertyWithPrice(new BigDecimal(i * 100_000));
+            property.setId(null);
+            property.setDescription("x".repeat(i * 10));
+            entityManager.persist(property);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findSummaries_ShouldTruncateDescription_AndPageWithCount() {
+        Page<PropertyResponse> page = propertyRepository.findSummaries((root, query, cb) -> null,
+                PageRequest.of(0, 2, Sort.by("price")), 15);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(PropertyResponse::description)
+                .containsExactly("x".repeat(10), "x".repeat(15) + "…");
+        assertThat(page.getContent().get(0).title()).isNotBlank();
+    }
+
+    @Test
+    void findSummaries_ShouldOmitDescription_WhenExcerptLengthIsZero() {
+        List<PropertyResponse> rows = propertyRepository.findSummaries(
+                PropertySpecifications.priceGreaterThanOrEqual(150_000.0), Sort.by(Sort.Direction.DESC, "price"), 1, 0);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.price()).isEqualByComparingTo("300000");
+            assertThat(row.description()).isNull();
+        });
+    }
+
+    @Test
+    void findMatching_ShouldApplyEveryFilter_InOneQuery() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria("spring", null, 250_000.0, Set.of(HOUSE, VILLA),
+                null, Set.of("USA"), 3, null, null, 2, 1000.0, null);
+
+        Page<PropertyResponse> page = propertyRepository.findMatching(
+                new PropertyFilter(criteria, Set.of("Springfield"), null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")), ListingView.FULL, 15);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(PropertyResponse::description)
+                .containsExactly("x".repeat(20), "x".repeat(10));
+        assertThat(propertyRepository.findMatching(PropertyFilter.of(criteria), PageRequest.of(0, 10),
+                ListingView.SUMMARY, 0).getContent())
+                .hasSize(2)
+                .allSatisfy(row -> assertThat(row.description()).isNull());
+    }
+
+    @Test
+    void findMatching_ShouldReturnNothing_ForExcludedValues_OrEmptyResolution() {
+        PropertySearchCriteria apartments = new PropertySearchCriteria(null, null, null, Set.of(APARTMENT, VILLA),
+                null, null, null, null, null, null, null, null);
+        PropertySearchCriteria fourBedrooms = new PropertySearchCriteria(null, null, null, null,
+                null, null, 4, null, null, null, null, null);
+
+        assertThat(propertyRepository.findMatching(PropertyFilter.of(apartments), PageRequest.of(0, 10),
+                ListingView.SUMMARY, 15)).isEmpty();
+        assertThat(propertyRepository.findMatching(PropertyFilter.of(fourBedrooms), PageRequest.of(0, 10),
+                ListingView.SUMMARY, 15)).isEmpty();
+        assertThat(propertyRepository.findMatching(new PropertyFilter(fourBedrooms.withCity("x"), Set.of(), null),
+                PageRequest.of(0, 10), ListingView.SUMMARY, 15)).isEmpty();
+    }
+
+    @Test
+    void findMatching_ShouldRejectUnknownSortProperty() {
+        PropertyFilter filter = PropertyFilter.of(new PropertySearchCriteria(null, null, null, null));
+
+        assertThatThrownBy(() -> propertyRepository.findMatching(filter, PageRequest.of(0, 10, Sort.by("owner")),
+                ListingView.SUMMARY, 15))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void streamMatching_ShouldReturnEveryMatchingRow_WithFullDescription_WithoutManagingEntities() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, 150_000.0, null, null);
+
+        List<PropertyResponse> rows;
+        try (Stream<PropertyResponse> stream = propertyRepository.streamMatching(PropertyFilter.of(criteria), 1)) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).extracting(PropertyResponse::description)
+                .containsExactlyInAnyOrder("x".repeat(20), "x".repeat(30));
+        assertThat(rows).allSatisfy(row -> assertThat(row.version()).isZero());
+        assertThat(entityManager.getEntityManager().unwrap(SessionImplementor.class).getPersistenceContextInternal()
+                .getNumberOfManagedEntities()).isZero();
+        assertThat(propertyRepository.streamMatching(new PropertyFilter(criteria, List.of(), null), 1)).isEmpty();
+    }
+
+    @Test
+    void patch_ShouldUpdateOnlyGivenColumns_AndOnlyAtTheExpectedVersion() {
+        Property property = propertyRepository.findAll(Sort.by("price")).get(0);
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        PropertyPatchRequest patch = PropertyPatchRequest.builder()
+                .price(new BigDecimal("123456"))
+                .city("Boston")
+                .build();
+
+        assertThat(propertyRepository.patch(property.getId(), 0L, patch, updatedAt)).isEqualTo(1);
+        assertThat(propertyRepository.patch(property.getId(), 0L, patch, updatedAt)).isZero();
+        assertThat(propertyRepository.patch(property.getId(), null, patch, updatedAt)).isEqualTo(1);
+        assertThat(propertyRepository.findVersionById(property.getId())).contains(2L);
+        assertThat(propertyRepository.findVersionById(UUID.randomUUID())).isEmpty();
+        entityManager.clear();
+
+        Property patched = propertyRepository.findById(property.getId()).orElseThrow();
+        assertThat(patched.getPrice()).isEqualByComparingTo("123456");
+        assertThat(patched.getCity()).isEqualTo("Boston");
+        assertThat(patched.getTitle()).isEqualTo(property.getTitle());
+        assertThat(patched.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(patched.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void deactivateAllByIdIn_ShouldHideRowsFromEveryQuery_AndDeleteShouldCountRows() {
+        List<Property> properties = propertyRepository.findAll(Sort.by("price"));
+        UUID cheapest = properties.get(0).getId();
+        UUID dearest = properties.get(2).getId();
+        PropertyFilter all = PropertyFilter.of(new PropertySearchCriteria(null, 1.0, null, null));
+
+        assertThat(propertyRepository.deactivateAllByIdIn(List.of(cheapest), LocalDateTime.now())).isEqualTo(1);
+        assertThat(propertyRepository.deactivateAllByIdIn(List.of(cheapest), LocalDateTime.now())).isZero();
+        assertThat(propertyRepository.deleteAllByIdIn(List.of(dearest, UUID.randomUUID()))).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(propertyRepository.findById(cheapest)).isEmpty();
+        assertThat(propertyRepository.findExistingIds(List.of(cheapest, dearest))).isEmpty();
+        assertThat(propertyRepository.findIds(all, 10)).containsExactly(properties.get(1).getId());
+        assertThat(propertyRepository.findMatching(all, PageRequest.of(0, 10), ListingView.SUMMARY, 15)
+                .getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findInactive_ShouldListSoftDeletedRows_AndReactivateShouldBringThemBack() {
+        UUID cheapest = propertyRepository.findAll(Sort.by("price")).get(0).getId();
+        propertyRepository.deactivateAllByIdIn(List.of(cheapest), LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(propertyRepository.findInactive(PageRequest.of(0, 10))).extracting(Property::getId)
+                .containsExactly(cheapest);
+        assertThat(propertyRepository.reactivate(cheapest, LocalDateTime.now())).isEqualTo(1);
+        assertThat(propertyRepository.reactivate(cheapest, LocalDateTime.now())).isZero();
+        entityManager.clear();
+
+        assertThat(propertyRepository.findInactive(PageRequest.of(0, 10))).isEmpty();
+        assertThat(propertyRepository.findById(cheapest)).get().extracting(Property::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    void shapeOf_ShouldDependOnWhichFiltersAreSet_NotOnTheirValues() {
+        PropertyFilter cheapHouses = PropertyFilter.of(new PropertySearchCriteria(null, null, 200_000.0, HOUSE));
+        PropertyFilter cheapVillas = PropertyFilter.of(new PropertySearchCriteria(null, null, 900_000.0, VILLA));
+        PropertyFilter anyCheap = PropertyFilter.of(new PropertySearchCriteria(null, null, 200_000.0, null));
+
+        assertThat(PropertyFilterPlan.shapeOf(cheapHouses)).isEqualTo(PropertyFilterPlan.shapeOf(cheapVillas));
+        assertThat(PropertyFilterPlan.shapeOf(cheapHouses)).isNotEqualTo(PropertyFilterPlan.shapeOf(anyCheap));
+        assertThat(PropertyFilterPlan.compile(PropertyFilterPlan.shapeOf(anyCheap)).where())
+                .isEqualTo(" where p.price <= :maxPrice");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.propertylisting.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000, 100, new SimpleMeterRegistry());
+
+    @Test
+    void verify_ShouldParseATokenOnce_AndAnswerRepeatsFromTheCache() {
+        String token = jwtService.generateToken("user@example.com");
+
+        Claims first = jwtService.verify(token);
+
+        assertThat(first.getSubject()).isEqualTo("user@example.com");
+        assertThat(jwtService.verify(token)).isSameAs(first);
+        assertThat(jwtService.extractUsername(token)).isEqualTo("user@example.com");
+        assertThat(jwtService.isTokenValid(first, "user@example.com")).isTrue();
+        assertThat(jwtService.isTokenValid(token, "other@example.com")).isFalse();
+    }
+
+    @Test
+    void verify_ShouldRejectForgedAndExpiredTokens() {
+        String token = jwtService.generateToken("user@example.com");
+        jwtService.verify(token);
+        String forged = new JwtService("another-secret-key-that-is-at-least-32-bytes", 60_000, 100,
+                new SimpleMeterRegistry()).generateToken("user@example.com");
+        String expired = new JwtService(SECRET, -1_000, 100, new SimpleMeterRegistry())
+                .generateToken("user@example.com");
+
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtService.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
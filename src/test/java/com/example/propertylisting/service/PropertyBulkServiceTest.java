@@ -0,0 +1,195 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.BulkPropertyResponse;
+import com.example.propertylisting.dto.BulkPropertyResponse.Item;
+import com.example.propertylisting.dto.BulkPropertyResponse.Status;
+import com.example.propertylisting.dto.PropertyBulkDeleteRequest;
+import com.example.propertylisting.dto.PropertyBulkDeleteResponse;
+import com.example.propertylisting.dto.PropertyRequest;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.mapper.PropertyMapper;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.repository.PropertyFilter;
+import com.example.propertylisting.repository.PropertyRepository;
+import com.example.propertylisting.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyBulkServiceTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private PropertyBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        PropertyMapper propertyMapper = Mappers.getMapper(PropertyMapper.class);
+        bulkService = new PropertyBulkService(propertyRepository, propertyMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, transactionManager,
+                eventPublisher);
+        ReflectionTestUtils.setField(bulkService, "chunkSize", 2);
+        ReflectionTestUtils.setField(bulkService, "maxReportedItems", 10);
+        lenient().when(propertyRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Property> properties = invocation.getArgument(0);
+            properties.forEach(property -> property.setId(UUID.randomUUID()));
+            return properties;
+        });
+    }
+
+    @Test
+    void upsert_ShouldCreateAndUpdateNdjsonItems_AndReportEachOne() throws Exception {
+        Property existing = TestDataFactory.createTestProperty();
+        when(propertyRepository.findAllById(anyIterable())).thenReturn(List.of(existing));
+        UUID unknown = UUID.randomUUID();
+        PropertyRequest valid = TestDataFactory.createTestPropertyRequest();
+
+        String body = String.join("\n",
+                json(valid),
+                json(valid).replace("\"title\":\"" + valid.title() + "\"", "\"title\":\"\""),
+                withId(existing.getId(), json(TestDataFactory.createUpdatePropertyRequest())),
+                withId(unknown, json(valid)),
+                json(valid).replace("\"type\":\"HOUSE\"", "\"type\":\"CASTLE\""),
+                json(valid));
+
+        BulkPropertyResponse response = upsert(body);
+
+        assertThat(response.items()).extracting(Item::index).containsExactly(1, 3, 4);
+        assertThat(response.items()).extracting(Item::status).containsOnly(Status.REJECTED);
+        assertThat(response.items().get(0).errors()).containsExactly("title: Title is required");
+        assertThat(response.items().get(1).errors()).containsExactly("Property not found with id: " + unknown);
+        assertThat(response.items().get(2).errors()).containsExactly("type: invalid value");
+        assertThat(response).extracting(BulkPropertyResponse::created, BulkPropertyResponse::updated,
+                BulkPropertyResponse::rejected, BulkPropertyResponse::failed).containsExactly(2, 1, 3, 0);
+        assertThat(existing.getTitle()).isEqualTo(TestDataFactory.createUpdatePropertyRequest().title());
+
+        ArgumentCaptor<PropertyChangedEvent> events = ArgumentCaptor.forClass(PropertyChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(PropertyChangedEvent::type).containsExactly(
+                PropertyChangedEvent.ChangeType.CREATED, PropertyChangedEvent.ChangeType.UPDATED,
+                PropertyChangedEvent.ChangeType.CREATED);
+        // Valid items are written two per transaction: [0, 2] and [3, 5]
+        verify(transactionManager, times(2)).commit(any());
+        verify(propertyRepository, times(2)).flush();
+    }
+
+    @Test
+    void upsert_ShouldRetryRefusedChunkItemByItem_AndStopAtMalformedJson() throws Exception {
+        PropertyRequest valid = TestDataFactory.createTestPropertyRequest();
+        doAnswer(invocation -> {
+            Iterable<Property> properties = invocation.getArgument(0);
+            for (Property property : properties) {
+                if (property.getTitle().equals("Duplicate")) {
+                    throw new DataIntegrityViolationException("duplicate key");
+                }
+                property.setId(UUID.randomUUID());
+            }
+            return properties;
+        }).when(propertyRepository).saveAll(anyIterable());
+
+        String body = "[" + json(valid) + ","
+                + json(valid).replace("\"title\":\"" + valid.title() + "\"", "\"title\":\"Duplicate\"") + ","
+                + "{\"title\": oops}, " + json(valid) + "]";
+
+        BulkPropertyResponse response = upsert(body);
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items()).extracting(Item::status).containsExactly(Status.FAILED, Status.REJECTED);
+        assertThat(response.items().get(0).errors()).containsExactly("duplicate key");
+        assertThat(response.items().get(1).errors()).singleElement().asString().startsWith("Malformed JSON");
+        verify(eventPublisher, times(1)).publishEvent(any(PropertyChangedEvent.class));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void upsert_ShouldCountEveryRejection_ButListOnlyUpToTheLimit() {
+        ReflectionTestUtils.setField(bulkService, "maxReportedItems", 1);
+
+        BulkPropertyResponse response = upsert("[1, 2, 3]");
+
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.items()).singleElement().extracting(Item::index).isEqualTo(0);
+    }
+
+    @Test
+    void delete_ShouldRemoveExistingIdsPerChunk_AndRepeatFilterRoundsUntilNothingIsLeft() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(propertyRepository.findExistingIds(List.of(a, missing))).thenReturn(List.of(a));
+        when(propertyRepository.findExistingIds(List.of(b))).thenReturn(List.of(b));
+        when(propertyRepository.deleteAllByIdIn(anyList()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+
+        PropertyBulkDeleteResponse byIds =
+                bulkService.delete(new PropertyBulkDeleteRequest(List.of(a, missing, a, b), null));
+
+        assertThat(byIds.deleted()).isEqualTo(2);
+        assertThat(byIds.notFound()).containsExactly(missing);
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.deleted(a, null));
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.deleted(b, null));
+
+        PropertyBulkDeleteRequest.Filter houses = new PropertyBulkDeleteRequest.Filter(null, null, null,
+                Set.of(PropertyType.HOUSE), null, null, null, null, null, null, null);
+        UUID takenByAnotherDelete = UUID.randomUUID();
+        when(propertyRepository.findIds(any(PropertyFilter.class), eq(2))).thenReturn(
+                List.of(UUID.randomUUID(), takenByAnotherDelete), List.of(UUID.randomUUID()));
+        when(propertyRepository.deleteAllByIdIn(anyList())).thenAnswer(invocation -> (int) invocation
+                .<List<UUID>>getArgument(0).stream().filter(id -> !id.equals(takenByAnotherDelete)).count());
+
+        assertThat(bulkService.delete(new PropertyBulkDeleteRequest(null, houses)).deleted()).isEqualTo(2);
+        verify(propertyRepository, times(2)).findIds(any(PropertyFilter.class), eq(2));
+        PropertyBulkDeleteRequest.Filter unfiltered = new PropertyBulkDeleteRequest.Filter(null, null, null, null,
+                null, null, null, null, null, null, null);
+        assertThatThrownBy(() -> bulkService.delete(new PropertyBulkDeleteRequest(null, unfiltered)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private BulkPropertyResponse upsert(String body) {
+        return bulkService.upsert(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String json(PropertyRequest request) throws Exception {
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private static String withId(UUID id, String json) {
+        return "{\"id\":\"" + id + "\"," + json.substring(1);
+    }
+}
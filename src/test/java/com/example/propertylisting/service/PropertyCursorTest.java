@@ -0,0 +1,48 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.model.Property;
+import com.example.propertylisting.util.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyCursorTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTripSortKeyAndId() {
+        Property property = TestDataFactory.createTestProperty();
+        property.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_000));
+
+        for (String sortProperty : new String[]{"id", "price", "title", "createdAt"}) {
+            Sort.Order order = Sort.Order.desc(sortProperty);
+            PropertyCursor cursor = PropertyCursor.of(property, order);
+
+            PropertyCursor decoded = PropertyCursor.decode(cursor.encode());
+
+            assertThat(decoded).isEqualTo(cursor);
+            assertThat(decoded.isFor(order)).isTrue();
+            assertThat(decoded.isFor(Sort.Order.asc(sortProperty))).isFalse();
+        }
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedToken() {
+        assertThatThrownBy(() -> PropertyCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void keysetOrder_ShouldDefaultToIdAndRejectUnsupportedSorts() {
+        assertThat(PropertyCursor.keysetOrder(Sort.unsorted())).isEqualTo(Sort.Order.asc("id"));
+
+        assertThatThrownBy(() -> PropertyCursor.keysetOrder(Sort.by("bedrooms")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PropertyCursor.keysetOrder(Sort.by("price", "title")))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.ExportFormat;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyExportWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void csv_ShouldWriteHeader_AndQuoteOnlyFieldsThatNeedIt() throws Exception {
+        PropertyResponse plain = TestDataFactory.createTestPropertyResponse();
+        PropertyResponse awkward = new PropertyResponse(plain.id(), "Loft, \"river view\"", "Two\nlines", null,
+                plain.address(), plain.city(), plain.country(), null, null, null, null, null, null, null, null,
+                true, 3L);
+
+        String csv = export(ExportFormat.CSV, plain, awkward);
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(PropertyExportWriter.CSV_HEADER);
+        assertThat(lines[1]).startsWith(plain.id() + "," + plain.title() + "," + plain.description() + ","
+                + plain.price().toPlainString() + ",");
+        assertThat(lines[2]).isEqualTo(plain.id() + ",\"Loft, \"\"river view\"\"\",\"Two\nlines\",,"
+                + plain.address() + "," + plain.city() + "," + plain.country() + ",,,,,,,,,true,3");
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        PropertyResponse property = TestDataFactory.createTestPropertyResponse();
+
+        String ndjson = export(ExportFormat.NDJSON, property, property);
+
+        assertThat(ndjson).endsWith("}\n");
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).startsWith("{");
+        assertThat(objectMapper.readValue(lines[1], PropertyResponse.class)).isEqualTo(property);
+    }
+
+    private String export(ExportFormat format, PropertyResponse... properties) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PropertyExportWriter writer = PropertyExportWriter.create(format, objectMapper, out)) {
+            for (PropertyResponse property : properties) {
+                writer.write(property);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.PropertyFacetsResponse;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.index.CityTrigramIndex;
+import com.example.propertylisting.index.ColumnarListingIndex;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.repository.PropertyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyFacetServiceTest {
+
+    private static final double[] PRICE_BOUNDS = {300_000, 600_000};
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private CityTrigramIndex cityIndex;
+
+    private ColumnarListingIndex listingIndex;
+    private PropertyFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        listingIndex = new ColumnarListingIndex(true);
+        listingIndex.put(property("Boston", "250000", 2, APARTMENT));
+        listingIndex.put(property("Boston", "450000", 3, HOUSE));
+        listingIndex.put(property("Austin", "700000", 3, HOUSE));
+        listingIndex.markReady();
+        facetService = new PropertyFacetService(propertyRepository, listingIndex, cityIndex,
+                PRICE_BOUNDS, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getFacets_ShouldCountTypesPriceBucketsAndBedrooms() {
+        PropertyFacetsResponse facets = facetService.getFacets(criteria("bost"));
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.types()).containsEntry(APARTMENT, 1L).containsEntry(HOUSE, 1L)
+                .containsEntry(PropertyType.VILLA, 0L);
+        assertThat(facets.priceBuckets()).extracting(PropertyFacetsResponse.PriceBucket::count)
+                .containsExactly(1L, 1L, 0L);
+        assertThat(facets.priceBuckets().get(0).from()).isNull();
+        assertThat(facets.priceBuckets().get(2).to()).isNull();
+        assertThat(facets.bedrooms()).containsEntry(2, 1L).containsEntry(3, 1L);
+        verify(propertyRepository, never()).countFacets(any(), any());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldEvictOnlyFiltersMatchingTheChange() {
+        facetService.getFacets(criteria("Boston"));
+        facetService.getFacets(criteria("Austin"));
+
+        PropertyResponse added = property("Boston", "100000", 1, APARTMENT);
+        listingIndex.put(added);
+        listingIndex.put(property("Austin", "100000", 1, APARTMENT));
+        facetService.onPropertyChanged(PropertyChangedEvent.created(added));
+
+        assertThat(facetService.getFacets(criteria("Boston")).total()).isEqualTo(3);
+        assertThat(facetService.getFacets(criteria("Austin")).total()).isEqualTo(1);
+    }
+
+    @Test
+    void onPropertyChanged_ShouldEvictEverything_WhenPreviousStateIsUnknown() {
+        facetService.getFacets(criteria("Austin"));
+
+        listingIndex.put(property("Austin", "100000", 1, APARTMENT));
+        facetService.onPropertyChanged(PropertyChangedEvent.deleted(UUID.randomUUID(), null));
+
+        assertThat(facetService.getFacets(criteria("Austin")).total()).isEqualTo(2);
+    }
+
+    private static PropertySearchCriteria criteria(String city) {
+        return new PropertySearchCriteria(city, null, null, null);
+    }
+
+    private static PropertyResponse property(String city, String price, Integer bedrooms, PropertyType type) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PropertyResponse(UUID.randomUUID(), "Listing", "Description", new BigDecimal(price),
+                "1 Main St", city, "USA", null, null, bedrooms, 1, 80.0, type, now, now, true, 0L);
+    }
+}
@@ -1,26 +1,52 @@
 package com.example.propertylisting.service;
 
+import com.example.propertylisting.dto.CursorPage;
+import com.example.propertylisting.dto.GeoArea;
+import com.example.propertylisting.dto.ListingView;
+import com.example.propertylisting.dto.PropertyPatchRequest;
 import com.example.propertylisting.dto.PropertyRequest;
 import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.dto.PropertySearchCriteria;
+import com.example.propertylisting.event.PropertyChangedEvent;
+import com.example.propertylisting.exception.PreconditionFailedException;
 import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.exception.ServiceUnavailableException;
+import com.example.propertylisting.index.CityTrigramIndex;
+import com.example.propertylisting.index.ColumnarListingIndex;
+import com.example.propertylisting.index.FullTextIndex;
+import com.example.propertylisting.index.GeoGridIndex;
+import com.example.propertylisting.index.SimilarListingIndex;
 import com.example.propertylisting.mapper.PropertyMapper;
 import com.example.propertylisting.model.Property;
 import com.example.propertylisting.model.PropertySpecifications;
+import com.example.propertylisting.repository.PropertyFilter;
 import com.example.propertylisting.repository.PropertyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static com.example.propertylisting.model.Property.PropertyType.APARTMENT;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +63,33 @@ class PropertyServiceTest {
     @Mock
     private PropertyMapper propertyMapper;
 
+    @Mock
+    private ColumnarListingIndex listingIndex;
+
+    @Mock
+    private CityTrigramIndex cityIndex;
+
+    @Mock
+    private FullTextIndex textIndex;
+
+    @Mock
+    private GeoGridIndex geoIndex;
+
+    @Mock
+    private SimilarListingIndex similarIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PropertySearchCache searchCache =
+            new PropertySearchCache(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private PropertyDetailCache detailCache =
+            new PropertyDetailCache(true, 100, Duration.ofMinutes(1), 10, 512,
+                    Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+
     @InjectMocks
     private PropertyService propertyService;
 
@@ -74,13 +127,16 @@ class PropertyServiceTest {
                 "123 Main St",
                 "New York",
                 "USA",
+                null,
+                null,
                 2,
                 2,
                 85.5,
                 APARTMENT,
                 now,
                 now,
-                true
+                true,
+                0L
         );
 
         testPropertyRequest = new PropertyRequest(
@@ -90,6 +146,8 @@ class PropertyServiceTest {
                 "123 Main St",
                 "New York",
                 "USA",
+                null,
+                null,
                 2,
                 2,
                 85.5,
@@ -130,11 +188,81 @@ class PropertyServiceTest {
         verify(propertyMapper, never()).toResponse(any());
     }
 
+    @Test
+    void getPropertyById_ShouldServeRepeatedReadsFromCache_UntilListingChanges() {
+        // Arrange
+        when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+
+        // Act
+        propertyService.getPropertyById(testProperty.getId());
+        propertyService.getPropertyById(testProperty.getId());
+        detailCache.onPropertyChanged(PropertyChangedEvent.updated(testPropertyResponse, testPropertyResponse));
+        PropertyResponse result = propertyService.getPropertyById(testProperty.getId());
+
+        // Assert
+        assertThat(result).isEqualTo(testPropertyResponse);
+        verify(propertyRepository, times(2)).findById(testProperty.getId());
+    }
+
+    @Test
+    void getEncodedPropertyById_ShouldEncodeOncePerVersion_AndGzipOnlyLargeBodies() throws Exception {
+        // Arrange
+        when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // Act
+        EncodedProperty first = propertyService.getEncodedPropertyById(testProperty.getId());
+        EncodedProperty cached = propertyService.getEncodedPropertyById(testProperty.getId());
+        detailCache.onPropertyChanged(PropertyChangedEvent.updated(testPropertyResponse, testPropertyResponse));
+        EncodedProperty reloaded = propertyService.getEncodedPropertyById(testProperty.getId());
+
+        // Assert
+        assertThat(cached).isSameAs(first);
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(objectMapper.readValue(first.json(), PropertyResponse.class)).isEqualTo(testPropertyResponse);
+        assertThat(first.version()).isEqualTo(testPropertyResponse.version());
+        assertThat(first.gzip()).isNull();
+        verify(propertyRepository, times(2)).findById(testProperty.getId());
+
+        EncodedProperty large = EncodedProperty.encode(testPropertyResponse, objectMapper, 1);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(large.json());
+        }
+    }
+
+    @Test
+    void getSimilarProperties_ShouldAnswerFromIndex() {
+        // Arrange
+        detailCache.get(testProperty.getId(), id -> testPropertyResponse);
+        when(similarIndex.isReady()).thenReturn(true);
+        when(similarIndex.nearest(testPropertyResponse, 5)).thenReturn(List.of(testPropertyResponse));
+
+        // Act
+        List<PropertyResponse> result = propertyService.getSimilarProperties(testProperty.getId(), 5);
+
+        // Assert
+        assertThat(result).containsExactly(testPropertyResponse);
+        verifyNoInteractions(propertyRepository);
+    }
+
+    @Test
+    void getSimilarProperties_ShouldBeUnavailable_UntilIndexIsLoaded() {
+        // Arrange
+        detailCache.get(testProperty.getId(), id -> testPropertyResponse);
+
+        // Act & Assert
+        assertThatThrownBy(() -> propertyService.getSimilarProperties(testProperty.getId(), 5))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verify(similarIndex, never()).nearest(any(), anyInt());
+    }
+
     @Test
     void createProperty_ShouldReturnCreatedProperty() {
         // Arrange
         when(propertyMapper.toEntity(testPropertyRequest)).thenReturn(testProperty);
-        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+        when(propertyRepository.saveAndFlush(testProperty)).thenReturn(testProperty);
         when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
 
         // Act
@@ -146,8 +274,9 @@ class PropertyServiceTest {
         assertThat(result.title()).isEqualTo(testPropertyRequest.title());
         
         verify(propertyMapper).toEntity(testPropertyRequest);
-        verify(propertyRepository).save(testProperty);
+        verify(propertyRepository).saveAndFlush(testProperty);
         verify(propertyMapper).toResponse(testProperty);
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.created(testPropertyResponse));
     }
 
     @Test
@@ -160,6 +289,8 @@ class PropertyServiceTest {
                 "456 New St",
                 "Los Angeles",
                 "USA",
+                null,
+                null,
                 3,
                 2,
                 100.0,
@@ -191,17 +322,21 @@ class PropertyServiceTest {
                 "456 New St",
                 "Los Angeles",
                 "USA",
+                null,
+                null,
                 3,
                 2,
                 100.0,
                 APARTMENT,
                 updatedProperty.getCreatedAt(),
                 updatedProperty.getUpdatedAt(),
-                true
+                true,
+                0L
         );
 
         when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
-        when(propertyRepository.save(any(Property.class))).thenReturn(updatedProperty);
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+        when(propertyRepository.saveAndFlush(any(Property.class))).thenReturn(updatedProperty);
         when(propertyMapper.toResponse(updatedProperty)).thenReturn(updatedResponse);
 
         // Act
@@ -216,46 +351,166 @@ class PropertyServiceTest {
         
         verify(propertyRepository).findById(testProperty.getId());
         verify(propertyMapper).updateEntity(eq(updateRequest), eq(testProperty));
-        verify(propertyRepository).save(testProperty);
+        verify(propertyRepository).saveAndFlush(testProperty);
         verify(propertyMapper).toResponse(updatedProperty);
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.updated(testPropertyResponse, updatedResponse));
+    }
+
+    @Test
+    void updateProperty_ShouldThrowPreconditionFailed_WhenIfMatchVersionIsStale() {
+        testProperty.setVersion(3L);
+        when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
+
+        assertThatThrownBy(() -> propertyService.updateProperty(testProperty.getId(), testPropertyRequest, 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(propertyRepository, never()).saveAndFlush(any(Property.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchProperty_ShouldUpdateWithoutLoading_AndReadTheResultOnce() {
+        PropertyPatchRequest patch = PropertyPatchRequest.builder()
+                .price(new BigDecimal("199000"))
+                .city("Boston")
+                .build();
+        PropertyResponse patched = new PropertyResponse(testPropertyResponse.id(), testPropertyResponse.title(),
+                testPropertyResponse.description(), new BigDecimal("199000"), testPropertyResponse.address(),
+                "Boston", testPropertyResponse.country(), testPropertyResponse.latitude(),
+                testPropertyResponse.longitude(), testPropertyResponse.bedrooms(), testPropertyResponse.bathrooms(),
+                testPropertyResponse.area(), testPropertyResponse.type(), testPropertyResponse.createdAt(),
+                LocalDateTime.now(), true, 1L);
+        detailCache.get(testProperty.getId(), id -> testPropertyResponse);
+        when(propertyRepository.patch(eq(testProperty.getId()), eq(0L), eq(patch), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(patched);
+
+        PropertyResponse result = propertyService.patchProperty(testProperty.getId(), patch, 0L);
+
+        assertThat(result).isEqualTo(patched);
+        InOrder inOrder = inOrder(propertyRepository);
+        inOrder.verify(propertyRepository).patch(eq(testProperty.getId()), eq(0L), eq(patch),
+                any(LocalDateTime.class));
+        inOrder.verify(propertyRepository).findById(testProperty.getId());
+        verify(propertyRepository, never()).findVersionById(any());
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.updated(testPropertyResponse, patched));
+    }
+
+    @Test
+    void patchProperty_ShouldThrowPreconditionFailed_WhenIfMatchVersionIsStale() {
+        PropertyPatchRequest patch = PropertyPatchRequest.builder().title("Renamed").build();
+        when(propertyRepository.patch(eq(testProperty.getId()), eq(2L), eq(patch), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(propertyRepository.findVersionById(testProperty.getId())).thenReturn(Optional.of(3L));
+
+        assertThatThrownBy(() -> propertyService.patchProperty(testProperty.getId(), patch, 2L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("version 3");
+
+        verify(propertyRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void deleteProperty_ShouldDeleteProperty_WhenFound() {
+    void patchProperty_ShouldThrowNotFound_WhenNoRowMatchesAndListingIsGone() {
+        PropertyPatchRequest patch = PropertyPatchRequest.builder().title("Renamed").build();
+        when(propertyRepository.patch(eq(testProperty.getId()), isNull(), eq(patch), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(propertyRepository.findVersionById(testProperty.getId())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> propertyService.patchProperty(testProperty.getId(), patch, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void restoreProperty_ShouldReactivateTheRow_AndPublishItAsCreated() {
+        when(propertyRepository.reactivate(eq(testProperty.getId()), any(LocalDateTime.class))).thenReturn(1);
+        when(propertyRepository.findById(testProperty.getId())).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+
+        assertThat(propertyService.restoreProperty(testProperty.getId())).isEqualTo(testPropertyResponse);
+
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.created(testPropertyResponse));
+        when(propertyRepository.reactivate(eq(testProperty.getId()), any(LocalDateTime.class))).thenReturn(0);
+        assertThatThrownBy(() -> propertyService.restoreProperty(testProperty.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deleteProperty_ShouldDeleteWithOneStatement_AndPublishCachedState() {
         // Arrange
-        when(propertyRepository.existsById(testProperty.getId())).thenReturn(true);
+        detailCache.get(testProperty.getId(), id -> testPropertyResponse);
+        when(propertyRepository.deleteAllByIdIn(List.of(testProperty.getId()))).thenReturn(1);
 
         // Act
         propertyService.deleteProperty(testProperty.getId());
 
         // Assert
-        verify(propertyRepository).existsById(testProperty.getId());
-        verify(propertyRepository).deleteById(testProperty.getId());
+        verify(propertyRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.deleted(testProperty.getId(), testPropertyResponse));
+    }
+
+    @Test
+    void deleteProperty_ShouldDeactivate_WhenSoftDeleteIsOn() {
+        // Arrange
+        ReflectionTestUtils.setField(propertyService, "softDelete", true);
+        when(propertyRepository.deactivateAllByIdIn(eq(List.of(testProperty.getId())), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        propertyService.deleteProperty(testProperty.getId());
+
+        // Assert
+        verify(propertyRepository, never()).deleteAllByIdIn(any());
+        verify(eventPublisher).publishEvent(PropertyChangedEvent.deleted(testProperty.getId(), null));
     }
 
     @Test
     void deleteProperty_ShouldThrowException_WhenNotFound() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
-        when(propertyRepository.existsById(nonExistentId)).thenReturn(false);
+        when(propertyRepository.deleteAllByIdIn(List.of(nonExistentId))).thenReturn(0);
 
         // Act & Assert
         assertThatThrownBy(() -> propertyService.deleteProperty(nonExistentId))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Property not found with id: " + nonExistentId);
-                
-        verify(propertyRepository).existsById(nonExistentId);
-        verify(propertyRepository, never()).deleteById(any());
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getAllProperties_ShouldServeRepeatedQueryFromCache_UntilMatchingListingChanges() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria("new york", null, null, null);
+        when(propertyRepository.findMatching(any(PropertyFilter.class), eq(pageable), eq(ListingView.FULL), anyInt()))
+                .thenReturn(new PageImpl<>(List.of(testPropertyResponse), pageable, 1));
+
+        // Act
+        propertyService.getAllProperties(pageable, criteria, ListingView.FULL);
+        propertyService.getAllProperties(pageable,
+                new PropertySearchCriteria("New York", null, null, null), ListingView.FULL);
+        searchCache.onPropertyChanged(PropertyChangedEvent.deleted(testProperty.getId(), testPropertyResponse));
+        Page<PropertyResponse> result = propertyService.getAllProperties(pageable, criteria, ListingView.FULL);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(testPropertyResponse);
+        verify(propertyRepository, times(2))
+                .findMatching(any(PropertyFilter.class), eq(pageable), eq(ListingView.FULL), anyInt());
     }
 
     @Test
     void getAllProperties_ShouldReturnFilteredProperties() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Property> propertyPage = new PageImpl<>(List.of(testProperty), pageable, 1);
-        
-        when(propertyRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(propertyPage);
-        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+        Page<PropertyResponse> responsePage = new PageImpl<>(List.of(testPropertyResponse), pageable, 1);
+        when(cityIndex.resolve("New York")).thenReturn(Optional.of(Set.of("New York")));
+        when(propertyRepository.findMatching(any(PropertyFilter.class), eq(pageable), eq(ListingView.FULL), anyInt()))
+                .thenReturn(responsePage);
 
         // Act
         Page<PropertyResponse> result = propertyService.getAllProperties(pageable,
@@ -265,8 +520,149 @@ class PropertyServiceTest {
         assertThat(result).isNotEmpty();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).city()).isEqualTo("New York");
-        
-        verify(propertyRepository).findAll(any(Specification.class), eq(pageable));
-        verify(propertyMapper).toResponse(testProperty);
+
+        ArgumentCaptor<PropertyFilter> filter = ArgumentCaptor.forClass(PropertyFilter.class);
+        verify(propertyRepository).findMatching(filter.capture(), eq(pageable), eq(ListingView.FULL), anyInt());
+        assertThat(filter.getValue().cities()).containsExactly("New York");
+        assertThat(filter.getValue().criteria().types()).containsExactly(APARTMENT);
+        verifyNoInteractions(propertyMapper);
+    }
+
+    @Test
+    void getAllProperties_ShouldQuerySummaries_ForSummaryView() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, 200000.0, null, null);
+        Page<PropertyResponse> summaries = new PageImpl<>(List.of(testPropertyResponse), pageable, 1);
+        when(propertyRepository.findMatching(any(PropertyFilter.class), eq(pageable), eq(ListingView.SUMMARY), anyInt()))
+                .thenReturn(summaries);
+
+        // Act
+        Page<PropertyResponse> result = propertyService.getAllProperties(pageable, criteria, ListingView.SUMMARY);
+
+        // Assert
+        assertThat(result).isSameAs(summaries);
+        verify(propertyRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(propertyMapper);
+    }
+
+    @Test
+    void getAllProperties_ShouldServeFromListingIndex_WhenIndexCanServe() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+        PropertySearchCriteria criteria = new PropertySearchCriteria("New York", null, null, APARTMENT);
+        Page<PropertyResponse> indexedPage = new PageImpl<>(List.of(testPropertyResponse), pageable, 1);
+
+        when(listingIndex.canServe(criteria, pageable)).thenReturn(true);
+        when(listingIndex.search(criteria, pageable)).thenReturn(indexedPage);
+
+        // Act
+        Page<PropertyResponse> result = propertyService.getAllProperties(pageable, "New York", null, null, APARTMENT);
+
+        // Assert
+        assertThat(result).isSameAs(indexedPage);
+        verify(propertyRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllProperties_ShouldQueryDatabase_WhenAreaFilterIsSet() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        GeoArea area = new GeoArea.Radius(40.71, -74.0, 5);
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, null, null, null, area);
+
+        when(listingIndex.canServe(criteria, pageable)).thenReturn(false);
+        when(geoIndex.resolve(area)).thenReturn(Optional.of(Set.of(testProperty.getId())));
+        when(propertyRepository.findMatching(any(PropertyFilter.class), eq(pageable), eq(ListingView.FULL), anyInt()))
+                .thenReturn(new PageImpl<>(List.of(testPropertyResponse), pageable, 1));
+
+        // Act
+        Page<PropertyResponse> result = propertyService.getAllProperties(pageable, criteria, ListingView.FULL);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(testPropertyResponse);
+        verify(propertyRepository).findMatching(argThat(filter -> Set.of(testProperty.getId()).equals(filter.ids())),
+                eq(pageable), eq(ListingView.FULL), anyInt());
+    }
+
+    @Test
+    void searchProperties_ShouldKeepIndexRankOrder_WhenTextIndexIsReady() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, null, null, null);
+        Property other = Property.builder().id(UUID.randomUUID()).title("Other").build();
+        PropertyResponse otherResponse = new PropertyResponse(other.getId(), "Other", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, true, 0L);
+        Page<UUID> ranked = new PageImpl<>(List.of(other.getId(), testProperty.getId()), pageable, 2);
+
+        when(textIndex.isReady()).thenReturn(true);
+        when(textIndex.search("modern", criteria, pageable)).thenReturn(ranked);
+        when(propertyRepository.findAllById(ranked.getContent())).thenReturn(List.of(testProperty, other));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+        when(propertyMapper.toResponse(other)).thenReturn(otherResponse);
+
+        // Act
+        Page<PropertyResponse> result = propertyService.searchProperties("modern", criteria, pageable, ListingView.FULL);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(otherResponse, testPropertyResponse);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(propertyRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchProperties_ShouldFallBackToDatabase_WhenTextIndexIsNotReady() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, null, null, null);
+        when(textIndex.isReady()).thenReturn(false);
+        when(propertyRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(testProperty), pageable, 1));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+
+        // Act
+        Page<PropertyResponse> result = propertyService.searchProperties("modern", criteria, pageable, ListingView.FULL);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(testPropertyResponse);
+        verify(textIndex, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void getPropertiesAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        // Arrange
+        Property second = Property.builder().id(UUID.randomUUID()).price(new BigDecimal("260000.00")).build();
+        Property third = Property.builder().id(UUID.randomUUID()).price(new BigDecimal("270000.00")).build();
+        PropertySearchCriteria criteria = new PropertySearchCriteria(null, null, null, null);
+
+        when(propertyRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testProperty, second, third));
+        when(propertyMapper.toResponse(any(Property.class))).thenReturn(testPropertyResponse);
+
+        // Act
+        CursorPage<PropertyResponse> result = propertyService.getPropertiesAfter(criteria, "", 2, Sort.by("price"), ListingView.FULL);
+
+        // Assert
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.next()).isNotNull();
+        PropertyCursor next = PropertyCursor.decode(result.next());
+        assertThat(next.id()).isEqualTo(second.getId());
+        assertThat(next.value()).isEqualTo(second.getPrice());
+        verify(propertyRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void getPropertiesAfter_ShouldEndWalk_WhenNoMoreRows() {
+        // Arrange
+        String cursor = PropertyCursor.of(testProperty, Sort.Order.asc("id")).encode();
+        when(propertyRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testPropertyResponse);
+
+        // Act
+        CursorPage<PropertyResponse> result = propertyService.getPropertiesAfter(
+                new PropertySearchCriteria(null, null, null, null), cursor, 20, Sort.unsorted(), ListingView.FULL);
+
+        // Assert
+        assertThat(result.content()).containsExactly(testPropertyResponse);
+        assertThat(result.next()).isNull();
     }
 }
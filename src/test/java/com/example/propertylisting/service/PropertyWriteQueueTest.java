@@ -0,0 +1,124 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.BulkPropertyResponse.Item;
+import com.example.propertylisting.dto.BulkPropertyResponse.Status;
+import com.example.propertylisting.dto.PropertyRequest;
+import com.example.propertylisting.dto.PropertyWriteStatus;
+import com.example.propertylisting.dto.PropertyWriteStatus.State;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.exception.ServiceUnavailableException;
+import com.example.propertylisting.service.PropertyBulkService.Pending;
+import com.example.propertylisting.util.TestDataFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyWriteQueueTest {
+
+    @Mock
+    private PropertyBulkService bulkService;
+
+    private PropertyWriteQueue writeQueue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writeQueue != null) {
+            writeQueue.stop();
+        }
+    }
+
+    @Test
+    void submit_ShouldWriteQueuedRequestsInOneBatch_AndAnswerRepeatedKeysFromTheStore() throws Exception {
+        writeQueue = newQueue(10);
+        UUID created = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        PropertyRequest request = TestDataFactory.createTestPropertyRequest();
+        when(bulkService.write(anyList())).thenReturn(List.of(
+                Item.written(0, Status.CREATED, created),
+                Item.rejected(1, missing, List.of("Property not found with id: " + missing))));
+
+        assertThat(writeQueue.submit("key-1", null, request).state()).isEqualTo(State.QUEUED);
+        assertThat(writeQueue.submit("key-2", missing, request).action()).isEqualTo(PropertyWriteStatus.Action.UPDATE);
+        assertThat(writeQueue.submit("key-1", null, request).state()).isEqualTo(State.QUEUED);
+        assertThatThrownBy(() -> writeQueue.submit("key-1", null, TestDataFactory.createUpdatePropertyRequest()))
+                .isInstanceOf(BadRequestException.class);
+
+        writeQueue.start();
+        PropertyWriteStatus first = await("key-1");
+        PropertyWriteStatus second = await("key-2");
+
+        assertThat(first.state()).isEqualTo(State.COMPLETED);
+        assertThat(first.propertyId()).isEqualTo(created);
+        assertThat(second.state()).isEqualTo(State.FAILED);
+        assertThat(second.errors()).containsExactly("Property not found with id: " + missing);
+        assertThat(writeQueue.submit("key-1", null, request)).isEqualTo(first);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pending>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkService, times(1)).write(batch.capture());
+        assertThat(batch.getValue()).containsExactly(new Pending(0, null, request), new Pending(1, missing, request));
+    }
+
+    @Test
+    void submit_ShouldCompareRetriesByValue() {
+        writeQueue = newQueue(10);
+        PropertyRequest request = TestDataFactory.createTestPropertyRequest();
+        PropertyRequest rescaled = new PropertyRequest(request.title(), request.description(),
+                request.price().setScale(request.price().scale() + 2), request.address(), request.city(),
+                request.country(), request.latitude(), request.longitude(), request.bedrooms(), request.bathrooms(),
+                request.area(), request.type());
+        PropertyRequest retitled = new PropertyRequest(request.title() + "!", request.description(),
+                request.price(), request.address(), request.city(), request.country(), request.latitude(),
+                request.longitude(), request.bedrooms(), request.bathrooms(), request.area(), request.type());
+
+        PropertyWriteStatus queued = writeQueue.submit("key-1", null, request);
+
+        assertThat(writeQueue.submit("key-1", null, rescaled)).isEqualTo(queued);
+        assertThatThrownBy(() -> writeQueue.submit("key-1", null, retitled))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> writeQueue.submit("key-1", UUID.randomUUID(), request))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void submit_ShouldRefuseWhenQueueIsFull_AndForgetTheKey() {
+        writeQueue = newQueue(1);
+        PropertyRequest request = TestDataFactory.createTestPropertyRequest();
+        writeQueue.submit("key-1", null, request);
+
+        assertThatThrownBy(() -> writeQueue.submit("key-2", null, request))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> writeQueue.getStatus("key-2")).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> writeQueue.submit(" ", null, request)).isInstanceOf(BadRequestException.class);
+    }
+
+    private PropertyWriteQueue newQueue(int capacity) {
+        return new PropertyWriteQueue(true, capacity, 100, Duration.ofMillis(10), 1000, Duration.ofHours(1),
+                bulkService, new SimpleMeterRegistry());
+    }
+
+    private PropertyWriteStatus await(String key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        PropertyWriteStatus status = writeQueue.getStatus(key);
+        while (status.state() == State.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = writeQueue.getStatus(key);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.propertylisting.service;
+
+import com.example.propertylisting.dto.SavedSearchRequest;
+import com.example.propertylisting.dto.SavedSearchResponse;
+import com.example.propertylisting.event.SavedSearchChangedEvent;
+import com.example.propertylisting.exception.BadRequestException;
+import com.example.propertylisting.exception.ResourceNotFoundException;
+import com.example.propertylisting.mapper.SavedSearchMapper;
+import com.example.propertylisting.model.SavedSearch;
+import com.example.propertylisting.repository.SavedSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.example.propertylisting.model.Property.PropertyType.HOUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    private static final String OWNER = "user@example.com";
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private SavedSearchMapper savedSearchMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    @Test
+    void createSavedSearch_ShouldStoreForOwnerAndPublishEvent() {
+        SavedSearchRequest request = new SavedSearchRequest("Boston houses", "boston", 200_000.0, 500_000.0, HOUSE);
+        SavedSearch entity = SavedSearch.builder().name("Boston houses").city("boston").build();
+        SavedSearchResponse response = new SavedSearchResponse(UUID.randomUUID(), "Boston houses", "boston",
+                200_000.0, 500_000.0, HOUSE, LocalDateTime.now());
+        when(savedSearchMapper.toEntity(request)).thenReturn(entity);
+        when(savedSearchRepository.saveAndFlush(entity)).thenReturn(entity);
+        when(savedSearchMapper.toResponse(entity)).thenReturn(response);
+
+        SavedSearchResponse result = savedSearchService.createSavedSearch(OWNER, request);
+
+        assertThat(result).isEqualTo(response);
+        assertThat(entity.getOwnerEmail()).isEqualTo(OWNER);
+        verify(eventPublisher).publishEvent(SavedSearchChangedEvent.saved(OWNER, response));
+    }
+
+    @Test
+    void createSavedSearch_ShouldRejectInvertedPriceRange() {
+        SavedSearchRequest request = new SavedSearchRequest("Broken", null, 500_000.0, 200_000.0, null);
+
+        assertThatThrownBy(() -> savedSearchService.createSavedSearch(OWNER, request))
+                .isInstanceOf(BadRequestException.class);
+        verify(savedSearchRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void deleteSavedSearch_ShouldThrowNotFound_WhenOwnedBySomeoneElse() {
+        UUID id = UUID.randomUUID();
+        when(savedSearchRepository.findByIdAndOwnerEmail(id, OWNER)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> savedSearchService.deleteSavedSearch(OWNER, id))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Saved search not found with id: " + id);
+        verify(savedSearchRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
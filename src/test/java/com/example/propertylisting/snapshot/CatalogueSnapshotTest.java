@@ -0,0 +1,101 @@
+package com.example.propertylisting.snapshot;
+
+import com.example.propertylisting.dto.PropertyChange;
+import com.example.propertylisting.dto.PropertyResponse;
+import com.example.propertylisting.event.PropertyChangedEvent.ChangeType;
+import com.example.propertylisting.model.Property.PropertyType;
+import com.example.propertylisting.util.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogueSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void open_ShouldReadBackWhatWasWritten_AndRefuseCorruptedFiles() throws IOException {
+        PropertyResponse full = TestDataFactory.createTestPropertyResponse();
+        PropertyResponse sparse = new PropertyResponse(UUID.randomUUID(), "Zürich loft ✓", "x".repeat(70_000),
+                new BigDecimal("-0.000001"), "1 Rue", "Zürich", "CH", 47.37, 8.54, null, null, null, null,
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789), null, false, null);
+        Path path = directory.resolve("catalogue.snapshot");
+        try (CatalogueSnapshot.Writer writer = CatalogueSnapshot.create(path, 42)) {
+            writer.add(full);
+            writer.add(sparse);
+            writer.commit();
+        }
+
+        CatalogueSnapshot snapshot = CatalogueSnapshot.open(path);
+        assertThat(snapshot.highWater()).isEqualTo(42);
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(read(snapshot)).containsExactly(full, sparse);
+        assertThat(Files.exists(directory.resolve("catalogue.snapshot.tmp"))).isFalse();
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> CatalogueSnapshot.open(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+        Files.write(path, new byte[10]);
+        assertThatThrownBy(() -> CatalogueSnapshot.open(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+    }
+
+    @Test
+    void applyTo_ShouldKeepTheLatestVersion_DropDeleted_AndAddNew() throws IOException {
+        PropertyResponse kept = listing(UUID.randomUUID(), "Kept", 3);
+        PropertyResponse updated = listing(UUID.randomUUID(), "Updated", 1);
+        PropertyResponse deleted = listing(UUID.randomUUID(), "Deleted", 1);
+        Path path = directory.resolve("catalogue.snapshot");
+        try (CatalogueSnapshot.Writer writer = CatalogueSnapshot.create(path, 7)) {
+            writer.add(kept);
+            writer.add(updated);
+            writer.add(deleted);
+            writer.commit();
+        }
+        PropertyResponse added = listing(UUID.randomUUID(), "Added", 0);
+        CatalogueDelta delta = new CatalogueDelta(9, 3);
+        // Changes not numbered yet come in no particular order
+        delta.add(change(ChangeType.UPDATED, listing(updated.id(), "Updated twice", 3)));
+        delta.add(change(ChangeType.UPDATED, listing(updated.id(), "Updated once", 2)));
+        delta.add(change(ChangeType.UPDATED, listing(kept.id(), "Already in the snapshot", 2)));
+        delta.add(change(ChangeType.UPDATED, listing(deleted.id(), "Updated before deletion", 2)));
+        delta.add(new PropertyChange(9, ChangeType.DELETED, deleted.id(), null, LocalDateTime.now(), null));
+        delta.add(change(ChangeType.CREATED, added));
+
+        List<PropertyResponse> loaded = new ArrayList<>();
+        long count = delta.applyTo(CatalogueSnapshot.open(path), loaded::add);
+
+        assertThat(count).isEqualTo(delta.size());
+        assertThat(loaded).extracting(PropertyResponse::title)
+                .containsExactly("Kept", "Updated twice", "Added");
+    }
+
+    private static List<PropertyResponse> read(CatalogueSnapshot snapshot) throws IOException {
+        List<PropertyResponse> properties = new ArrayList<>();
+        snapshot.forEach(properties::add);
+        return properties;
+    }
+
+    private static PropertyResponse listing(UUID id, String title, long version) {
+        return new PropertyResponse(id, title, "Description", new BigDecimal("100000.00"), "1 Main St", "Boston",
+                "USA", null, null, 2, 1, 80.0, PropertyType.HOUSE, null, null, true, version);
+    }
+
+    private static PropertyChange change(ChangeType type, PropertyResponse property) {
+        return new PropertyChange(8, type, property.id(), property.version(), LocalDateTime.now(), property);
+    }
+}
@@ -117,6 +117,8 @@ public class TestDataFactory {
                 TEST_ADDRESS,
                 TEST_CITY,
                 TEST_COUNTRY,
+                null,
+                null,
                 TEST_BEDROOMS,
                 TEST_BATHROOMS,
                 TEST_SQUARE_FOOTAGE,
@@ -132,6 +134,8 @@ public class TestDataFactory {
                 "", // Invalid: empty address
                 "", // Invalid: empty city
                 "", // Invalid: empty country
+                null,
+                null,
                 -1, // Invalid: negative bedrooms
                 -1, // Invalid: negative bathrooms
                 -1.0, // Invalid: negative square footage
@@ -148,13 +152,16 @@ public class TestDataFactory {
                 TEST_ADDRESS,
                 TEST_CITY,
                 TEST_COUNTRY,
+                null,
+                null,
                 TEST_BEDROOMS,
                 TEST_BATHROOMS,
                 TEST_SQUARE_FOOTAGE,
                 TEST_PROPERTY_TYPE,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
-                true
+                true,
+                0L
         );
     }
 
@@ -166,6 +173,8 @@ public class TestDataFactory {
                 "Updated " + TEST_ADDRESS,
                 "Updated " + TEST_CITY,
                 TEST_COUNTRY,
+                null,
+                null,
                 TEST_BEDROOMS + 1,
                 TEST_BATHROOMS + 1,
                 TEST_SQUARE_FOOTAGE + 200.0,